@@ -0,0 +1,137 @@
+package com.berryweb.shop.cache;
+
+import com.berryweb.shop.dto.ProductDto;
+import com.berryweb.shop.dto.UserServiceDto;
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.entity.ProductOptionGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시 값 직렬화 비교 (JSON vs 바이너리). ./gradlew jmh -PjmhIncludes=CacheSerializerBenchmark
+ * 직렬화 크기는 Setup 단계에서 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheSerializerBenchmark {
+
+    @Param({"json", "binary"})
+    private String codec;
+
+    @Param({"user", "product"})
+    private String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        serializer = "json".equals(codec)
+                ? json
+                : new BinaryCacheSerializer(List.of(new UserInfoCodec(), new ProductInfoCodec()), json, 1024);
+        value = "user".equals(payload) ? user() : product();
+        encoded = serializer.serialize(value);
+        System.out.printf("%n[size] codec=%s payload=%s bytes=%d%n", codec, payload, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(encoded);
+    }
+
+    private static UserServiceDto.UserInfo user() {
+        return UserServiceDto.UserInfo.builder()
+                .id(1024L)
+                .username("berryweb")
+                .email("berryweb@example.com")
+                .name("베리웹")
+                .role(UserServiceDto.UserInfo.UserRole.USER)
+                .isActive(true)
+                .build();
+    }
+
+    private static ProductDto.ProductInfo product() {
+        List<ProductDto.ProductImageInfo> images = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            images.add(ProductDto.ProductImageInfo.builder()
+                    .id((long) i)
+                    .originalFilename("strawberry-jam-" + i + ".jpg")
+                    .storedFilename("2025/01/01/8f14e45f-" + i + ".jpg")
+                    .fileSize(245_760L)
+                    .isMain(i == 0)
+                    .altText("딸기잼 이미지 " + i)
+                    .sortOrder(i)
+                    .build());
+        }
+
+        List<ProductDto.ProductOptionGroupInfo> groups = new ArrayList<>();
+        for (int g = 0; g < 3; g++) {
+            List<ProductDto.ProductOptionInfo> options = new ArrayList<>();
+            for (int o = 0; o < 4; o++) {
+                options.add(ProductDto.ProductOptionInfo.builder()
+                        .id((long) g * 10 + o)
+                        .name("옵션 " + o)
+                        .additionalPrice(new BigDecimal("1000.00"))
+                        .stockQuantity(100)
+                        .isActive(true)
+                        .sortOrder(o)
+                        .build());
+            }
+            groups.add(ProductDto.ProductOptionGroupInfo.builder()
+                    .id((long) g)
+                    .name("옵션 그룹 " + g)
+                    .type(ProductOptionGroup.OptionType.SELECT)
+                    .isRequired(true)
+                    .sortOrder(g)
+                    .options(options)
+                    .build());
+        }
+
+        return ProductDto.ProductInfo.builder()
+                .id(1L)
+                .shopId(10L)
+                .shopName("베리 상점")
+                .categoryId(3L)
+                .categoryName("잼/스프레드")
+                .name("베리웹 프리미엄 유기농 딸기잼 500g")
+                .description("국내산 유기농 딸기만을 엄선하여 설탕을 줄이고 과육을 살렸습니다. ".repeat(20))
+                .shortDescription("국내산 유기농 딸기로 만든 저당 수제 딸기잼")
+                .price(new BigDecimal("12900.00"))
+                .salePrice(new BigDecimal("9900.00"))
+                .stockQuantity(250)
+                .minStockQuantity(10)
+                .maxOrderQuantity(5)
+                .trackStock(true)
+                .status(Product.ProductStatus.ACTIVE)
+                .isFeatured(true)
+                .slug("premium-organic-strawberry-jam-500g")
+                .ratingAverage(new BigDecimal("4.75"))
+                .ratingCount(128)
+                .images(images)
+                .optionGroups(groups)
+                .build();
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.berryweb.shop.client;
+
+import com.berryweb.shop.dto.UserServiceDto;
+import com.berryweb.shop.service.EnrichmentExecutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Retryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * user-service 클라이언트 비교 (Feign vs WebClient). ./gradlew jmh -PjmhIncludes=UserServiceClientBenchmark
+ * 로컬 stub 서버가 요청마다 latencyMillis만큼 지연하고, 32개 스레드가 동시에 호출한다.
+ * page100은 한 페이지 분량(100명)을 25명씩 나눈 일괄 조회로, 운영(UserServiceHelper)과 같이 Feign은 EnrichmentExecutor로,
+ * WebClient는 {@link ReactiveUserServiceClient#findUsers}의 Flux(동시 8묶음)로 병렬 호출한다.
+ * 클라이언트 차이만 보도록 WebClient 쪽 동시 실행 한도는 걸리지 않을 만큼 크게 둔다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class UserServiceClientBenchmark {
+
+    private static final String TOKEN = "Bearer benchmark";
+    private static final List<Long> PAGE = LongStream.rangeClosed(1, 100).boxed().toList();
+
+    @Param({"feign", "webclient"})
+    private String client;
+
+    @Param({"20"})
+    private long latencyMillis;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ConnectionProvider connectionProvider;
+    private EnrichmentExecutor enrichmentExecutor;
+    private UserServiceClient feignClient;
+    private ReactiveUserServiceClient reactiveClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(256);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/v1/users", this::handle);
+        server.start();
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        feignClient = Feign.builder()
+                .contract(new SpringMvcContract())
+                .decoder(new SpringDecoder(() -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(UserServiceClient.class, baseUrl);
+        enrichmentExecutor = new EnrichmentExecutor(Duration.ofSeconds(5), 128, 128, 25, new SimpleMeterRegistry());
+
+        connectionProvider = ConnectionProvider.builder("benchmark")
+                .maxConnections(200)
+                .pendingAcquireMaxCount(1000)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                        .responseTimeout(Duration.ofSeconds(3))
+                        .keepAlive(true)))
+                .build();
+        reactiveClient = new ReactiveUserServiceClient(webClient, Duration.ofSeconds(5),
+                new AdaptiveConcurrencyLimiter("benchmark", 10_000, 10_000, 10_000, 1.5, 600, new SimpleMeterRegistry()),
+                25, 8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        enrichmentExecutor.destroy();
+        connectionProvider.dispose();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object singleLookup() {
+        long userId = ThreadLocalRandom.current().nextLong(1, 10_000);
+        return "feign".equals(client)
+                ? feignClient.getUserInfo(userId, TOKEN)
+                : reactiveClient.getUserInfo(userId, TOKEN);
+    }
+
+    @Benchmark
+    public List<UserServiceDto.UserInfo> page100() {
+        if ("feign".equals(client)) {
+            return enrichmentExecutor.forEachBatch(PAGE, batch -> feignClient.getUsersInfo(batch, TOKEN).getData());
+        }
+        return reactiveClient.findUsers(PAGE, TOKEN)
+                .take(Duration.ofSeconds(5))
+                .flatMapIterable(batch -> batch.getResponse().getData())
+                .collectList()
+                .block();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String uri = exchange.getRequestURI().toString();
+        String path = exchange.getRequestURI().getPath();
+        Object data;
+        if (path.endsWith("/batch")) {
+            data = Arrays.stream(uri.substring(uri.indexOf('?') + 1).split("&"))
+                    .filter(param -> param.startsWith("ids="))
+                    .flatMap(param -> Arrays.stream(param.substring(4).split("%2C|,")))
+                    .map(id -> user(Long.parseLong(id)))
+                    .toList();
+        } else {
+            data = user(Long.parseLong(path.substring(path.lastIndexOf('/') + 1)));
+        }
+
+        byte[] body = objectMapper.writeValueAsBytes(UserServiceDto.ApiResponse.builder().success(true).data(data).build());
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static UserServiceDto.UserInfo user(long id) {
+        return UserServiceDto.UserInfo.builder()
+                .id(id)
+                .username("user" + id)
+                .email("user" + id + "@example.com")
+                .name("사용자" + id)
+                .role(UserServiceDto.UserInfo.UserRole.USER)
+                .isActive(true)
+                .build();
+    }
+
+}
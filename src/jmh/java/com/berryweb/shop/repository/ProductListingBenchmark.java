@@ -0,0 +1,232 @@
+package com.berryweb.shop.repository;
+
+import com.berryweb.shop.dto.ProductDto;
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.entity.Shop;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 목록 한 페이지 조회 비교 (엔티티 vs 요약 프로젝션). ./gradlew jmh -PjmhIncludes=ProductListingBenchmark -PjmhProfilers=gc
+ * H2 메모리 DB에 상세 설명(LONGTEXT)이 큰 상품을 채워 두고, 운영과 같이 읽기 전용 트랜잭션에서 한 페이지씩 돌아가며 조회한다.
+ * 페이지당 힙 할당은 gc 프로파일러의 gc.alloc.rate.norm, DB에서 읽은 바이트는 ResultSet에서 꺼낸 컬럼 값 크기의 합으로 보고
+ * TearDown 단계에서 출력한다 (MariaDB에서는 SHOW SESSION STATUS LIKE 'Bytes_received' 차이로 같은 비교를 할 수 있다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductListingBenchmark {
+
+    private static final int PRODUCT_COUNT = 1_000;
+    private static final AtomicLong RESULT_BYTES = new AtomicLong();
+
+    @Param({"entity", "projection"})
+    private String query;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate readOnly;
+    private Long shopId;
+    private int page;
+    private long pages;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.root=warn");
+        productRepository = context.getBean(ProductRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        TransactionTemplate writer = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        shopId = writer.execute(status -> seed(context.getBean(EntityManager.class)));
+        RESULT_BYTES.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[bytes] query=%s pageSize=%d resultBytesPerPage=%d%n",
+                query, pageSize, pages == 0 ? 0 : RESULT_BYTES.get() / pages);
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductDto.ProductSummary> listPage() {
+        PageRequest pageable = PageRequest.of(page, pageSize);
+        page = (page + 1) % (PRODUCT_COUNT / pageSize);
+        pages++;
+
+        return readOnly.execute(status -> "entity".equals(query)
+                ? productRepository.findByShopIdAndStatusOrderByCreatedAtDesc(shopId, Product.ProductStatus.ACTIVE, pageable)
+                        .map(product -> ProductDto.ProductSummary.builder()
+                                .id(product.getId())
+                                .name(product.getName())
+                                .shortDescription(product.getShortDescription())
+                                .price(product.getPrice())
+                                .salePrice(product.getSalePrice())
+                                .isFeatured(product.getIsFeatured())
+                                .ratingAverage(product.getRatingAverage())
+                                .ratingCount(product.getRatingCount())
+                                .createdAt(product.getCreatedAt())
+                                .build())
+                : productRepository.findSummaryByShopIdAndStatusOrderByCreatedAtDesc(shopId, Product.ProductStatus.ACTIVE, pageable)
+                        .map(product -> ProductDto.ProductSummary.builder()
+                                .id(product.getId())
+                                .name(product.getName())
+                                .shortDescription(product.getShortDescription())
+                                .price(product.getPrice())
+                                .salePrice(product.getSalePrice())
+                                .isFeatured(product.getIsFeatured())
+                                .ratingAverage(product.getRatingAverage())
+                                .ratingCount(product.getRatingCount())
+                                .createdAt(product.getCreatedAt())
+                                .build()));
+    }
+
+    private static Long seed(EntityManager entityManager) {
+        LocalDateTime now = LocalDateTime.now();
+        Shop shop = Shop.builder()
+                .ownerUserId(1L)
+                .name("벤치마크 상점")
+                .description("상점 소개 ".repeat(50))
+                .address("서울특별시 강남구 테헤란로 ".repeat(5))
+                .businessHours("월-금 09:00-18:00")
+                .createdAt(now)
+                .updatedAt(now)
+                .createdBy(1L)
+                .build();
+        entityManager.persist(shop);
+
+        // 상세 설명은 이미지 태그가 섞인 HTML 정도의 크기 (약 8KB)
+        String description = "<p>신선한 베리를 당일 수확해 보내드립니다. <img src=\"/uploads/detail.png\"/></p>".repeat(80);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            entityManager.persist(Product.builder()
+                    .shop(shop)
+                    .name("상품 " + i)
+                    .description(description)
+                    .shortDescription("당일 수확 베리 " + i)
+                    .price(BigDecimal.valueOf(10_000L + i))
+                    .salePrice(BigDecimal.valueOf(9_000L + i))
+                    .metaTitle("상품 " + i + " | 베리웹")
+                    .metaDescription("베리웹에서 판매하는 신선한 베리 상품입니다. ".repeat(6))
+                    .dimensions("30x20x10")
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now)
+                    .createdBy(1L)
+                    .build());
+            if (i % 100 == 99) {
+                entityManager.flush();
+                entityManager.clear();
+                shop = entityManager.find(Shop.class, shop.getId());
+            }
+        }
+        return shop.getId();
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Product.class)
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+    static class BenchmarkConfig {
+
+        @Bean
+        DataSource dataSource() {
+            DataSource dataSource = DataSourceBuilder.create()
+                    .url("jdbc:h2:mem:listing;DB_CLOSE_DELAY=-1")
+                    .username("sa")
+                    .build();
+            return countingResultBytes(DataSource.class, dataSource);
+        }
+
+    }
+
+    // DataSource -> Connection -> Statement -> ResultSet 순으로 감싸 ResultSet에서 꺼낸 값의 크기를 더한다
+    @SuppressWarnings("unchecked")
+    private static <T> T countingResultBytes(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (target instanceof ResultSet && method.getName().startsWith("get") && result != null) {
+                RESULT_BYTES.addAndGet(sizeOf(result));
+                return result;
+            }
+            if (result instanceof ResultSet resultSet) {
+                return countingResultBytes(ResultSet.class, resultSet);
+            }
+            if (result instanceof Connection connection) {
+                return countingResultBytes(Connection.class, connection);
+            }
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                return countingResultBytes((Class<Statement>) method.getReturnType(), statement);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static long sizeOf(Object value) {
+        if (value instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.unscaledValue().toByteArray().length + 1;
+        }
+        if (value instanceof Boolean) {
+            return 1;
+        }
+        return 8;
+    }
+
+}
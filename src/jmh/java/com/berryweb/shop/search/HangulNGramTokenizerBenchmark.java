@@ -0,0 +1,54 @@
+package com.berryweb.shop.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토크나이저 처리량 측정. ./gradlew jmh -PjmhIncludes=HangulNGramTokenizerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HangulNGramTokenizerBenchmark {
+
+    private static final String PRODUCT_NAME = "베리웹 프리미엄 유기농 딸기잼 500g 선물세트";
+    private static final String SHORT_DESCRIPTION = "국내산 유기농 딸기로 만든 저당 수제 딸기잼";
+    private static final String DESCRIPTION = "매일 아침 식탁을 책임지는 베리웹 수제 딸기잼입니다. "
+            + "국내산 유기농 딸기만을 엄선하여 설탕을 줄이고 과육을 살렸습니다. "
+            + "Organic strawberry jam, no preservatives, 500g glass jar. "
+            + "빵, 요거트, 크래커와 함께 즐겨보세요. 개봉 후에는 냉장 보관해 주세요.";
+
+    @Param({"true", "false"})
+    private boolean chosungEnabled;
+
+    private HangulNGramTokenizer tokenizer;
+
+    @Setup
+    public void setUp() {
+        tokenizer = new HangulNGramTokenizer(chosungEnabled);
+    }
+
+    @Benchmark
+    public String[] tokenizeName() {
+        return tokenizer.tokenize(PRODUCT_NAME);
+    }
+
+    @Benchmark
+    public String[] tokenizeProduct() {
+        return tokenizer.tokenize(PRODUCT_NAME, SHORT_DESCRIPTION, DESCRIPTION);
+    }
+
+    @Benchmark
+    public String[] queryTerms() {
+        return tokenizer.queryTerms("유기농 딸기잼");
+    }
+
+}
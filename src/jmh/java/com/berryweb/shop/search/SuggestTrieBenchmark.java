@@ -0,0 +1,76 @@
+package com.berryweb.shop.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 자동완성 조회/갱신 지연 측정. ./gradlew jmh -PjmhIncludes=SuggestTrieBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestTrieBenchmark {
+
+    private static final String[] WORDS = {
+            "유기농", "딸기", "딸기잼", "사과", "사과즙", "청송", "프리미엄", "선물세트", "수제", "국내산",
+            "운동화", "런닝화", "티셔츠", "반팔", "원피스", "블루베리", "그릭요거트", "500g", "1kg", "세트"
+    };
+
+    @Param({"10000", "100000"})
+    private int productCount;
+
+    private SuggestTrie trie;
+    private long nextId;
+
+    @Setup
+    public void setUp() {
+        trie = new SuggestTrie(10, Comparator
+                .comparing(SuggestEntry::getRatingCount, Comparator.reverseOrder())
+                .thenComparing(SuggestEntry::getId));
+
+        Random random = new Random(42);
+        for (long id = 1; id <= productCount; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+            trie.put(SuggestEntry.builder().id(id).name(name).ratingCount(random.nextInt(1000)).build(),
+                    SuggestTrie.keysOf(name, true));
+        }
+        nextId = productCount;
+    }
+
+    @Benchmark
+    public List<SuggestEntry> suggestOneChar() {
+        return trie.suggest("딸", 10);
+    }
+
+    @Benchmark
+    public List<SuggestEntry> suggestWord() {
+        return trie.suggest("유기농 딸기", 10);
+    }
+
+    @Benchmark
+    public List<SuggestEntry> suggestChosung() {
+        return trie.suggest("ㅇㄱㄴ", 10);
+    }
+
+    @Benchmark
+    public void updateLeader() {
+        // 상위권 항목 갱신은 경로의 상위 목록 재계산을 유발하는 최악의 경우
+        long id = ++nextId;
+        String name = "딸기잼 선물세트 " + id;
+        trie.put(SuggestEntry.builder().id(id).name(name).ratingCount(5000).build(), SuggestTrie.keysOf(name, true));
+        trie.remove(id);
+    }
+
+}
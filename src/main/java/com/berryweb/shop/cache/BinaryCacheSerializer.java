@@ -0,0 +1,180 @@
+package com.berryweb.shop.cache;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 등록된 DTO는 {@link CacheValueCodec} 스키마로, 나머지는 JSON 직렬화기로 저장하는 Redis 값 직렬화기.
+ * 형식: [플래그][본문]. 본문은 [태그][스키마 버전][필드...] 또는 [JSON 태그][JSON],
+ * 압축 시 [플래그][원본 길이 varint][deflate(본문)].
+ */
+public class BinaryCacheSerializer implements RedisSerializer<Object> {
+
+    private static final int FLAG_COMPRESSED = 0x01;
+    private static final int TAG_JSON = 0;
+    private static final int TAG_NULL = 1;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Map<Class<?>, CacheValueCodec<?>> codecsByType = new HashMap<>();
+    private final Map<Integer, CacheValueCodec<?>> codecsByTag = new HashMap<>();
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+
+    /**
+     * @param compressionThreshold 본문이 이 크기(바이트)를 넘으면 압축. 0 이하면 압축하지 않는다
+     */
+    public BinaryCacheSerializer(List<CacheValueCodec<?>> codecs, RedisSerializer<Object> fallback, int compressionThreshold) {
+        for (CacheValueCodec<?> codec : codecs) {
+            if (codec.getTag() <= TAG_NULL || codec.getTag() > 0xFF) {
+                throw new IllegalArgumentException("Codec tag must be in 2..255: " + codec.getTag());
+            }
+            if (codecsByTag.putIfAbsent(codec.getTag(), codec) != null) {
+                throw new IllegalArgumentException("Duplicate codec tag: " + codec.getTag());
+            }
+            codecsByType.put(codec.getType(), codec);
+        }
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+
+        BinaryWriter body = new BinaryWriter(256);
+        body.writeByte(0);  // 플래그 자리
+        if (value instanceof NullValue) {
+            body.writeByte(TAG_NULL);
+        } else {
+            CacheValueCodec<Object> codec = codecFor(value.getClass());
+            if (codec != null) {
+                body.writeByte(codec.getTag());
+                body.writeUnsignedVarLong(codec.getSchemaVersion());
+                codec.write(value, body);
+            } else {
+                body.writeByte(TAG_JSON);
+                byte[] json = fallback.serialize(value);
+                body.writeBytes(json, 0, json.length);
+            }
+        }
+
+        int bodyLength = body.size() - 1;
+        if (compressionThreshold > 0 && bodyLength > compressionThreshold) {
+            byte[] compressed = compress(body.buffer(), 1, bodyLength);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        return body.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        BinaryReader reader;
+        if ((bytes[0] & FLAG_COMPRESSED) != 0) {
+            BinaryReader header = new BinaryReader(bytes, 1, bytes.length - 1);
+            int originalLength = Math.toIntExact(header.readUnsignedVarLong());
+            int headerLength = 1 + varLongSize(originalLength);
+            byte[] body = decompress(bytes, headerLength, bytes.length - headerLength, originalLength);
+            reader = new BinaryReader(body, 0, body.length);
+        } else {
+            reader = new BinaryReader(bytes, 1, bytes.length - 1);
+        }
+
+        int tag = reader.readByte();
+        if (tag == TAG_NULL) {
+            return NullValue.INSTANCE;
+        }
+        if (tag == TAG_JSON) {
+            return fallback.deserialize(reader.remainingBytes());
+        }
+
+        CacheValueCodec<?> codec = codecsByTag.get(tag);
+        if (codec == null) {
+            throw new SerializationException("Unknown cache value tag: " + tag);
+        }
+        long version = reader.readUnsignedVarLong();
+        if (version != codec.getSchemaVersion()) {
+            throw new SerializationException("Cache value schema version " + version + " of "
+                    + codec.getType().getSimpleName() + " is not " + codec.getSchemaVersion());
+        }
+        return codec.read(reader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheValueCodec<Object> codecFor(Class<?> type) {
+        return (CacheValueCodec<Object>) codecsByType.get(type);
+    }
+
+    // 압축해도 작아지지 않으면 null
+    private byte[] compress(byte[] source, int offset, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(source, offset, length);
+            deflater.finish();
+
+            BinaryWriter out = new BinaryWriter(length / 2 + 16);
+            out.writeByte(FLAG_COMPRESSED);
+            out.writeUnsignedVarLong(length);
+            byte[] chunk = new byte[Math.min(length, 8192)];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                out.writeBytes(chunk, 0, written);
+                if (out.size() >= length) {
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] source, int offset, int length, int originalLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(source, offset, length);
+            byte[] body = new byte[originalLength];
+            int read = 0;
+            while (read < originalLength && !inflater.finished()) {
+                int n = inflater.inflate(body, read, originalLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != originalLength) {
+                throw new SerializationException("Truncated compressed cache value");
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed cache value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.berryweb.shop.cache;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * {@link BinaryWriter}로 쓴 값을 읽는다. 데이터가 모자라면 {@link SerializationException}.
+ */
+public final class BinaryReader {
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    public BinaryReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public int readByte() {
+        if (position >= limit) {
+            throw new SerializationException("Unexpected end of cache value");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long zigzag = readUnsignedVarLong();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public long readUnsignedVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint in cache value");
+    }
+
+    public Long readLong() {
+        return readByte() == 0 ? null : readVarLong();
+    }
+
+    public Integer readInt() {
+        Long value = readLong();
+        return value != null ? Math.toIntExact(value) : null;
+    }
+
+    public Boolean readBoolean() {
+        int value = readByte();
+        return value == 0 ? null : value == 2;
+    }
+
+    public String readString() {
+        int length = readLength();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public BigDecimal readDecimal() {
+        int kind = readByte();
+        if (kind == 0) {
+            return null;
+        }
+        int scale = Math.toIntExact(readVarLong());
+        if (kind == 1) {
+            return BigDecimal.valueOf(readVarLong(), scale);
+        }
+        int length = Math.toIntExact(readUnsignedVarLong());
+        checkAvailable(length);
+        BigInteger unscaled = new BigInteger(Arrays.copyOfRange(buffer, position, position + length));
+        position += length;
+        return new BigDecimal(unscaled, scale);
+    }
+
+    public LocalDateTime readDateTime() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long epochSecond = readVarLong();
+        int nano = Math.toIntExact(readUnsignedVarLong());
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    public <E extends Enum<E>> E readEnum(Class<E> type) {
+        String name = readString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Unknown " + type.getSimpleName() + " constant: " + name, e);
+        }
+    }
+
+    public byte[] remainingBytes() {
+        byte[] remaining = Arrays.copyOfRange(buffer, position, limit);
+        position = limit;
+        return remaining;
+    }
+
+    // -1 = null
+    public int readListSize() {
+        return Math.toIntExact(readUnsignedVarLong()) - 1;
+    }
+
+    private int readLength() {
+        int length = Math.toIntExact(readUnsignedVarLong()) - 1;
+        if (length > 0) {
+            checkAvailable(length);
+        }
+        return length;
+    }
+
+    private void checkAvailable(int length) {
+        if (length > limit - position) {
+            throw new SerializationException("Unexpected end of cache value");
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.berryweb.shop.cache;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 캐시 값 인코딩용 버퍼. 정수는 zigzag varint, 문자열은 길이+UTF-8로 쓰고
+ * null은 길이/플래그 0으로 표현한다.
+ */
+public final class BinaryWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    public void writeVarLong(long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        writeUnsignedVarLong(zigzag);
+    }
+
+    public void writeUnsignedVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeLong(Long value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeVarLong(value);
+    }
+
+    public void writeInt(Integer value) {
+        writeLong(value != null ? value.longValue() : null);
+    }
+
+    // 0 = null, 1 = false, 2 = true
+    public void writeBoolean(Boolean value) {
+        writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeUnsignedVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsignedVarLong(bytes.length + 1L);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    // 0 = null, 1 = long 범위 unscaled 값, 2 = 큰 값
+    public void writeDecimal(BigDecimal value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        if (value.unscaledValue().bitLength() < 64) {
+            writeByte(1);
+            writeVarLong(value.scale());
+            writeVarLong(value.unscaledValue().longValue());
+        } else {
+            writeByte(2);
+            writeVarLong(value.scale());
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeUnsignedVarLong(unscaled.length);
+            writeBytes(unscaled, 0, unscaled.length);
+        }
+    }
+
+    public void writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+        writeUnsignedVarLong(value.getNano());
+    }
+
+    // 순서가 바뀌어도 안전하도록 이름으로 저장
+    public void writeEnum(Enum<?> value) {
+        writeString(value != null ? value.name() : null);
+    }
+
+    // 크기 + 1 (0 = null)
+    public void writeListSize(List<?> list) {
+        writeUnsignedVarLong(list == null ? 0 : list.size() + 1L);
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+
+}
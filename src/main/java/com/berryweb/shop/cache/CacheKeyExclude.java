@@ -0,0 +1,20 @@
+package com.berryweb.shop.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link CacheKeyGenerator}가 캐시 키를 만들 때 제외할 파라미터 (인증 토큰 등).
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheKeyExclude {
+
+    /**
+     * true면 값 대신 값이 있는지(null/빈 문자열이 아닌지)만 키에 넣는다. 토큰 유무에 따라 응답이 달라질 때 쓴다.
+     */
+    boolean keepPresence() default false;
+
+}
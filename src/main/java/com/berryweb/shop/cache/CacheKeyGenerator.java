@@ -0,0 +1,170 @@
+package com.berryweb.shop.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.MethodClassKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "클래스.메서드:인자:인자" 형태의 캐시 키 생성기.
+ * 메서드별 접두어와 제외 파라미터는 처음 한 번만 계산해 두고, 인자는 타입별로 인코딩한다.
+ * <ul>
+ *     <li>null → {@code _}, 정수 → 10진수, Boolean → {@code T}/{@code F}, enum → 이름</li>
+ *     <li>String → {@code 길이'값} (구분자가 들어 있어도 모호하지 않음), 길이 초과 시 해시</li>
+ *     <li>Pageable → {@code p페이지,크기,정렬}, 그 밖의 타입 → toString() 해시</li>
+ * </ul>
+ * {@link CacheKeyExclude}를 붙인 파라미터는 빼거나, keepPresence면 값이 있는지(T/F)만 넣는다.
+ * 키 전체 길이는 {@link #MAX_KEY_LENGTH}를 넘지 않는다.
+ */
+public class CacheKeyGenerator implements KeyGenerator {
+
+    static final int MAX_KEY_LENGTH = 200;
+    static final int MAX_INLINE_STRING_LENGTH = 64;
+
+    private static final char SEPARATOR = ':';
+    private static final char HASH_MARK = '#';
+
+    private final Map<MethodClassKey, KeyPlan> plans = new ConcurrentHashMap<>();
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Class<?> targetClass = ClassUtils.getUserClass(target);
+        KeyPlan plan = plans.computeIfAbsent(new MethodClassKey(method, targetClass),
+                key -> KeyPlan.of(targetClass, method));
+
+        Object[] arguments = params;
+        if (plan.hasExclusions) {
+            List<Object> included = new ArrayList<>(params.length);
+            for (int i = 0; i < params.length; i++) {
+                ParamMode mode = i < plan.modes.length ? plan.modes[i] : ParamMode.VALUE;
+                switch (mode) {
+                    case VALUE -> included.add(params[i]);
+                    case PRESENCE -> included.add(isPresent(params[i]));
+                    case EXCLUDED -> {
+                    }
+                }
+            }
+            arguments = included.toArray();
+        }
+        return key(plan.prefix, arguments);
+    }
+
+    /**
+     * generate()와 같은 규칙으로 키를 만든다. @CacheEvict처럼 다른 메서드에서 같은 항목을 가리킬 때 SpEL로 부른다.
+     * 제외한 파라미터는 넘기지 않고, keepPresence 파라미터는 Boolean으로 넘긴다.
+     * 예: {@code T(com.berryweb.shop.cache.CacheKeyGenerator).key('ShopService.getShopById', #shopId, true)}
+     */
+    public static String key(String prefix, Object... arguments) {
+        if (arguments.length == 0) {
+            return prefix;
+        }
+
+        StringBuilder sb = new StringBuilder(prefix.length() + 16 * arguments.length).append(prefix);
+        for (Object argument : arguments) {
+            sb.append(SEPARATOR);
+            append(sb, argument);
+        }
+
+        if (sb.length() > MAX_KEY_LENGTH) {
+            // 접두어는 남겨 두어 Redis에서 메서드별로 찾을 수 있게 한다
+            String encoded = sb.substring(prefix.length());
+            sb.setLength(prefix.length());
+            sb.append(SEPARATOR).append(HASH_MARK).append(hash(encoded));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * key()로 만든 키에서 인자 부분을 나눠 돌려준다. 접두어가 다르거나 해시로 줄인 키면 null.
+     * 정수, Boolean, enum처럼 구분자가 들어가지 않는 인자로만 만든 키를 되돌릴 때 쓴다 ({@link CacheRefresher}).
+     */
+    public static String[] arguments(Object key, String prefix) {
+        String value = String.valueOf(key);
+        if (value.length() <= prefix.length() || !value.startsWith(prefix) || value.charAt(prefix.length()) != SEPARATOR
+                || value.charAt(prefix.length() + 1) == HASH_MARK) {
+            return null;
+        }
+        return value.substring(prefix.length() + 1).split(String.valueOf(SEPARATOR), -1);
+    }
+
+    private static boolean isPresent(Object param) {
+        return param instanceof String string ? StringUtils.hasText(string) : param != null;
+    }
+
+    private static void append(StringBuilder sb, Object param) {
+        if (param == null) {
+            sb.append('_');
+        } else if (param instanceof Long || param instanceof Integer || param instanceof Short || param instanceof Byte) {
+            sb.append(((Number) param).longValue());
+        } else if (param instanceof Boolean bool) {
+            sb.append(bool ? 'T' : 'F');
+        } else if (param instanceof Enum<?> constant) {
+            sb.append(constant.name());
+        } else if (param instanceof String string) {
+            appendString(sb, string);
+        } else if (param instanceof Pageable pageable) {
+            sb.append('p').append(pageable.isPaged() ? pageable.getPageNumber() : -1)
+                    .append(',').append(pageable.isPaged() ? pageable.getPageSize() : -1)
+                    .append(',');
+            appendString(sb, pageable.getSort().toString());
+        } else {
+            sb.append(HASH_MARK).append(hash(param.toString()));
+        }
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        if (value.length() > MAX_INLINE_STRING_LENGTH) {
+            sb.append(HASH_MARK).append(hash(value));
+        } else {
+            sb.append(value.length()).append('\'').append(value);
+        }
+    }
+
+    // SHA-256 앞 12바이트를 base64url로 (16자)
+    static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 12));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private enum ParamMode {
+        VALUE, PRESENCE, EXCLUDED
+    }
+
+    private record KeyPlan(String prefix, ParamMode[] modes, boolean hasExclusions) {
+
+        static KeyPlan of(Class<?> targetClass, Method method) {
+            Annotation[][] annotations = method.getParameterAnnotations();
+            ParamMode[] modes = new ParamMode[annotations.length];
+            Arrays.fill(modes, ParamMode.VALUE);
+            for (int i = 0; i < annotations.length; i++) {
+                for (Annotation annotation : annotations[i]) {
+                    if (annotation instanceof CacheKeyExclude exclude) {
+                        modes[i] = exclude.keepPresence() ? ParamMode.PRESENCE : ParamMode.EXCLUDED;
+                        break;
+                    }
+                }
+            }
+            return new KeyPlan((targetClass.getSimpleName() + "." + method.getName()).intern(), modes,
+                    Arrays.stream(modes).anyMatch(mode -> mode != ParamMode.VALUE));
+        }
+
+    }
+
+}
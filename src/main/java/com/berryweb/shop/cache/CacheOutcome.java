@@ -0,0 +1,19 @@
+package com.berryweb.shop.cache;
+
+/**
+ * 원격 조회 결과의 종류. 캐시 값이 구현하면 종류별로 만료 시간을 달리하고 결과 수를 센다.
+ * <ul>
+ *     <li>FOUND - 정상 결과, 캐시 기본 만료</li>
+ *     <li>FALLBACK - 원격 장애로 만든 대체 값, 짧게 보관하고 갱신기가 있으면 조회될 때마다 백그라운드에서 다시 시도</li>
+ *     <li>NOT_FOUND - 원격에 없음, 짧은 부정 캐시</li>
+ * </ul>
+ */
+public interface CacheOutcome {
+
+    Outcome getOutcome();
+
+    enum Outcome {
+        FOUND, FALLBACK, NOT_FOUND
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.berryweb.shop.cache;
+
+/**
+ * 캐시 하나의 항목을 요청 문맥 없이 다시 적재한다.
+ * 조기 갱신, stale-while-revalidate, 대체 값 재시도를 백그라운드에서 돌릴 때 호출자의 valueLoader 대신 쓴다.
+ * 갱신기가 없거나 {@link #canRefresh}가 false인 키(호출자 토큰이 있어야 만들 수 있는 값 등)는
+ * 호출 스레드에서 그 호출의 valueLoader로 갱신하고, 대체 값은 만료될 때까지 그대로 둔다.
+ */
+public interface CacheRefresher {
+
+    String getCacheName();
+
+    boolean canRefresh(Object key);
+
+    Object refresh(Object key) throws Exception;
+
+}
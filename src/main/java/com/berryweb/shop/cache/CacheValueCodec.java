@@ -0,0 +1,20 @@
+package com.berryweb.shop.cache;
+
+/**
+ * 캐시 DTO 한 종류의 바이너리 스키마.
+ * 태그는 노드 간에 고정이어야 하고, 필드 구성이 바뀌면 스키마 버전을 올린다.
+ * 버전이 다른 값은 역직렬화 오류로 처리되어 원본에서 다시 읽고 덮어쓴다.
+ */
+public interface CacheValueCodec<T> {
+
+    Class<T> getType();
+
+    int getTag();
+
+    int getSchemaVersion();
+
+    void write(T value, BinaryWriter writer);
+
+    T read(BinaryReader reader);
+
+}
@@ -0,0 +1,194 @@
+package com.berryweb.shop.cache;
+
+import com.berryweb.shop.dto.ProductDto;
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.entity.ProductOptionGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductInfoCodec implements CacheValueCodec<ProductDto.ProductInfo> {
+
+    public static final int TAG = 17;
+
+    @Override
+    public Class<ProductDto.ProductInfo> getType() {
+        return ProductDto.ProductInfo.class;
+    }
+
+    @Override
+    public int getTag() {
+        return TAG;
+    }
+
+    @Override
+    public int getSchemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public void write(ProductDto.ProductInfo value, BinaryWriter writer) {
+        writer.writeLong(value.getId());
+        writer.writeLong(value.getShopId());
+        writer.writeString(value.getShopName());
+        writer.writeLong(value.getCategoryId());
+        writer.writeString(value.getCategoryName());
+        writer.writeString(value.getName());
+        writer.writeString(value.getDescription());
+        writer.writeString(value.getShortDescription());
+        writer.writeDecimal(value.getPrice());
+        writer.writeDecimal(value.getSalePrice());
+        writer.writeInt(value.getStockQuantity());
+        writer.writeInt(value.getMinStockQuantity());
+        writer.writeInt(value.getMaxOrderQuantity());
+        writer.writeBoolean(value.getTrackStock());
+        writer.writeEnum(value.getStatus());
+        writer.writeBoolean(value.getIsFeatured());
+        writer.writeString(value.getSlug());
+        writer.writeString(value.getMetaTitle());
+        writer.writeString(value.getMetaDescription());
+        writer.writeDecimal(value.getWeight());
+        writer.writeString(value.getDimensions());
+        writer.writeDecimal(value.getRatingAverage());
+        writer.writeInt(value.getRatingCount());
+
+        writer.writeListSize(value.getImages());
+        if (value.getImages() != null) {
+            for (ProductDto.ProductImageInfo image : value.getImages()) {
+                writeImage(image, writer);
+            }
+        }
+
+        writer.writeListSize(value.getOptionGroups());
+        if (value.getOptionGroups() != null) {
+            for (ProductDto.ProductOptionGroupInfo group : value.getOptionGroups()) {
+                writeOptionGroup(group, writer);
+            }
+        }
+
+        writer.writeDateTime(value.getCreatedAt());
+        writer.writeDateTime(value.getUpdatedAt());
+    }
+
+    @Override
+    public ProductDto.ProductInfo read(BinaryReader reader) {
+        ProductDto.ProductInfo.ProductInfoBuilder builder = ProductDto.ProductInfo.builder()
+                .id(reader.readLong())
+                .shopId(reader.readLong())
+                .shopName(reader.readString())
+                .categoryId(reader.readLong())
+                .categoryName(reader.readString())
+                .name(reader.readString())
+                .description(reader.readString())
+                .shortDescription(reader.readString())
+                .price(reader.readDecimal())
+                .salePrice(reader.readDecimal())
+                .stockQuantity(reader.readInt())
+                .minStockQuantity(reader.readInt())
+                .maxOrderQuantity(reader.readInt())
+                .trackStock(reader.readBoolean())
+                .status(reader.readEnum(Product.ProductStatus.class))
+                .isFeatured(reader.readBoolean())
+                .slug(reader.readString())
+                .metaTitle(reader.readString())
+                .metaDescription(reader.readString())
+                .weight(reader.readDecimal())
+                .dimensions(reader.readString())
+                .ratingAverage(reader.readDecimal())
+                .ratingCount(reader.readInt());
+
+        int imageCount = reader.readListSize();
+        if (imageCount >= 0) {
+            List<ProductDto.ProductImageInfo> images = new ArrayList<>(imageCount);
+            for (int i = 0; i < imageCount; i++) {
+                images.add(readImage(reader));
+            }
+            builder.images(images);
+        }
+
+        int groupCount = reader.readListSize();
+        if (groupCount >= 0) {
+            List<ProductDto.ProductOptionGroupInfo> groups = new ArrayList<>(groupCount);
+            for (int i = 0; i < groupCount; i++) {
+                groups.add(readOptionGroup(reader));
+            }
+            builder.optionGroups(groups);
+        }
+
+        return builder
+                .createdAt(reader.readDateTime())
+                .updatedAt(reader.readDateTime())
+                .build();
+    }
+
+    private void writeImage(ProductDto.ProductImageInfo image, BinaryWriter writer) {
+        writer.writeLong(image.getId());
+        writer.writeString(image.getOriginalFilename());
+        writer.writeString(image.getStoredFilename());
+        writer.writeLong(image.getFileSize());
+        writer.writeBoolean(image.getIsMain());
+        writer.writeString(image.getAltText());
+        writer.writeInt(image.getSortOrder());
+        writer.writeDateTime(image.getCreatedAt());
+    }
+
+    private ProductDto.ProductImageInfo readImage(BinaryReader reader) {
+        return ProductDto.ProductImageInfo.builder()
+                .id(reader.readLong())
+                .originalFilename(reader.readString())
+                .storedFilename(reader.readString())
+                .fileSize(reader.readLong())
+                .isMain(reader.readBoolean())
+                .altText(reader.readString())
+                .sortOrder(reader.readInt())
+                .createdAt(reader.readDateTime())
+                .build();
+    }
+
+    private void writeOptionGroup(ProductDto.ProductOptionGroupInfo group, BinaryWriter writer) {
+        writer.writeLong(group.getId());
+        writer.writeString(group.getName());
+        writer.writeEnum(group.getType());
+        writer.writeBoolean(group.getIsRequired());
+        writer.writeInt(group.getSortOrder());
+
+        writer.writeListSize(group.getOptions());
+        if (group.getOptions() != null) {
+            for (ProductDto.ProductOptionInfo option : group.getOptions()) {
+                writer.writeLong(option.getId());
+                writer.writeString(option.getName());
+                writer.writeDecimal(option.getAdditionalPrice());
+                writer.writeInt(option.getStockQuantity());
+                writer.writeBoolean(option.getIsActive());
+                writer.writeInt(option.getSortOrder());
+            }
+        }
+    }
+
+    private ProductDto.ProductOptionGroupInfo readOptionGroup(BinaryReader reader) {
+        ProductDto.ProductOptionGroupInfo.ProductOptionGroupInfoBuilder builder = ProductDto.ProductOptionGroupInfo.builder()
+                .id(reader.readLong())
+                .name(reader.readString())
+                .type(reader.readEnum(ProductOptionGroup.OptionType.class))
+                .isRequired(reader.readBoolean())
+                .sortOrder(reader.readInt());
+
+        int optionCount = reader.readListSize();
+        if (optionCount >= 0) {
+            List<ProductDto.ProductOptionInfo> options = new ArrayList<>(optionCount);
+            for (int i = 0; i < optionCount; i++) {
+                options.add(ProductDto.ProductOptionInfo.builder()
+                        .id(reader.readLong())
+                        .name(reader.readString())
+                        .additionalPrice(reader.readDecimal())
+                        .stockQuantity(reader.readInt())
+                        .isActive(reader.readBoolean())
+                        .sortOrder(reader.readInt())
+                        .build());
+            }
+            builder.options(options);
+        }
+        return builder.build();
+    }
+
+}
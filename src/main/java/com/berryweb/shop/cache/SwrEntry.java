@@ -0,0 +1,22 @@
+package com.berryweb.shop.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * stale-while-revalidate 캐시에 저장하는 값.
+ * refreshAfter(epoch millis)가 지나면 값은 그대로 반환하고 백그라운드에서 갱신한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SwrEntry {
+
+    private Object value;
+
+    private long refreshAfter;
+
+}
@@ -0,0 +1,522 @@
+package com.berryweb.shop.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * L1(Caffeine) → L2(Redis) 순으로 조회하는 캐시.
+ * L2 적중 값은 L1에 채우고, 쓰기/삭제는 양쪽에 반영한 뒤 다른 노드에 L1 무효화를 알린다.
+ * 미스 적재와 백그라운드 갱신은 알리지 않는다.
+ * {@link #get(Object, Callable)}는 같은 키의 동시 미스를 한 번의 적재로 합치고(single-flight),
+ * L2 만료가 가까워지면 적재 시간에 비례한 확률로 미리 갱신한다(XFetch).
+ * stale-while-revalidate 설정이 있는 캐시는 값을 {@link SwrEntry}로 감싸 저장하고, soft TTL이 지나면 갱신한다.
+ * hard TTL까지는 L2 장애나 적재 실패에도 마지막 값을 쓴다.
+ * {@link CacheOutcome} 값은 종류별로 집계하고, 대체 값(FALLBACK)이 적중하면 반환과 함께 백그라운드에서 다시 적재한다.
+ * 백그라운드 갱신은 캐시에 등록된 {@link CacheRefresher}로만 한다. 호출자의 valueLoader는 끝난 호출과 그 요청의
+ * 토큰을 붙잡고 있으므로 다른 스레드에서 다시 부르지 않는다. 갱신기가 없으면 기존 값을 반환하는 대신
+ * 그 호출이 직접 갱신하고, 대체 값은 짧은 만료까지 그대로 둔다.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final TwoTierCacheManager cacheManager;
+
+    // 이 노드가 적재한 키의 L2 만료 시각과 적재 소요 시간 (조기 갱신 판단용)
+    private final com.github.benmanes.caffeine.cache.Cache<String, LoadStats> loadStats;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Duration remoteTtl;
+    private final double earlyRefreshBeta;
+
+    // null이면 stale-while-revalidate를 쓰지 않는 캐시
+    private final TwoTierCacheProperties.Swr swr;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+    private final Counter earlyRefreshes;
+    private final Counter staleRefreshes;
+    private final Counter fallbackRefreshes;
+    private final Map<CacheOutcome.Outcome, Counter> outcomes = new EnumMap<>(CacheOutcome.Outcome.class);
+
+    TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+                 TwoTierCacheManager cacheManager, MeterRegistry meterRegistry,
+                 com.github.benmanes.caffeine.cache.Cache<String, LoadStats> loadStats, Duration remoteTtl,
+                 double earlyRefreshBeta, TwoTierCacheProperties.Swr swr) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.cacheManager = cacheManager;
+        this.loadStats = loadStats;
+        this.remoteTtl = remoteTtl;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.swr = swr;
+        this.localHits = requests(meterRegistry, "l1", "hit");
+        this.localMisses = requests(meterRegistry, "l1", "miss");
+        this.remoteHits = requests(meterRegistry, "l2", "hit");
+        this.remoteMisses = requests(meterRegistry, "l2", "miss");
+        this.loads = loads(meterRegistry, "load");
+        this.coalescedLoads = loads(meterRegistry, "coalesced");
+        this.earlyRefreshes = loads(meterRegistry, "early_refresh");
+        this.staleRefreshes = loads(meterRegistry, "stale_refresh");
+        this.fallbackRefreshes = loads(meterRegistry, "fallback_refresh");
+        for (CacheOutcome.Outcome outcome : CacheOutcome.Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("cache.outcomes")
+                    .description("Cached lookup results by outcome")
+                    .tag("cache", name)
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return unwrap(lookupEntry(key, toLocalKey(key)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = toLocalKey(key);
+        Object entry = lookupEntry(key, localKey);
+        if (entry != null) {
+            if (isStale(entry)) {
+                return (T) fromStoreValue(refresh(key, localKey, entry, valueLoader, staleRefreshes));
+            }
+            if (isFallback(entry)) {
+                CacheRefresher refresher = refresherFor(key);
+                if (refresher != null) {
+                    refreshAsync(key, localKey, refresher, fallbackRefreshes);
+                }
+            } else if (shouldRefreshEarly(localKey)) {
+                return (T) fromStoreValue(refresh(key, localKey, entry, valueLoader, earlyRefreshes));
+            }
+            return (T) fromStoreValue(unwrap(entry));
+        }
+        return (T) fromStoreValue(load(key, localKey, valueLoader, false));
+    }
+
+    /**
+     * 여러 키를 L1 한 번, L2 한 번(Redis MGET)으로 조회한다.
+     * 캐시된 키만 결과에 들어가며, null로 캐시된 키는 값이 null인 항목으로 들어간다.
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<String, Object> keysByLocalKey = new LinkedHashMap<>();
+        for (Object key : keys) {
+            keysByLocalKey.putIfAbsent(toLocalKey(key), key);
+        }
+
+        Map<String, Object> localEntries = local.getAllPresent(keysByLocalKey.keySet());
+        localHits.increment(localEntries.size());
+        localMisses.increment(keysByLocalKey.size() - localEntries.size());
+
+        Map<Object, Object> result = new HashMap<>();
+        List<Object> remoteKeys = new ArrayList<>();
+        keysByLocalKey.forEach((localKey, key) -> {
+            Object entry = localEntries.get(localKey);
+            if (entry != null) {
+                result.put(key, fromStoreValue(unwrap(entry)));
+            } else {
+                remoteKeys.add(key);
+            }
+        });
+        if (remoteKeys.isEmpty()) {
+            return result;
+        }
+
+        List<Object> remoteValues;
+        try {
+            remoteValues = cacheManager.multiGet(remote, remoteKeys);
+        } catch (RuntimeException e) {
+            handleRemoteError(e, () -> cacheManager.getErrorHandler().handleCacheGetError(e, this, remoteKeys));
+            return result;
+        }
+
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            Object remoteValue = remoteValues.get(i);
+            if (remoteValue == null) {
+                remoteMisses.increment();
+                continue;
+            }
+            remoteHits.increment();
+
+            Object key = remoteKeys.get(i);
+            Object entry = toLocalEntry(remoteValue);
+            local.put(toLocalKey(key), entry);
+            result.put(key, fromStoreValue(unwrap(entry)));
+        }
+        return result;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = toLocalKey(key);
+        store(key, localKey, value);
+        cacheManager.publishEvict(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        String localKey = toLocalKey(key);
+        if (swr != null) {
+            // 감싼 값끼리만 비교되므로 조회 후 저장으로 대신한다
+            ValueWrapper existing = get(key);
+            if (existing == null) {
+                store(key, localKey, value);
+                cacheManager.publishEvict(name, localKey);
+            }
+            return existing;
+        }
+
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.put(localKey, toStoreValue(existing != null ? existing.get() : value));
+        if (existing == null) {
+            cacheManager.publishEvict(name, localKey);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = toLocalKey(key);
+        try {
+            remote.evict(key);
+        } catch (RuntimeException e) {
+            handleRemoteError(e, () -> cacheManager.getErrorHandler().handleCacheEvictError(e, this, key));
+        }
+        local.invalidate(localKey);
+        cacheManager.publishEvict(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String localKey = toLocalKey(key);
+        boolean evicted = false;
+        try {
+            evicted = remote.evictIfPresent(key);
+        } catch (RuntimeException e) {
+            handleRemoteError(e, () -> cacheManager.getErrorHandler().handleCacheEvictError(e, this, key));
+        }
+        local.invalidate(localKey);
+        cacheManager.publishEvict(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            handleRemoteError(e, () -> cacheManager.getErrorHandler().handleCacheClearError(e, this));
+        }
+        local.invalidateAll();
+        cacheManager.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = false;
+        try {
+            invalidated = remote.invalidate();
+        } catch (RuntimeException e) {
+            handleRemoteError(e, () -> cacheManager.getErrorHandler().handleCacheClearError(e, this));
+        }
+        local.invalidateAll();
+        cacheManager.publishClear(name);
+        return invalidated;
+    }
+
+    // 같은 키의 적재는 하나만 실행하고 나머지는 그 결과를 기다린다
+    private Object load(Object key, String localKey, Callable<?> valueLoader, boolean refresh) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, future);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return await(key, localKey, valueLoader, existing);
+        }
+
+        try {
+            // 앞선 적재가 막 끝났다면 그 값을 사용
+            Object cached = refresh ? null : unwrap(local.getIfPresent(localKey));
+            if (cached == null) {
+                cached = toStoreValue(invokeLoader(key, localKey, valueLoader));
+            }
+            future.complete(cached);
+            return cached;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, future);
+        }
+    }
+
+    private Object invokeLoader(Object key, String localKey, Callable<?> valueLoader) {
+        loads.increment();
+        long startedAt = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Throwable ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+
+        long loadNanos = System.nanoTime() - startedAt;
+        // 적재로 채운 값은 다른 노드에 알리지 않는다. 다른 노드의 L1은 자기 만료 시간 안에 새 값을 읽는다
+        store(key, localKey, value);
+        loadStats.put(localKey, new LoadStats(System.currentTimeMillis() + remoteTtl.toMillis(), loadNanos));
+        return value;
+    }
+
+    private Object await(Object key, String localKey, Callable<?> valueLoader, CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CancellationException e) {
+            return load(key, localKey, valueLoader, false);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    // L1 → L2 순으로 찾아 L1 표현(저장 값 또는 SwrEntry)으로 반환
+    private Object lookupEntry(Object key, String localKey) {
+        Object entry = local.getIfPresent(localKey);
+        if (entry != null) {
+            localHits.increment();
+            return entry;
+        }
+        localMisses.increment();
+
+        ValueWrapper wrapper;
+        try {
+            wrapper = remote.get(key);
+        } catch (SerializationException e) {
+            // 읽을 수 없는 형식(코덱 변경 등)은 캐시 종류와 관계없이 미스로 보고 다시 적재한다
+            cacheManager.getErrorHandler().handleCacheGetError(e, this, key);
+            wrapper = null;
+        } catch (RuntimeException e) {
+            // L2 장애는 미스로 보고 적재한다
+            handleRemoteError(e, () -> cacheManager.getErrorHandler().handleCacheGetError(e, this, key));
+            wrapper = null;
+        }
+        if (wrapper == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+
+        entry = toLocalEntry(wrapper.get());
+        local.put(localKey, entry);
+        return entry;
+    }
+
+    private Object toLocalEntry(Object remoteValue) {
+        if (swr == null) {
+            return toStoreValue(remoteValue);
+        }
+        if (remoteValue instanceof SwrEntry entry) {
+            return new SwrEntry(toStoreValue(entry.getValue()), entry.getRefreshAfter());
+        }
+        // 설정 전에 저장된 값은 바로 갱신 대상
+        return new SwrEntry(toStoreValue(remoteValue), 0L);
+    }
+
+    private static Object unwrap(Object entry) {
+        return entry instanceof SwrEntry swrEntry ? swrEntry.getValue() : entry;
+    }
+
+    private static boolean isFallback(Object entry) {
+        return unwrap(entry) instanceof CacheOutcome cacheOutcome
+                && cacheOutcome.getOutcome() == CacheOutcome.Outcome.FALLBACK;
+    }
+
+    private static boolean isStale(Object entry) {
+        return entry instanceof SwrEntry swrEntry && System.currentTimeMillis() >= swrEntry.getRefreshAfter();
+    }
+
+    // SWR 캐시는 L2 오류를 오류 처리기에 알리고 계속 진행, 그 외 캐시는 그대로 던진다
+    private void handleRemoteError(RuntimeException e, Runnable report) {
+        if (swr == null) {
+            throw e;
+        }
+        report.run();
+    }
+
+    // XFetch: now - delta * beta * ln(rand) >= expiry 이면 갱신. 적재가 오래 걸릴수록 일찍 갱신한다
+    private boolean shouldRefreshEarly(String localKey) {
+        if (swr != null || earlyRefreshBeta <= 0) {
+            return false;
+        }
+        LoadStats stats = loadStats.getIfPresent(localKey);
+        if (stats == null) {
+            return false;
+        }
+
+        double deltaMillis = Math.max(1.0, stats.loadNanos() / 1_000_000.0);
+        double gap = -deltaMillis * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble(Double.MIN_VALUE, 1.0));
+        return System.currentTimeMillis() + gap >= stats.expiresAtMillis();
+    }
+
+    // 갱신기가 있으면 기존 값을 바로 반환하고 백그라운드에서 갱신한다.
+    // 없으면 이 호출이 자기 valueLoader로 갱신하며, 이미 다른 호출이 갱신 중이거나 실패하면 기존 값을 반환한다
+    private Object refresh(Object key, String localKey, Object entry, Callable<?> valueLoader, Counter refreshes) {
+        CacheRefresher refresher = refresherFor(key);
+        if (refresher != null) {
+            refreshAsync(key, localKey, refresher, refreshes);
+            return unwrap(entry);
+        }
+        if (!refreshing.add(localKey)) {
+            return unwrap(entry);
+        }
+
+        try {
+            refreshes.increment();
+            return load(key, localKey, valueLoader, true);
+        } catch (RuntimeException e) {
+            // 실패해도 기존 값은 만료 전까지 유효
+            loadStats.invalidate(localKey);
+            return unwrap(entry);
+        } finally {
+            refreshing.remove(localKey);
+        }
+    }
+
+    // 호출 스레드는 기존 값을 바로 반환하고, 갱신은 백그라운드에서 키당 하나만 실행
+    private void refreshAsync(Object key, String localKey, CacheRefresher refresher, Counter refreshes) {
+        if (!refreshing.add(localKey)) {
+            return;
+        }
+
+        try {
+            cacheManager.getRefreshExecutor().execute(() -> {
+                try {
+                    refreshes.increment();
+                    load(key, localKey, () -> refresher.refresh(key), true);
+                } catch (RuntimeException e) {
+                    // 실패해도 기존 값은 만료 전까지 유효
+                    loadStats.invalidate(localKey);
+                } finally {
+                    refreshing.remove(localKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(localKey);
+        }
+    }
+
+    private CacheRefresher refresherFor(Object key) {
+        CacheRefresher refresher = cacheManager.getRefresher(name);
+        return refresher != null && refresher.canRefresh(key) ? refresher : null;
+    }
+
+    private void store(Object key, String localKey, Object value) {
+        if (value instanceof CacheOutcome cacheOutcome && cacheOutcome.getOutcome() != null) {
+            outcomes.get(cacheOutcome.getOutcome()).increment();
+        }
+        if (swr == null) {
+            remote.put(key, value);
+            local.put(localKey, toStoreValue(value));
+        } else {
+            long refreshAfter = System.currentTimeMillis() + swr.getSoftTtl().toMillis();
+            try {
+                remote.put(key, new SwrEntry(value, refreshAfter));
+            } catch (RuntimeException e) {
+                handleRemoteError(e, () -> cacheManager.getErrorHandler().handleCachePutError(e, this, key, value));
+            }
+            local.put(localKey, new SwrEntry(toStoreValue(value), refreshAfter));
+        }
+    }
+
+    // 다른 노드의 변경 알림 처리 - L2는 이미 반영되어 있으므로 L1만 비운다
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    // Redis 키와 같은 문자열 표현으로 L1 키를 맞춰 노드 간 무효화 메시지로 전달할 수 있게 한다
+    static String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    // 단건은 1, 목록/페이지는 요소 수
+    static int weigh(String key, Object value) {
+        if (value instanceof SwrEntry entry) {
+            value = entry.getValue();
+        }
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        if (value instanceof Slice<?> slice) {
+            return Math.max(1, slice.getNumberOfElements());
+        }
+        return 1;
+    }
+
+    private Counter loads(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("cache.loads")
+                .description("Two-tier cache loads, coalesced waiters and early refreshes")
+                .tag("cache", name)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.requests")
+                .description("Two-tier cache lookups by tier and result")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    record LoadStats(long expiresAtMillis, long loadNanos) {
+    }
+
+}
@@ -0,0 +1,244 @@
+package com.berryweb.shop.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 캐시 이름마다 {@link TwoTierCache}를 만들어 원격 캐시 앞에 L1을 둔다.
+ * 쓰기/삭제는 Redis pub/sub으로 다른 노드에 알리고, 받은 알림으로 자기 L1을 비운다.
+ * 백그라운드 갱신은 캐시별로 등록한 {@link CacheRefresher}로 모든 캐시가 공유하는 작은 풀에서 실행하며,
+ * 큐가 차면 갱신을 건너뛴다.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener, DisposableBean {
+
+    private static final String SEPARATOR = "\n";
+    private static final int REFRESH_QUEUE_CAPACITY = 256;
+    private static final long LOAD_STATS_PER_CACHE = 100_000;
+
+    private final CacheManager remoteCacheManager;
+    private final TwoTierCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CacheRefresher> refreshers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    // stale-while-revalidate 캐시의 L2 오류를 넘겨받는다. 기본은 그대로 다시 던진다
+    private CacheErrorHandler errorHandler = new SimpleCacheErrorHandler();
+
+    public TwoTierCacheManager(CacheManager remoteCacheManager, TwoTierCacheProperties properties,
+                               MeterRegistry meterRegistry, StringRedisTemplate redisTemplate) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.redisTemplate = redisTemplate;
+        this.refreshExecutor = newRefreshExecutor(properties.getRefreshThreads());
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> createCache(cacheName, remote));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+
+        if (parts.length == 3) {
+            cache.evictLocal(parts[2]);
+        } else {
+            cache.clearLocal();
+        }
+        log.debug("L1 cache invalidated by peer - cache: {}, key: {}", parts[1], parts.length == 3 ? parts[2] : "*");
+    }
+
+    public void setErrorHandler(CacheErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    public void registerRefresher(CacheRefresher refresher) {
+        CacheRefresher existing = refreshers.putIfAbsent(refresher.getCacheName(), refresher);
+        if (existing != null && existing != refresher) {
+            throw new IllegalStateException("Cache refresher already registered for cache: " + refresher.getCacheName());
+        }
+        log.info("Cache refresher registered - cache: {}, refresher: {}",
+                refresher.getCacheName(), refresher.getClass().getSimpleName());
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    CacheErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    CacheRefresher getRefresher(String cacheName) {
+        return refreshers.get(cacheName);
+    }
+
+    /**
+     * 원격 캐시 다건 조회. 결과는 keys 순서이며 없는 키는 null, null로 캐시된 키는 {@link NullValue}.
+     * Redis 캐시는 MGET 한 번, 그 외는 키마다 조회한다.
+     */
+    List<Object> multiGet(Cache remote, List<Object> keys) {
+        if (remote instanceof RedisCache redisCache) {
+            return redisMultiGet(redisCache, keys);
+        }
+
+        List<Object> values = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = remote.get(key);
+            values.add(wrapper == null ? null : wrapper.get() == null ? NullValue.INSTANCE : wrapper.get());
+        }
+        return values;
+    }
+
+    // RedisCache와 같은 규칙(접두어 + 키 문자열)으로 키를 만들고 같은 직렬화기로 읽는다
+    private List<Object> redisMultiGet(RedisCache redisCache, List<Object> keys) {
+        RedisCacheConfiguration configuration = redisCache.getCacheConfiguration();
+        String prefix = configuration.usePrefix() ? configuration.getKeyPrefixFor(redisCache.getName()) : "";
+        byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < keys.size(); i++) {
+            rawKeys[i] = (prefix + keys.get(i)).getBytes(StandardCharsets.UTF_8);
+        }
+
+        List<byte[]> rawValues = redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+        List<Object> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] raw = rawValues != null ? rawValues.get(i) : null;
+            values.add(raw == null ? null : configuration.getValueSerializationPair().read(ByteBuffer.wrap(raw)));
+        }
+        return values;
+    }
+
+    void publishEvict(String cacheName, String localKey) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + localKey);
+    }
+
+    void publishClear(String cacheName) {
+        publish(nodeId + SEPARATOR + cacheName);
+    }
+
+    // 알림 실패로 쓰기를 실패시키지 않는다 - 다른 노드의 L1은 만료 시간 안에 갱신된다
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), message);
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    private TwoTierCache createCache(String name, Cache remote) {
+        TwoTierCacheProperties.Local settings = properties.localFor(name);
+        TwoTierCacheProperties.Swr swr = properties.swrFor(name);
+
+        // SWR 캐시는 L2 장애 중에도 마지막 값을 쓸 수 있도록 L1도 hard TTL까지 보관
+        Duration localTtl = swr != null ? swr.getHardTtl() : settings.getExpireAfterWrite();
+        if (swr != null && swr.isLocalOnly()) {
+            remote = new NoOpCache(name);
+        }
+
+        // Caffeine 기본 정책이 W-TinyLFU
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumWeight(settings.getMaxWeight())
+                .weigher(TwoTierCache::weigh)
+                .expireAfter(Expiry.writing((String key, Object value) -> localTtl(localTtl, value)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("tier", "l1"));
+
+        com.github.benmanes.caffeine.cache.Cache<String, TwoTierCache.LoadStats> loadStats = Caffeine.newBuilder()
+                .maximumSize(LOAD_STATS_PER_CACHE)
+                .expireAfterWrite(properties.getRedisTtl())
+                .build();
+
+        log.info("Two-tier cache created - cache: {}, l1MaxWeight: {}, l1Ttl: {}, swr: {}",
+                name, settings.getMaxWeight(), localTtl,
+                swr != null ? swr.getSoftTtl() + "/" + swr.getHardTtl() + (swr.isLocalOnly() ? " local-only" : "") : "off");
+        return new TwoTierCache(name, local, remote, this, meterRegistry, loadStats,
+                properties.getRedisTtl(), properties.getEarlyRefreshBeta(), swr);
+    }
+
+    // 대체 값/부정 결과는 짧은 쪽 만료를 따른다
+    private Duration localTtl(Duration defaultTtl, Object value) {
+        Duration outcomeTtl = properties.outcomeTtl(value);
+        return outcomeTtl != null && outcomeTtl.compareTo(defaultTtl) < 0 ? outcomeTtl : defaultTtl;
+    }
+
+    private static ThreadPoolExecutor newRefreshExecutor(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.berryweb.shop.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 2단 캐시 설정. L1(프로세스 내 Caffeine)은 캐시별로 크기와 만료를 따로 지정할 수 있다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache")
+public class TwoTierCacheProperties {
+
+    // L2(Redis) 만료
+    private Duration redisTtl = Duration.ofHours(1);
+
+    // 노드 간 L1 무효화 채널
+    private String invalidationChannel = "shop:cache:invalidation";
+
+    // L2 값 직렬화 방식. 캐시별로 지정하지 않으면 defaultCodec
+    private Codec defaultCodec = Codec.JSON;
+    private Map<String, Codec> codec = new HashMap<>();
+
+    // BINARY 값이 이 크기(바이트)를 넘으면 Deflate 압축. 0이면 압축하지 않는다
+    private int compressionThreshold = 1024;
+
+    // CacheOutcome 값의 만료. FOUND는 캐시 기본 만료를 따른다
+    private Duration fallbackTtl = Duration.ofSeconds(10);
+    private Duration notFoundTtl = Duration.ofMinutes(1);
+
+    // 조기 갱신 강도(XFetch beta). 클수록 만료 전에 일찍 갱신하고, 0이면 끈다
+    private double earlyRefreshBeta = 1.0;
+
+    // 조기 갱신 스레드 수 (전체 캐시 공유)
+    private int refreshThreads = 2;
+
+    private Local localDefaults = new Local();
+
+    // 캐시 이름별 L1 설정. 없으면 localDefaults 사용
+    private Map<String, Local> local = new HashMap<>();
+
+    // stale-while-revalidate로 동작할 캐시 이름별 설정
+    private Map<String, Swr> swr = new HashMap<>();
+
+    public Local localFor(String cacheName) {
+        return local.getOrDefault(cacheName, localDefaults);
+    }
+
+    public Codec codecFor(String cacheName) {
+        return codec.getOrDefault(cacheName, defaultCodec);
+    }
+
+    public Swr swrFor(String cacheName) {
+        return swr.get(cacheName);
+    }
+
+    // 값의 조회 결과 종류에 따른 만료. 기본 만료를 따를 값이면 null
+    public Duration outcomeTtl(Object value) {
+        if (value instanceof SwrEntry entry) {
+            value = entry.getValue();
+        }
+        if (!(value instanceof CacheOutcome cacheOutcome) || cacheOutcome.getOutcome() == null) {
+            return null;
+        }
+        return switch (cacheOutcome.getOutcome()) {
+            case FOUND -> null;
+            case FALLBACK -> fallbackTtl;
+            case NOT_FOUND -> notFoundTtl;
+        };
+    }
+
+    // SWR 캐시는 hard TTL까지 L2에 남긴다
+    public Duration redisTtlFor(String cacheName) {
+        Swr settings = swrFor(cacheName);
+        return settings != null ? settings.getHardTtl() : redisTtl;
+    }
+
+    public enum Codec {
+        JSON, BINARY
+    }
+
+    @Getter
+    @Setter
+    public static class Local {
+
+        // 가중치 합 상한. 단건은 1, 목록/페이지는 요소 수만큼 차지한다
+        private long maxWeight = 10_000;
+
+        // 무효화 메시지를 놓쳐도 오래된 값이 이 시간 이상 남지 않는다
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+    }
+
+    @Getter
+    @Setter
+    public static class Swr {
+
+        // 이 시간이 지나면 기존 값을 반환하면서 백그라운드에서 갱신
+        private Duration softTtl = Duration.ofMinutes(1);
+
+        // 이 시간이 지나면 값을 버리고 호출 스레드에서 다시 적재
+        private Duration hardTtl = Duration.ofHours(1);
+
+        // Redis로 옮길 수 없는 값(Page 등)은 L1에만 둔다
+        private boolean localOnly = false;
+
+    }
+
+}
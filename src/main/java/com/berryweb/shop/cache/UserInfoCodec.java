@@ -0,0 +1,46 @@
+package com.berryweb.shop.cache;
+
+import com.berryweb.shop.dto.UserServiceDto;
+
+public class UserInfoCodec implements CacheValueCodec<UserServiceDto.UserInfo> {
+
+    public static final int TAG = 16;
+
+    @Override
+    public Class<UserServiceDto.UserInfo> getType() {
+        return UserServiceDto.UserInfo.class;
+    }
+
+    @Override
+    public int getTag() {
+        return TAG;
+    }
+
+    @Override
+    public int getSchemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public void write(UserServiceDto.UserInfo value, BinaryWriter writer) {
+        writer.writeLong(value.getId());
+        writer.writeString(value.getUsername());
+        writer.writeString(value.getEmail());
+        writer.writeString(value.getName());
+        writer.writeEnum(value.getRole());
+        writer.writeBoolean(value.getIsActive());
+    }
+
+    @Override
+    public UserServiceDto.UserInfo read(BinaryReader reader) {
+        return UserServiceDto.UserInfo.builder()
+                .id(reader.readLong())
+                .username(reader.readString())
+                .email(reader.readString())
+                .name(reader.readString())
+                .role(reader.readEnum(UserServiceDto.UserInfo.UserRole.class))
+                .isActive(reader.readBoolean())
+                .build();
+    }
+
+}
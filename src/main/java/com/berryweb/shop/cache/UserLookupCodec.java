@@ -0,0 +1,42 @@
+package com.berryweb.shop.cache;
+
+import com.berryweb.shop.dto.UserServiceDto;
+
+public class UserLookupCodec implements CacheValueCodec<UserServiceDto.UserLookup> {
+
+    public static final int TAG = 18;
+
+    private final UserInfoCodec userInfoCodec = new UserInfoCodec();
+
+    @Override
+    public Class<UserServiceDto.UserLookup> getType() {
+        return UserServiceDto.UserLookup.class;
+    }
+
+    @Override
+    public int getTag() {
+        return TAG;
+    }
+
+    @Override
+    public int getSchemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public void write(UserServiceDto.UserLookup value, BinaryWriter writer) {
+        writer.writeEnum(value.getOutcome());
+        writer.writeBoolean(value.getUser() != null);
+        if (value.getUser() != null) {
+            userInfoCodec.write(value.getUser(), writer);
+        }
+    }
+
+    @Override
+    public UserServiceDto.UserLookup read(BinaryReader reader) {
+        CacheOutcome.Outcome outcome = reader.readEnum(CacheOutcome.Outcome.class);
+        UserServiceDto.UserInfo user = Boolean.TRUE.equals(reader.readBoolean()) ? userInfoCodec.read(reader) : null;
+        return new UserServiceDto.UserLookup(outcome, user);
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.berryweb.shop.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 원격 호출의 동시 실행 수를 관측한 지연 시간에 맞춰 조절하는 벌크헤드.
+ * 한도를 넘는 호출은 기다리지 않고 바로 거절한다.
+ * <ul>
+ *     <li>지연 시간이 평소(장기 평균)보다 길어지면 그 비율만큼 한도를 줄이고, 평소 수준이면 √limit 만큼 늘린다 (gradient)</li>
+ *     <li>타임아웃/과부하 응답은 한도를 곱셈으로 줄인다 (AIMD의 감소)</li>
+ *     <li>한도의 절반도 쓰지 않는 동안에는 늘리지 않는다</li>
+ * </ul>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final int longWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // 평소 지연 시간 (장기 지수 평균, ns). 0이면 아직 표본 없음
+    private double longRttNanos;
+    // 최근 지연 시간 (단기 지수 평균, ns)
+    private double shortRttNanos;
+
+    private final Counter rejections;
+    private final Counter drops;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, int longWindow, MeterRegistry meterRegistry) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.rttTolerance = Math.max(1.0, rttTolerance);
+        this.longWindow = Math.max(10, longWindow);
+        this.smoothing = 0.2;
+        this.backoffRatio = 0.9;
+
+        Gauge.builder("client.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("client.limiter.inflight", inFlight, AtomicInteger::get)
+                .description("Outbound calls currently in flight")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("client.limiter.rejections")
+                .description("Calls rejected because the concurrency limit was reached")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.drops = Counter.builder("client.limiter.drops")
+                .description("Calls that timed out or were rejected by the remote service")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 한도 안이면 자리를 잡고 true. 호출이 끝나면 반드시 {@link #release(long, boolean)}를 불러야 한다.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 호출 결과를 반영하고 자리를 반납한다.
+     *
+     * @param rttNanos 호출에 걸린 시간
+     * @param dropped  타임아웃, 연결 실패, 과부하 응답(429/503/504)이면 true
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        if (dropped) {
+            drops.increment();
+        }
+        onSample(rttNanos, current, dropped);
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtSample, boolean dropped) {
+        double estimate = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, estimate * backoffRatio);
+            return;
+        }
+
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) * 0.1;
+            longRttNanos += (rttNanos - longRttNanos) / longWindow;
+            // 지연이 회복되면 평소 값도 빨리 따라 내려온다
+            if (longRttNanos > shortRttNanos * 2) {
+                longRttNanos = shortRttNanos * 2;
+            }
+        }
+
+        // 한도를 충분히 쓰지 않을 때의 지연은 한도에 대해 알려주는 것이 없다
+        if (inFlightAtSample < estimate / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double newLimit = estimate * gradient + Math.sqrt(estimate);
+        newLimit = estimate * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+}
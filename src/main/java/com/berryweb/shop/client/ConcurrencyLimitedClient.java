@@ -0,0 +1,71 @@
+package com.berryweb.shop.client;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * Feign 전송 계층에서 {@link AdaptiveConcurrencyLimiter}를 적용한다.
+ * 한도를 넘으면 원격 호출 없이 {@link ConcurrencyLimitExceededException}으로 바로 실패한다.
+ */
+public class ConcurrencyLimitedClient implements Client {
+
+    private final Client delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedClient(Client delegate, AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(limiter.getLimit());
+        }
+
+        long startedAt = System.nanoTime();
+        boolean dropped = true;
+        try {
+            Response response = delegate.execute(request, options);
+            dropped = isOverloaded(response.status());
+            return response;
+        } finally {
+            limiter.release(System.nanoTime() - startedAt, dropped);
+        }
+    }
+
+    static boolean isOverloaded(int status) {
+        return status == 429 || status == 503 || status == 504;
+    }
+
+    /**
+     * Feign 빌더에 붙이는 확장. Feign이 리플렉션으로 호출하므로 public 클래스여야 한다.
+     */
+    public static class LimiterCapability implements Capability {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+
+        public LimiterCapability(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public Client enrich(Client client) {
+            return new ConcurrencyLimitedClient(client, limiter);
+        }
+
+    }
+
+    public static class ConcurrencyLimitExceededException extends IOException {
+
+        public ConcurrencyLimitExceededException(int limit) {
+            super("Concurrency limit reached: " + limit);
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.berryweb.shop.client;
+
+import feign.Capability;
+import feign.Request;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메서드 이름별 read timeout을 Feign 메서드 옵션으로 등록한다. 설정이 없는 메서드는 클라이언트 기본값을 쓴다.
+ * 단건 조회는 짧게, 일괄 조회는 조금 길게 두는 식으로 쓴다.
+ * Feign이 리플렉션으로 호출하므로 public 클래스여야 한다.
+ */
+public class MethodTimeoutCapability implements Capability {
+
+    private final Map<String, Duration> readTimeouts;
+
+    public MethodTimeoutCapability(Map<String, Duration> readTimeouts) {
+        this.readTimeouts = Map.copyOf(readTimeouts);
+    }
+
+    @Override
+    public Request.Options enrich(Request.Options options) {
+        if (readTimeouts.isEmpty()) {
+            return options;
+        }
+
+        // 다른 클라이언트와 공유될 수 있으므로 복사본에 등록한다
+        Request.Options enriched = withReadTimeout(options, options.readTimeout(), options.readTimeoutUnit());
+        readTimeouts.forEach((methodName, readTimeout) -> enriched.setMethodOptions(methodName,
+                withReadTimeout(options, readTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+        return enriched;
+    }
+
+    private static Request.Options withReadTimeout(Request.Options options, long readTimeout, TimeUnit unit) {
+        return new Request.Options(options.connectTimeout(), options.connectTimeoutUnit(),
+                readTimeout, unit, options.isFollowRedirects());
+    }
+
+}
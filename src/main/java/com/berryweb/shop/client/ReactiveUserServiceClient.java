@@ -0,0 +1,138 @@
+package com.berryweb.shop.client;
+
+import com.berryweb.shop.dto.UserServiceDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * WebClient(Reactor Netty) 기반 user-service 클라이언트.
+ * 리액티브 메서드({@link #findUser}, {@link #findUsersBatch}, {@link #findUsers})와 함께 {@link UserServiceClient}의 블로킹 메서드도 제공해
+ * services.user-service.client=webclient 설정 시 Feign 클라이언트 대신 주입된다.
+ * 404는 NOT_FOUND_CODE 응답으로 돌려주고, 그 외 오류와 타임아웃은 Feign 쪽처럼 예외로 전달한다.
+ * 모든 호출은 Feign과 같은 {@link AdaptiveConcurrencyLimiter}를 거치며, 한도를 넘으면
+ * {@link ConcurrencyLimitedClient.ConcurrencyLimitExceededException}으로 바로 실패한다.
+ * 여러 묶음의 병렬 조회는 {@link #findUsers}가 스레드 없이 Flux로 처리하며, 묶음마다 한도 자리를 따로 잡는다.
+ */
+@Slf4j
+public class ReactiveUserServiceClient implements UserServiceClient {
+
+    private static final ParameterizedTypeReference<UserServiceDto.ApiResponse<UserServiceDto.UserInfo>> USER_RESPONSE =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final ParameterizedTypeReference<UserServiceDto.ApiResponse<List<UserServiceDto.UserInfo>>> USERS_RESPONSE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient webClient;
+    private final Duration blockTimeout;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final int batchSize;
+    private final int batchConcurrency;
+
+    public ReactiveUserServiceClient(WebClient webClient, Duration blockTimeout, AdaptiveConcurrencyLimiter limiter,
+                                     int batchSize, int batchConcurrency) {
+        this.webClient = webClient;
+        this.blockTimeout = blockTimeout;
+        this.limiter = limiter;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchConcurrency = Math.max(1, batchConcurrency);
+    }
+
+    public Mono<UserServiceDto.ApiResponse<UserServiceDto.UserInfo>> findUser(Long userId, String token) {
+        return limited(webClient.get()
+                .uri("/api/v1/users/{userId}", userId)
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .retrieve()
+                .bodyToMono(USER_RESPONSE))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(
+                        UserServiceDto.ApiResponse.<UserServiceDto.UserInfo>builder()
+                                .success(false)
+                                .message("User not found")
+                                .errorCode(NOT_FOUND_CODE)
+                                .build()));
+    }
+
+    public Mono<UserServiceDto.ApiResponse<List<UserServiceDto.UserInfo>>> findUsersBatch(List<Long> userIds, String token) {
+        return limited(webClient.get()
+                .uri(builder -> builder.path("/api/v1/users/batch").queryParam("ids", userIds).build())
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .retrieve()
+                .bodyToMono(USERS_RESPONSE));
+    }
+
+    /**
+     * batchSize씩 나눠 최대 batchConcurrency개 묶음을 동시에 조회하고, 끝난 순서대로 묶음별 결과를 낸다.
+     * 실패(한도 초과 포함)한 묶음도 오류를 담은 결과로 내보내므로, 스트림 자체는 오류로 끝나지 않는다.
+     */
+    public Flux<UserBatch> findUsers(Collection<Long> userIds, String token) {
+        return Flux.fromIterable(userIds)
+                .distinct()
+                .buffer(batchSize)
+                .flatMap(batch -> findUsersBatch(batch, token)
+                        .map(response -> new UserBatch(batch, response, null))
+                        .onErrorResume(e -> Mono.just(new UserBatch(batch, null, e))), batchConcurrency);
+    }
+
+    @Override
+    public UserServiceDto.ApiResponse<UserServiceDto.UserInfo> getUserInfo(Long userId, String token) {
+        return findUser(userId, token).block(blockTimeout);
+    }
+
+    @Override
+    public UserServiceDto.ApiResponse<List<UserServiceDto.UserInfo>> getUsersInfo(List<Long> userIds, String token) {
+        return findUsersBatch(userIds, token).block(blockTimeout);
+    }
+
+    /**
+     * 구독할 때 한도 자리를 잡고, 끝나면(취소 포함) 지연 시간과 함께 한 번만 반납한다.
+     * ConcurrencyLimitedClient와 같이 응답을 받지 못했거나 과부하 응답(429/503/504)이면 drop으로 반영한다.
+     * doFinally는 결과가 호출한 쪽에 전달된 뒤에 실행되므로, 반납은 결과 전달 전에 실행되는 훅에서 한다.
+     */
+    private <T> Mono<T> limited(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!limiter.tryAcquire()) {
+                return Mono.error(new ConcurrencyLimitedClient.ConcurrencyLimitExceededException(limiter.getLimit()));
+            }
+
+            long startedAt = System.nanoTime();
+            AtomicBoolean released = new AtomicBoolean();
+            Consumer<Boolean> release = dropped -> {
+                if (released.compareAndSet(false, true)) {
+                    limiter.release(System.nanoTime() - startedAt, dropped);
+                }
+            };
+            return call
+                    .doOnSuccess(response -> release.accept(false))
+                    .doOnError(e -> release.accept(!(e instanceof WebClientResponseException responseException)
+                            || ConcurrencyLimitedClient.isOverloaded(responseException.getStatusCode().value())))
+                    .doOnCancel(() -> release.accept(true));
+        });
+    }
+
+    /**
+     * 묶음 하나의 조회 결과. 응답을 받았으면 response, 받지 못했으면 error가 채워진다.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class UserBatch {
+
+        private final List<Long> userIds;
+        private final UserServiceDto.ApiResponse<List<UserServiceDto.UserInfo>> response;
+        private final Throwable error;
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.berryweb.shop.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 연결을 빌려오는 데 걸린 시간을 기록하는 연결 풀.
+ * 풀이 가득 차면 이 시간이 늘어나므로 풀 포화의 직접 지표가 된다. 풀 크기/사용량 게이지는 Micrometer 바인더가 따로 노출한다.
+ */
+public class TimedPoolingConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer acquired;
+    private final Timer timedOut;
+
+    public TimedPoolingConnectionManager(String name, MeterRegistry meterRegistry) {
+        this.acquired = acquireTimer(meterRegistry, name, "acquired");
+        this.timedOut = acquireTimer(meterRegistry, name, "timeout");
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest leaseRequest = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long startedAt = System.nanoTime();
+                Timer timer = timedOut;
+                try {
+                    ConnectionEndpoint endpoint = leaseRequest.get(timeout);
+                    timer = acquired;
+                    return endpoint;
+                } finally {
+                    timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return leaseRequest.cancel();
+            }
+        };
+    }
+
+    private static Timer acquireTimer(MeterRegistry meterRegistry, String name, String result) {
+        return Timer.builder("http.client.pool.acquire")
+                .description("Time spent waiting to lease a pooled connection")
+                .tag("pool", name)
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+}
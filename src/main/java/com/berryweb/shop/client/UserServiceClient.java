@@ -5,18 +5,33 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(
         name = "user-service",
         url = "${services.user-service.url}",
-        fallbackFactory = UserServiceClientFallbackFactory.class
+        configuration = UserServiceClientConfig.class,
+        // services.user-service.client=webclient 이면 ReactiveUserServiceClient(@Primary)가 대신 주입된다
+        primary = false
 )
 public interface UserServiceClient {
 
+    // 없는 사용자 응답의 errorCode. 404를 예외 대신 응답으로 돌려주는 구현(ReactiveUserServiceClient)이 쓴다
+    String NOT_FOUND_CODE = "USER_NOT_FOUND";
+
     @GetMapping("/api/v1/users/{userId}")
     UserServiceDto.ApiResponse<UserServiceDto.UserInfo> getUserInfo(
             @PathVariable("userId") Long userId,
             @RequestHeader("Authorization") String token
     );
 
+    // 여러 사용자 일괄 조회. 없는 ID는 결과에서 빠진다
+    @GetMapping("/api/v1/users/batch")
+    UserServiceDto.ApiResponse<List<UserServiceDto.UserInfo>> getUsersInfo(
+            @RequestParam("ids") List<Long> userIds,
+            @RequestHeader("Authorization") String token
+    );
+
 }
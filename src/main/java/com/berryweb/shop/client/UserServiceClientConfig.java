@@ -0,0 +1,32 @@
+package com.berryweb.shop.client;
+
+import feign.Capability;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * user-service Feign 클라이언트 전용 설정. 다른 Feign 클라이언트에 적용되지 않도록 @Configuration을 붙이지 않는다.
+ */
+public class UserServiceClientConfig {
+
+    // services.user-service.read-timeouts.<메서드 이름>
+    @Bean
+    public Capability userServiceMethodTimeoutCapability(Environment environment) {
+        Map<String, Duration> readTimeouts = Binder.get(environment)
+                .bind("services.user-service.read-timeouts", Bindable.mapOf(String.class, Duration.class))
+                .orElse(Map.of());
+        return new MethodTimeoutCapability(readTimeouts);
+    }
+
+    // 한도(userServiceLimiter)는 WebClient 클라이언트와 같이 쓰도록 UserServiceLimiterConfig에 있다
+    @Bean
+    public Capability userServiceLimiterCapability(AdaptiveConcurrencyLimiter userServiceLimiter) {
+        return new ConcurrencyLimitedClient.LimiterCapability(userServiceLimiter);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.berryweb.shop.common;
+
+import com.berryweb.shop.exception.CustomException;
+import com.berryweb.shop.exception.ErrorCode;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * (createdAt, id) 키셋 위치를 불투명한 커서 문자열로 변환한다.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String CREATED_AT = "createdAt";
+    private static final String ID = "id";
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    // 빈 커서는 첫 페이지
+    public static ScrollPosition decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            LocalDateTime createdAt = LocalDateTime.parse(decoded.substring(0, separator));
+            Long id = Long.parseLong(decoded.substring(separator + 1));
+            return ScrollPosition.forward(Map.of(CREATED_AT, createdAt, ID, id));
+        } catch (RuntimeException e) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "잘못된 커서입니다.");
+        }
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Keyset position required: " + position);
+        }
+
+        String raw = keyset.getKeys().get(CREATED_AT) + SEPARATOR + keyset.getKeys().get(ID);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Limit limit(Integer size) {
+        if (size == null || size < 1) {
+            return Limit.of(DEFAULT_SIZE);
+        }
+        return Limit.of(Math.min(size, MAX_SIZE));
+    }
+
+}
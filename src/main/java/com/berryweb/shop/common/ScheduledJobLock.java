@@ -0,0 +1,71 @@
+package com.berryweb.shop.common;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 여러 인스턴스가 같은 주기 작업(보정, 재계산)을 돌릴 때 한 주기에 한 인스턴스만 실행하도록 Redis 키로 잠근다.
+ * 잠금은 작업이 끝나도 풀지 않고 lease 동안 유지한다. 일정이 어긋난 다른 인스턴스가 같은 주기에 다시 실행하지 않도록
+ * lease는 작업 주기와 같게 준다. 작업이 실패하면 바로 풀어 다른 인스턴스가 다음 일정에 다시 시도하게 한다.
+ * Redis에 닿지 않으면 실행하지 않는다. 보정 작업은 다음 주기로 미뤄도 되지만 모든 인스턴스가 함께 도는 것은 피해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledJobLock {
+
+    private static final String KEY_PREFIX = "shop:job-lock:";
+
+    // 내가 잡은 잠금일 때만 지운다
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 잠금을 잡으면 작업을 실행하고 true, 다른 인스턴스가 잡고 있거나 Redis 오류면 실행하지 않고 false를 반환한다.
+     */
+    public boolean runExclusively(String job, Duration lease, Runnable task) {
+        String key = KEY_PREFIX + job;
+        String token = UUID.randomUUID().toString();
+
+        Boolean acquired;
+        try {
+            acquired = redisTemplate.opsForValue().setIfAbsent(key, token, lease);
+        } catch (RuntimeException e) {
+            log.warn("Skipping scheduled job {}: lock unavailable ({})", job, e.getMessage());
+            return false;
+        }
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("Skipping scheduled job {}: already run by another instance in this period", job);
+            return false;
+        }
+
+        try {
+            task.run();
+            return true;
+        } catch (RuntimeException e) {
+            release(key, token);
+            throw e;
+        }
+    }
+
+    private void release(String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key), token);
+        } catch (RuntimeException e) {
+            // 풀지 못해도 lease가 지나면 풀린다
+            log.warn("Failed to release scheduled job lock {}: {}", key, e.getMessage());
+        }
+    }
+
+}
@@ -1,7 +1,20 @@
 package com.berryweb.shop.config;
 
+import com.berryweb.shop.cache.BinaryCacheSerializer;
+import com.berryweb.shop.cache.CacheKeyGenerator;
+import com.berryweb.shop.cache.CacheRefresher;
+import com.berryweb.shop.cache.ProductInfoCodec;
+import com.berryweb.shop.cache.TwoTierCacheManager;
+import com.berryweb.shop.cache.TwoTierCacheProperties;
+import com.berryweb.shop.cache.UserInfoCodec;
+import com.berryweb.shop.cache.UserLookupCodec;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.CacheErrorHandler;
@@ -12,24 +25,82 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(TwoTierCacheProperties.class)
 @Slf4j
 public class CacheConfig implements CachingConfigurer {
 
+    // 프로세스 내 L1 + Redis L2
     @Bean
-    public CacheManager cacheManager() {
-        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager
+    public TwoTierCacheManager cacheManager(TwoTierCacheProperties properties, MeterRegistry meterRegistry,
+                                            StringRedisTemplate stringRedisTemplate) {
+        RedisSerializer<Object> jsonSerializer = jsonSerializer();
+        RedisSerializer<Object> binarySerializer = new BinaryCacheSerializer(
+                List.of(new UserInfoCodec(), new UserLookupCodec(), new ProductInfoCodec()), jsonSerializer,
+                properties.getCompressionThreshold());
+
+        // 캐시별 직렬화 방식과 만료 선택
+        Set<String> configuredCaches = new HashSet<>(properties.getCodec().keySet());
+        configuredCaches.addAll(properties.getSwr().keySet());
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        configuredCaches.forEach(cacheName -> cacheConfigurations.put(cacheName, cacheConfiguration(properties,
+                properties.redisTtlFor(cacheName), properties.codecFor(cacheName), jsonSerializer, binarySerializer)));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager
                 .RedisCacheManagerBuilder
                 .fromConnectionFactory(redisConnectionFactory())
-                .cacheDefaults(cacheConfiguration());
-        return builder.build();
+                .cacheDefaults(cacheConfiguration(properties, properties.getRedisTtl(), properties.getDefaultCodec(),
+                        jsonSerializer, binarySerializer))
+                .withInitialCacheConfigurations(cacheConfigurations)
+                .build();
+        redisCacheManager.initializeCaches();
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(redisCacheManager, properties, meterRegistry,
+                stringRedisTemplate);
+        // SWR 캐시는 L2 오류를 기록만 하고 L1의 마지막 값으로 계속 응답
+        cacheManager.setErrorHandler(errorHandler());
+        return cacheManager;
+    }
+
+    // 기본 직렬화기는 java.time을 다루지 못하므로 JavaTimeModule을 등록
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        serializer.configure(objectMapper -> objectMapper
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        return serializer;
+    }
+
+    // 캐시별 백그라운드 갱신기. 갱신기는 서비스 빈에 의존하므로 모든 싱글톤이 만들어진 뒤 등록한다
+    @Bean
+    public SmartInitializingSingleton cacheRefresherRegistrar(TwoTierCacheManager cacheManager,
+                                                              ObjectProvider<CacheRefresher> refreshers) {
+        return () -> refreshers.orderedStream().forEach(cacheManager::registerRefresher);
+    }
+
+    // 다른 노드의 L1 무효화 알림 수신
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(TwoTierCacheManager cacheManager,
+                                                                            TwoTierCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        container.addMessageListener(cacheManager, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
     }
 
     @Bean
@@ -37,32 +108,32 @@ public class CacheConfig implements CachingConfigurer {
         return new LettuceConnectionFactory();
     }
 
-    private RedisCacheConfiguration cacheConfiguration() {
-        return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))
-                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+    private RedisCacheConfiguration cacheConfiguration(TwoTierCacheProperties properties, Duration ttl,
+                                                       TwoTierCacheProperties.Codec codec,
+                                                       RedisSerializer<Object> jsonSerializer,
+                                                       RedisSerializer<Object> binarySerializer) {
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+                // 대체 값/부정 결과는 짧게 보관
+                .entryTtl((key, value) -> {
+                    Duration outcomeTtl = properties.outcomeTtl(value);
+                    return outcomeTtl != null ? outcomeTtl : ttl;
+                })
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()));
+
+        if (codec == TwoTierCacheProperties.Codec.BINARY) {
+            // JSON으로 저장된 기존 키와 섞이지 않도록 접두어를 분리
+            return configuration
+                    .computePrefixWith(cacheName -> cacheName + ":bin::")
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(binarySerializer));
+        }
+        return configuration
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer));
     }
 
+    // 메서드별 접두어 + 타입별 인자 인코딩. 토큰 등은 @CacheKeyExclude로 제외
     @Override
     public KeyGenerator keyGenerator() {
-        return (target, method, params) -> {
-            StringBuilder sb = new StringBuilder();
-            sb.append(target.getClass().getSimpleName()).append("_");
-            sb.append(method.getName()).append("_");
-
-            for (Object param : params) {
-                if (param != null) {
-                    sb.append(param.toString()).append("_");
-                } else {
-                    sb.append("null_");
-                }
-            }
-
-            String key = sb.toString();
-            log.debug("Generated cache key: {}", key);
-            return key;
-        };
+        return new CacheKeyGenerator();
     }
 
     @Override
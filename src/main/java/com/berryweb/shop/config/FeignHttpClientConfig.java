@@ -0,0 +1,84 @@
+package com.berryweb.shop.config;
+
+import com.berryweb.shop.client.TimedPoolingConnectionManager;
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Feign 전송 계층을 Apache HttpClient 5 연결 풀로 바꾼다 (기본 HttpURLConnection 대신).
+ * 풀 크기, 경로당 연결 수, 연결 수명, 타임아웃은 spring.cloud.openfeign.httpclient.* 설정을 따르고,
+ * 유휴 연결은 백그라운드에서 정리한다. spring.cloud.openfeign.httpclient.hc5.enabled=false 이면 기본 클라이언트를 쓴다.
+ * 연결 대기 시간(http.client.pool.acquire)과 풀 사용량(httpcomponents.httpclient.pool.*)을 actuator 지표로 노출한다.
+ */
+@Configuration
+@ConditionalOnClass(ApacheHttp5Client.class)
+@ConditionalOnProperty(value = "spring.cloud.openfeign.httpclient.hc5.enabled", havingValue = "true", matchIfMissing = true)
+public class FeignHttpClientConfig {
+
+    private static final String POOL_NAME = "feign";
+
+    @Bean(destroyMethod = "close")
+    public TimedPoolingConnectionManager feignConnectionManager(FeignHttpClientProperties properties,
+                                                                MeterRegistry meterRegistry) {
+        FeignHttpClientProperties.Hc5Properties hc5 = properties.getHc5();
+
+        TimedPoolingConnectionManager connectionManager = new TimedPoolingConnectionManager(POOL_NAME, meterRegistry);
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectionTimeout()))
+                .setSocketTimeout(Timeout.of(hc5.getSocketTimeout(), hc5.getSocketTimeoutUnit()))
+                .setTimeToLive(TimeValue.of(properties.getTimeToLive(), properties.getTimeToLiveUnit()))
+                // 오래 쉬었던 연결은 빌려주기 전에 끊김 여부를 확인
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient feignHttpClient(TimedPoolingConnectionManager feignConnectionManager,
+                                               FeignHttpClientProperties properties,
+                                               @Value("${services.http-client.max-idle-time:30s}") Duration maxIdleTime) {
+        FeignHttpClientProperties.Hc5Properties hc5 = properties.getHc5();
+        return HttpClients.custom()
+                .setConnectionManager(feignConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(hc5.getConnectionRequestTimeout(),
+                                hc5.getConnectionRequestTimeoutUnit()))
+                        .setRedirectsEnabled(properties.isFollowRedirects())
+                        .build())
+                .disableCookieManagement()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(maxIdleTime.toMillis()))
+                .build();
+    }
+
+    // 모든 Feign 클라이언트가 같은 풀을 쓴다. 클라이언트별 설정(UserServiceClientConfig 등)의 Capability가 이 위에 덧씌워진다
+    @Bean
+    public Client feignClient(CloseableHttpClient feignHttpClient) {
+        return new ApacheHttp5Client(feignHttpClient);
+    }
+
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(TimedPoolingConnectionManager feignConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(feignConnectionManager, POOL_NAME);
+    }
+
+}
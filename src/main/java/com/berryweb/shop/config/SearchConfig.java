@@ -0,0 +1,17 @@
+package com.berryweb.shop.config;
+
+import com.berryweb.shop.search.HangulNGramTokenizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SearchConfig {
+
+    @Bean
+    public HangulNGramTokenizer hangulNGramTokenizer(
+            @Value("${search.tokenizer.chosung-enabled:true}") boolean chosungEnabled) {
+        return new HangulNGramTokenizer(chosungEnabled);
+    }
+
+}
@@ -40,7 +40,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // 공개 엔드포인트
                         .requestMatchers("/v1/shops", "/v1/shops/**",
-                                "/v1/products/**", "/v1/products/search",
+                                "/v1/products/**", "/v1/products/search", "/v1/products/suggest",
                                 "/v1/products/featured").permitAll()
                         // 시스템 엔드포인트
                         .requestMatchers("/actuator/**").permitAll()
@@ -0,0 +1,28 @@
+package com.berryweb.shop.config;
+
+import com.berryweb.shop.client.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * user-service 호출의 동시 실행 한도. Feign(UserServiceClientConfig)과 WebClient(UserServiceWebClientConfig) 중
+ * 어느 클라이언트를 쓰든 같은 한도를 거치도록 Feign 전용 컨텍스트가 아닌 애플리케이션 컨텍스트에 둔다.
+ */
+@Configuration
+public class UserServiceLimiterConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter userServiceLimiter(
+            @Value("${services.user-service.limiter.initial-limit:20}") int initialLimit,
+            @Value("${services.user-service.limiter.min-limit:4}") int minLimit,
+            @Value("${services.user-service.limiter.max-limit:64}") int maxLimit,
+            @Value("${services.user-service.limiter.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${services.user-service.limiter.long-window:600}") int longWindow,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("user-service", initialLimit, minLimit, maxLimit,
+                rttTolerance, longWindow, meterRegistry);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.berryweb.shop.config;
+
+import com.berryweb.shop.client.AdaptiveConcurrencyLimiter;
+import com.berryweb.shop.client.ReactiveUserServiceClient;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * services.user-service.client=webclient 이면 Feign 대신 WebClient 기반 클라이언트를 쓴다.
+ * 연결은 keep-alive 풀로 재사용하고, 풀이 가득 차면 대기 수와 대기 시간을 제한한다.
+ * 동시 호출 수는 Feign 클라이언트와 같은 userServiceLimiter(UserServiceLimiterConfig)로 제한한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "services.user-service.client", havingValue = "webclient")
+public class UserServiceWebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider userServiceConnectionProvider(
+            @Value("${services.user-service.webclient.max-connections:100}") int maxConnections,
+            @Value("${services.user-service.webclient.pending-acquire-max-count:200}") int pendingAcquireMaxCount,
+            @Value("${services.user-service.webclient.pending-acquire-timeout:1s}") Duration pendingAcquireTimeout,
+            @Value("${services.user-service.webclient.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${services.user-service.webclient.max-life-time:5m}") Duration maxLifeTime) {
+        return ConnectionProvider.builder("user-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public ReactiveUserServiceClient reactiveUserServiceClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider userServiceConnectionProvider,
+            AdaptiveConcurrencyLimiter userServiceLimiter,
+            @Value("${services.user-service.url}") String baseUrl,
+            @Value("${services.user-service.webclient.pending-acquire-timeout:1s}") Duration pendingAcquireTimeout,
+            @Value("${services.user-service.webclient.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${services.user-service.webclient.response-timeout:3s}") Duration responseTimeout,
+            @Value("${services.user-service.webclient.batch-size:25}") int batchSize,
+            @Value("${services.user-service.webclient.batch-concurrency:8}") int batchConcurrency) {
+        HttpClient httpClient = HttpClient.create(userServiceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .keepAlive(true)
+                .compress(true);
+
+        WebClient webClient = webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        // 풀 대기 + 연결 + 응답 시간을 모두 넘기면 호출 스레드를 놓아준다
+        Duration blockTimeout = pendingAcquireTimeout.plus(connectTimeout).plus(responseTimeout);
+        return new ReactiveUserServiceClient(webClient, blockTimeout, userServiceLimiter, batchSize, batchConcurrency);
+    }
+
+}
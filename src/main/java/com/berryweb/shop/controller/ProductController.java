@@ -1,6 +1,7 @@
 package com.berryweb.shop.controller;
 
 import com.berryweb.shop.common.ApiResponse;
+import com.berryweb.shop.common.CursorPage;
 import com.berryweb.shop.dto.ProductDto;
 import com.berryweb.shop.security.CurrentUser;
 import com.berryweb.shop.service.ProductService;
@@ -25,11 +26,25 @@ public class ProductController {
     public ResponseEntity<ApiResponse<Page<ProductDto.ProductSummary>>> getProductsByShop(
             @PathVariable Long shopId,
             @RequestParam(required = false) String search,
+            @Valid @ModelAttribute ProductDto.ListCondition condition,
             Pageable pageable,
             @RequestHeader(value = "Authorization", required = false) String token) {
 
         String authToken = token != null ? token.replace("Bearer ", "") : "";
-        Page<ProductDto.ProductSummary> products = productService.getProductsByShop(shopId, pageable, authToken);
+        Page<ProductDto.ProductSummary> products = productService.getProductsByShop(shopId, condition, pageable, authToken);
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
+    // ?after= 가 있으면 커서 페이징 (빈 값이면 첫 페이지)
+    @GetMapping(params = "after")
+    public ResponseEntity<ApiResponse<CursorPage<ProductDto.ProductSummary>>> getProductsByShopWithCursor(
+            @PathVariable Long shopId,
+            @RequestParam String after,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = "Authorization", required = false) String token) {
+
+        String authToken = token != null ? token.replace("Bearer ", "") : "";
+        CursorPage<ProductDto.ProductSummary> products = productService.getProductsByShop(shopId, after, size, authToken);
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
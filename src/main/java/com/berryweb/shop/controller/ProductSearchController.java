@@ -3,6 +3,8 @@ package com.berryweb.shop.controller;
 import com.berryweb.shop.common.ApiResponse;
 import com.berryweb.shop.dto.ProductDto;
 import com.berryweb.shop.service.ProductService;
+import com.berryweb.shop.service.SuggestService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 public class ProductSearchController {
 
     private final ProductService productService;
+    private final SuggestService suggestService;
 
     @GetMapping("/{productId}")
     public ResponseEntity<ApiResponse<ProductDto.ProductInfo>> getProductById(
@@ -31,14 +34,36 @@ public class ProductSearchController {
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<Page<ProductDto.ProductSummary>>> searchProducts(
             @RequestParam String keyword,
+            @Valid @ModelAttribute ProductDto.SearchCondition condition,
             Pageable pageable,
             @RequestHeader(value = "Authorization", required = false) String token) {
 
         String authToken = token != null ? token.replace("Bearer ", "") : "";
-        Page<ProductDto.ProductSummary> products = productService.searchProducts(keyword, pageable, authToken);
+        condition.setKeyword(keyword);
+        Page<ProductDto.ProductSummary> products = productService.searchProducts(condition, pageable, authToken);
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
+    @GetMapping("/search/facets")
+    public ResponseEntity<ApiResponse<ProductDto.ProductSearchResult>> searchProductsWithFacets(
+            @Valid @ModelAttribute ProductDto.SearchCondition condition,
+            Pageable pageable,
+            @RequestHeader(value = "Authorization", required = false) String token) {
+
+        String authToken = token != null ? token.replace("Bearer ", "") : "";
+        ProductDto.ProductSearchResult result = productService.searchProductsWithFacets(condition, pageable, authToken);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<ProductDto.SuggestResult>> suggest(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(required = false) Integer limit) {
+
+        ProductDto.SuggestResult result = suggestService.suggest(query, limit);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     @GetMapping("/featured")
     public ResponseEntity<ApiResponse<Page<ProductDto.ProductSummary>>> getFeaturedProducts(
             Pageable pageable,
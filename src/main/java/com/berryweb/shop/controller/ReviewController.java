@@ -1,6 +1,7 @@
 package com.berryweb.shop.controller;
 
 import com.berryweb.shop.common.ApiResponse;
+import com.berryweb.shop.common.CursorPage;
 import com.berryweb.shop.dto.ReviewDto;
 import com.berryweb.shop.security.CurrentUser;
 import com.berryweb.shop.service.ReviewService;
@@ -33,6 +34,20 @@ public class ReviewController {
         return ResponseEntity.ok(ApiResponse.success(reviews));
     }
 
+    // ?after= 가 있으면 커서 페이징 (빈 값이면 첫 페이지)
+    @GetMapping(params = "after")
+    public ResponseEntity<ApiResponse<CursorPage<ReviewDto.ReviewInfo>>> getReviewsByProductWithCursor(
+            @PathVariable Long productId,
+            @RequestParam String after,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader("Authorization") String token,
+            @CurrentUser Long userId) {
+
+        String authToken = token.replace("Bearer ", "");
+        CursorPage<ReviewDto.ReviewInfo> reviews = reviewService.getReviewsByProduct(productId, after, size, authToken, userId);
+        return ResponseEntity.ok(ApiResponse.success(reviews));
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<ReviewDto.ReviewInfo>> createReview(
             @PathVariable Long productId,
@@ -1,6 +1,7 @@
 package com.berryweb.shop.controller;
 
 import com.berryweb.shop.common.ApiResponse;
+import com.berryweb.shop.common.CursorPage;
 import com.berryweb.shop.dto.ShopDto;
 import com.berryweb.shop.security.CurrentUser;
 import com.berryweb.shop.service.ShopService;
@@ -25,6 +26,7 @@ public class ShopController {
     @GetMapping
     public ResponseEntity<ApiResponse<Page<ShopDto.ShopInfo>>> getAllShops(
             @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean openNow,
             Pageable pageable,
             @RequestHeader(value = "Authorization", required = false) String token) {
 
@@ -32,7 +34,9 @@ public class ShopController {
         String authToken = token != null ? token.replace("Bearer ", "") : "";
         Page<ShopDto.ShopInfo> shops;
 
-        if (search != null && !search.trim().isEmpty()) {
+        if (openNow) {
+            shops = shopService.getOpenShops(search, pageable, authToken);
+        } else if (search != null && !search.trim().isEmpty()) {
             shops = shopService.searchShops(search, pageable, authToken);
         } else {
             shops = shopService.getAllShops(pageable, authToken);
@@ -41,6 +45,18 @@ public class ShopController {
         return ResponseEntity.ok(ApiResponse.success(shops));
     }
 
+    // ?after= 가 있으면 커서 페이징 (빈 값이면 첫 페이지), 검색과 영업 중 필터는 기존 페이징 사용
+    @GetMapping(params = {"after", "!search", "!openNow"})
+    public ResponseEntity<ApiResponse<CursorPage<ShopDto.ShopInfo>>> getAllShopsWithCursor(
+            @RequestParam String after,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = "Authorization", required = false) String token) {
+
+        String authToken = token != null ? token.replace("Bearer ", "") : "";
+        CursorPage<ShopDto.ShopInfo> shops = shopService.getAllShops(after, size, authToken);
+        return ResponseEntity.ok(ApiResponse.success(shops));
+    }
+
     @GetMapping("/{shopId}")
     public ResponseEntity<ApiResponse<ShopDto.ShopInfo>> getShopById(
             @PathVariable Long shopId,
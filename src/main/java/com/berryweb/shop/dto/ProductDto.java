@@ -4,6 +4,7 @@ import com.berryweb.shop.entity.Product;
 import com.berryweb.shop.entity.ProductOptionGroup;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.*;
+import org.springframework.data.domain.Page;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,6 +13,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public class ProductDto {
 
@@ -189,4 +191,73 @@ public class ProductDto {
         private Integer sortOrder;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SearchCondition {
+        private String keyword;
+        private Long categoryId;
+        private Long shopId;
+        private List<String> priceBand;
+
+        @Min(value = 1, message = "최소 평점은 1 이상이어야 합니다.")
+        @Max(value = 5, message = "최소 평점은 5 이하여야 합니다.")
+        private Integer minRating;
+
+        private Boolean featured;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ListCondition {
+        @DecimalMin(value = "0", message = "최소 가격은 0 이상이어야 합니다.")
+        private BigDecimal minPrice;
+
+        @DecimalMin(value = "0", message = "최대 가격은 0 이상이어야 합니다.")
+        private BigDecimal maxPrice;
+
+        @DecimalMin(value = "0", message = "최소 평점은 0 이상이어야 합니다.")
+        @DecimalMax(value = "5", message = "최소 평점은 5 이하여야 합니다.")
+        private BigDecimal minRating;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductSearchResult {
+        private Page<ProductSummary> products;
+        private Map<String, List<FacetCount>> facets;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private Long count;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SuggestResult {
+        private List<SuggestionInfo> products;
+        private List<SuggestionInfo> shops;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SuggestionInfo {
+        private Long id;
+        private String name;
+    }
+
 }
@@ -72,6 +72,7 @@ public class ShopDto {
         @DecimalMin(value = "0", message = "무료배송 금액은 0 이상이어야 합니다.")
         private BigDecimal freeDeliveryAmount;
 
+        // 예: "MON-FRI 09:00-18:00, SAT 10:00-14:00" (형식은 BusinessHours 참고)
         private String businessHours;
     }
 
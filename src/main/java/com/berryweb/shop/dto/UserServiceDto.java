@@ -1,5 +1,6 @@
 package com.berryweb.shop.dto;
 
+import com.berryweb.shop.cache.CacheOutcome;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,6 +25,28 @@ public class UserServiceDto {
         }
     }
 
+    // users 캐시에 저장하는 조회 결과. NOT_FOUND이거나 사용자 정보 없이 FALLBACK이면 user는 null
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserLookup implements CacheOutcome {
+        private Outcome outcome;
+        private UserInfo user;
+
+        public static UserLookup found(UserInfo user) {
+            return new UserLookup(Outcome.FOUND, user);
+        }
+
+        public static UserLookup fallback(UserInfo user) {
+            return new UserLookup(Outcome.FALLBACK, user);
+        }
+
+        public static UserLookup notFound() {
+            return new UserLookup(Outcome.NOT_FOUND, null);
+        }
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -2,6 +2,7 @@ package com.berryweb.shop.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -93,14 +94,46 @@ public class Product {
     @Column(length = 100)
     private String dimensions;
 
-    // 평점
-    @Column(precision = 3, scale = 2)
+    // 평점 - 리뷰 작성/수정/삭제 시 ProductRepository.applyRatingChange로만 증감한다 (엔티티 저장으로 덮어쓰지 않음)
+    @Column(precision = 3, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal ratingAverage = BigDecimal.ZERO;
 
+    @Column(updatable = false)
     @Builder.Default
     private Integer ratingCount = 0;
 
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    // 평점별 리뷰 수 (1~5점)
+    @Column(name = "rating1_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer rating1Count = 0;
+
+    @Column(name = "rating2_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer rating2Count = 0;
+
+    @Column(name = "rating3_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer rating3Count = 0;
+
+    @Column(name = "rating4_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer rating4Count = 0;
+
+    @Column(name = "rating5_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer rating5Count = 0;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -48,8 +48,8 @@ public class Review {
     @Builder.Default
     private Boolean isActive = true;
 
-    // 도움됨 투표
-    @Column(nullable = false)
+    // 도움됨 투표 - ReviewHelpfulCounter가 투표 증감을 모아서 더한다 (엔티티 저장으로 덮어쓰지 않음)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer helpfulCount = 0;
 
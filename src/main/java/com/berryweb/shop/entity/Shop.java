@@ -2,6 +2,7 @@ package com.berryweb.shop.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -66,6 +67,13 @@ public class Shop {
     @Column(columnDefinition = "TEXT")
     private String businessHours;
 
+    // 판매중(ACTIVE) 상품 수 - 상품 상태가 바뀔 때 UPDATE 한 문장으로 증감하고 ShopProductCountReconciler가 주기적으로 보정.
+    // 엔티티 저장으로 덮어쓰지 않도록 updatable = false
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long activeProductCount = 0L;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -18,6 +18,7 @@ public enum ErrorCode {
 
     // Shop
     SHOP_NOT_FOUND("S001", "상점을 찾을 수 없습니다."),
+    INVALID_BUSINESS_HOURS("S002", "영업시간 형식이 올바르지 않습니다."),
 
     // Category
     CATEGORY_NOT_FOUND("CT001", "카테고리를 찾을 수 없습니다."),
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,9 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, Long
     Optional<ProductImage> findByProductAndIsMainTrue(Product product);
     List<ProductImage> findByProductAndIsMainFalseOrderBySortOrderAsc(Product product);
 
+    @Query("SELECT pi FROM ProductImage pi WHERE pi.product.id IN :productIds AND pi.isMain = true")
+    List<ProductImage> findMainImagesByProductIds(@Param("productIds") Collection<Long> productIds);
+
     @Modifying
     @Query("UPDATE ProductImage pi SET pi.isMain = false WHERE pi.product = :product")
     void clearMainImages(@Param("product") Product product);
@@ -3,6 +3,8 @@ package com.berryweb.shop.repository;
 import com.berryweb.shop.entity.Product;
 import com.berryweb.shop.entity.ProductOptionGroup;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +16,9 @@ public interface ProductOptionGroupRepository extends JpaRepository<ProductOptio
     List<ProductOptionGroup> findByProductOrderBySortOrderAsc(Product product);
     Optional<ProductOptionGroup> findByIdAndProduct(Long id, Product product);
 
+    // 상세 조회용 - 옵션 그룹과 옵션을 한 번에 로딩 (비활성 옵션 포함)
+    @Query("SELECT g FROM ProductOptionGroup g LEFT JOIN FETCH g.options " +
+            "WHERE g.product = :product ORDER BY g.sortOrder ASC")
+    List<ProductOptionGroup> findWithOptionsByProduct(@Param("product") Product product);
+
 }
@@ -3,14 +3,23 @@ package com.berryweb.shop.repository;
 import com.berryweb.shop.entity.Product;
 import com.berryweb.shop.entity.ProductCategory;
 import com.berryweb.shop.entity.Shop;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,11 +27,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Page<Product> findByShopAndStatusOrderByCreatedAtDesc(Shop shop, Product.ProductStatus status, Pageable pageable);
     Page<Product> findByShopIdAndStatusOrderByCreatedAtDesc(Long shopId, Product.ProductStatus status, Pageable pageable);
+    Window<Product> findByShopIdAndStatusOrderByCreatedAtDescIdDesc(Long shopId, Product.ProductStatus status, ScrollPosition position, Limit limit);
     Page<Product> findByCategoryAndStatusOrderByCreatedAtDesc(ProductCategory category, Product.ProductStatus status, Pageable pageable);
+    Page<Product> findByStatusOrderByCreatedAtDesc(Product.ProductStatus status, Pageable pageable);
     Page<Product> findByIsFeaturedTrueAndStatusOrderByCreatedAtDesc(Product.ProductStatus status, Pageable pageable);
     Optional<Product> findByIdAndStatus(Long id, Product.ProductStatus status);
     Optional<Product> findBySlug(String slug);
 
+    // 상세 조회용 - 상점, 카테고리, 이미지를 한 번에 로딩
+    @EntityGraph(attributePaths = {"shop", "category", "images"})
+    @Query("SELECT p FROM Product p WHERE p.id = :id AND p.status = :status")
+    Optional<Product> findDetailByIdAndStatus(@Param("id") Long id, @Param("status") Product.ProductStatus status);
+    Slice<Product> findByStatusAndIdGreaterThanOrderByIdAsc(Product.ProductStatus status, Long id, Pageable pageable);
+
     @Query("SELECT p FROM Product p WHERE p.shop.id = :shopId AND p.status = :status AND " +
             "(p.name LIKE %:keyword% OR p.description LIKE %:keyword% OR p.shortDescription LIKE %:keyword%) " +
             "ORDER BY p.createdAt DESC")
@@ -43,4 +60,91 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     long countByShopAndStatus(Shop shop, Product.ProductStatus status);
 
+    // 목록 화면용 - ProductSummary에 필요한 컬럼만 조회 (description, metaDescription 등 큰 컬럼 제외)
+    List<ProductSummaryView> findSummaryByIdIn(Collection<Long> ids);
+    Page<ProductSummaryView> findSummaryByShopIdAndStatusOrderByCreatedAtDesc(Long shopId, Product.ProductStatus status, Pageable pageable);
+    Window<ProductSummaryView> findSummaryByShopIdAndStatusOrderByCreatedAtDescIdDesc(Long shopId, Product.ProductStatus status, ScrollPosition position, Limit limit);
+    Page<ProductSummaryView> findSummaryByStatusOrderByCreatedAtDesc(Product.ProductStatus status, Pageable pageable);
+    Page<ProductSummaryView> findSummaryByIsFeaturedTrueAndStatusOrderByCreatedAtDesc(Product.ProductStatus status, Pageable pageable);
+
+    @Query(value = "SELECT p.id AS id, p.name AS name, p.shortDescription AS shortDescription, p.price AS price, " +
+            "p.salePrice AS salePrice, p.isFeatured AS isFeatured, p.ratingAverage AS ratingAverage, " +
+            "p.ratingCount AS ratingCount, p.createdAt AS createdAt FROM Product p WHERE p.status = :status AND " +
+            "(p.name LIKE %:keyword% OR p.description LIKE %:keyword% OR p.shortDescription LIKE %:keyword%) " +
+            "ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.status = :status AND " +
+                    "(p.name LIKE %:keyword% OR p.description LIKE %:keyword% OR p.shortDescription LIKE %:keyword%)")
+    Page<ProductSummaryView> searchSummaryByKeyword(@Param("status") Product.ProductStatus status,
+                                                    @Param("keyword") String keyword, Pageable pageable);
+
+    @Query("SELECT p.shop.id AS shopId, COUNT(p) AS count FROM Product p " +
+            "WHERE p.shop.id IN :shopIds AND p.status = :status GROUP BY p.shop.id")
+    List<ShopProductCount> countByShopIdsAndStatus(@Param("shopIds") Collection<Long> shopIds,
+                                                   @Param("status") Product.ProductStatus status);
+
+    /**
+     * 리뷰 평점 하나를 집계에 더하고(added) 뺀다(removed). 0이면 해당 쪽은 없음 - 작성은 (r, 0), 수정은 (새 평점, 이전 평점), 삭제는 (0, r).
+     * 행을 잠근 채 현재 값에 증감하는 UPDATE 한 문장이라 동시에 리뷰가 써져도 합계/개수/분포가 틀어지지 않는다.
+     * 평균은 증감 전 값으로 계산하도록 맨 앞에 둔다 (MariaDB는 SET을 왼쪽부터 적용하며 앞에서 바꾼 값을 읽는다).
+     */
+    @Modifying
+    @Query("UPDATE Product p SET " +
+            "p.ratingAverage = CASE WHEN p.ratingCount + SIGN(:added) - SIGN(:removed) > 0 " +
+            "THEN CAST(p.ratingSum + :added - :removed AS BigDecimal) / (p.ratingCount + SIGN(:added) - SIGN(:removed)) ELSE 0 END, " +
+            "p.ratingSum = p.ratingSum + :added - :removed, " +
+            "p.ratingCount = p.ratingCount + SIGN(:added) - SIGN(:removed), " +
+            "p.rating1Count = p.rating1Count + CASE WHEN :added = 1 THEN 1 ELSE 0 END - CASE WHEN :removed = 1 THEN 1 ELSE 0 END, " +
+            "p.rating2Count = p.rating2Count + CASE WHEN :added = 2 THEN 1 ELSE 0 END - CASE WHEN :removed = 2 THEN 1 ELSE 0 END, " +
+            "p.rating3Count = p.rating3Count + CASE WHEN :added = 3 THEN 1 ELSE 0 END - CASE WHEN :removed = 3 THEN 1 ELSE 0 END, " +
+            "p.rating4Count = p.rating4Count + CASE WHEN :added = 4 THEN 1 ELSE 0 END - CASE WHEN :removed = 4 THEN 1 ELSE 0 END, " +
+            "p.rating5Count = p.rating5Count + CASE WHEN :added = 5 THEN 1 ELSE 0 END - CASE WHEN :removed = 5 THEN 1 ELSE 0 END " +
+            "WHERE p.id = :productId")
+    int applyRatingChange(@Param("productId") Long productId, @Param("added") int added, @Param("removed") int removed);
+
+    // 활성 리뷰로 평점 집계를 다시 계산 (재계산 작업용). 이어서 읽는 상품이 갱신 전 값이 되지 않도록 영속성 컨텍스트를 비운다
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET " +
+            "p.ratingAverage = COALESCE((SELECT AVG(r.rating) FROM Review r WHERE r.product = p AND r.isActive = true), 0), " +
+            "p.ratingSum = COALESCE((SELECT SUM(r.rating) FROM Review r WHERE r.product = p AND r.isActive = true), 0), " +
+            "p.ratingCount = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.isActive = true), " +
+            "p.rating1Count = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.isActive = true AND r.rating = 1), " +
+            "p.rating2Count = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.isActive = true AND r.rating = 2), " +
+            "p.rating3Count = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.isActive = true AND r.rating = 3), " +
+            "p.rating4Count = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.isActive = true AND r.rating = 4), " +
+            "p.rating5Count = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.isActive = true AND r.rating = 5) " +
+            "WHERE p.id IN :productIds")
+    int rebuildRatings(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT p.id AS id, p.ratingAverage AS ratingAverage, p.ratingCount AS ratingCount FROM Product p WHERE p.id = :id")
+    Optional<RatingSummary> findRatingById(@Param("id") Long id);
+
+    @Query("SELECT p.id AS id, p.ratingAverage AS ratingAverage, p.ratingCount AS ratingCount FROM Product p WHERE p.id IN :ids")
+    List<RatingSummary> findRatingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id > :id ORDER BY p.id ASC")
+    Slice<Long> findIdsByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    interface RatingSummary {
+        Long getId();
+        BigDecimal getRatingAverage();
+        Integer getRatingCount();
+    }
+
+    interface ShopProductCount {
+        Long getShopId();
+        Long getCount();
+    }
+
+    interface ProductSummaryView {
+        Long getId();
+        String getName();
+        String getShortDescription();
+        BigDecimal getPrice();
+        BigDecimal getSalePrice();
+        Boolean getIsFeatured();
+        BigDecimal getRatingAverage();
+        Integer getRatingCount();
+        LocalDateTime getCreatedAt();
+    }
+
 }
@@ -2,14 +2,22 @@ package com.berryweb.shop.repository;
 
 import com.berryweb.shop.entity.Product;
 import com.berryweb.shop.entity.Review;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,13 +25,35 @@ import java.util.Optional;
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     Page<Review> findByProductAndIsActiveTrueOrderByCreatedAtDesc(Product product, Pageable pageable);
+    Window<Review> findByProductAndIsActiveTrueOrderByCreatedAtDescIdDesc(Product product, ScrollPosition position, Limit limit);
     Page<Review> findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(Long userId, Pageable pageable);
     Optional<Review> findByIdAndIsActiveTrue(Long id);
+
+    // 평점 집계를 바꾸는 수정/삭제용 - 같은 리뷰를 동시에 고쳐도 이전 평점을 한 번만 빼도록 행을 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.id = :id AND r.isActive = true")
+    Optional<Review> findActiveByIdForUpdate(@Param("id") Long id);
+
     List<Review> findByProductAndRatingAndIsActiveTrueOrderByCreatedAtDesc(Product product, Integer rating);
 
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.product = :product AND r.isActive = true")
     Optional<BigDecimal> findAverageRatingByProduct(@Param("product") Product product);
 
+    // 아직 반영하지 않은 도움됨 증감을 더한다. 증감이 같은 리뷰끼리 묶어 부르며, 0 아래로는 내려가지 않는다
+    @Modifying
+    @Query("UPDATE Review r SET r.helpfulCount = " +
+            "CASE WHEN r.helpfulCount + :delta < 0 THEN 0 ELSE r.helpfulCount + :delta END WHERE r.id IN :reviewIds")
+    int addHelpful(@Param("reviewIds") Collection<Long> reviewIds, @Param("delta") int delta);
+
+    // 보정 작업용 - 어긋난 리뷰만 다시 세고 그 수를 반환
+    @Modifying
+    @Query("UPDATE Review r SET r.helpfulCount = (SELECT COUNT(h) FROM ReviewHelpful h WHERE h.review = r) " +
+            "WHERE r.id IN :reviewIds AND r.helpfulCount <> (SELECT COUNT(h) FROM ReviewHelpful h WHERE h.review = r)")
+    int recountDriftedHelpful(@Param("reviewIds") Collection<Long> reviewIds);
+
+    @Query("SELECT r.id FROM Review r WHERE r.id > :id ORDER BY r.id ASC")
+    Slice<Long> findIdsByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
     long countByProductAndIsActiveTrue(Product product);
     long countByProductAndRatingAndIsActiveTrue(Product product, Integer rating);
     boolean existsByProductAndUserIdAndIsActiveTrue(Product product, Long userId);
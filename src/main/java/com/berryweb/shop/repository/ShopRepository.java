@@ -1,11 +1,20 @@
 package com.berryweb.shop.repository;
 
+import com.berryweb.shop.entity.Product;
 import com.berryweb.shop.entity.Shop;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,8 +22,35 @@ import java.util.Optional;
 public interface ShopRepository extends JpaRepository<Shop, Long> {
 
     Page<Shop> findByIsActiveTrueOrderByCreatedAtDesc(Pageable pageable);
+    Window<Shop> findByIsActiveTrueOrderByCreatedAtDescIdDesc(ScrollPosition position, Limit limit);
     List<Shop> findByOwnerUserIdAndIsActiveTrue(Long ownerUserId);
     Optional<Shop> findByIdAndIsActiveTrue(Long id);
     Page<Shop> findByNameContainingAndIsActiveTrueOrderByCreatedAtDesc(String name, Pageable pageable);
+    Slice<Shop> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // 이름 검색어는 대소문자를 무시한다. 검색어가 null이면 모든 활성 상점 (count 쿼리 없음)
+    @Query("SELECT s FROM Shop s WHERE s.isActive = true " +
+            "AND (:keyword IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "ORDER BY s.createdAt DESC, s.id DESC")
+    Slice<Shop> findActiveByNameContainingIgnoreCase(@Param("keyword") String keyword, Pageable pageable);
+
+    // 판매중 상품 수 증감 - 읽은 값을 다시 쓰지 않고 한 문장으로 더하므로 동시 변경에도 누락이 없다
+    @Modifying
+    @Query("UPDATE Shop s SET s.activeProductCount = s.activeProductCount + :delta WHERE s.id = :shopId")
+    int addActiveProductCount(@Param("shopId") Long shopId, @Param("delta") long delta);
+
+    // 실제 상품 수로 다시 계산 (보정 작업용)
+    @Modifying
+    @Query("UPDATE Shop s SET s.activeProductCount = " +
+            "(SELECT COUNT(p) FROM Product p WHERE p.shop = s AND p.status = :status) WHERE s.id IN :shopIds")
+    int recountActiveProducts(@Param("shopIds") Collection<Long> shopIds, @Param("status") Product.ProductStatus status);
+
+    @Query("SELECT s.id AS id, s.activeProductCount AS activeProductCount FROM Shop s WHERE s.id > :id ORDER BY s.id ASC")
+    Slice<ActiveProductCount> findActiveProductCountsByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    interface ActiveProductCount {
+        Long getId();
+        Long getActiveProductCount();
+    }
 
 }
@@ -0,0 +1,186 @@
+package com.berryweb.shop.search;
+
+import org.springframework.util.StringUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * 주간 영업시간을 15분 단위 슬롯 비트맵(7일 x 96칸 = 672비트, long 11개)으로 미리 계산한 값.
+ * <p>
+ * 형식: 항목을 쉼표, 세미콜론 또는 줄바꿈으로 구분하고, 각 항목은 "요일 시작-종료 [시작-종료 ...]" 이다.
+ * <ul>
+ *     <li>요일: MON~SUN 또는 월~일, 범위(MON-FRI, 월-금), 매일(DAILY, 매일)</li>
+ *     <li>시간: HH:mm-HH:mm, 15분 단위. 종료는 24:00까지 쓸 수 있고, 종료가 시작보다 이르면 다음 날 새벽까지 영업</li>
+ *     <li>휴무(CLOSED, 휴무)는 해당 요일을 비워 둔다</li>
+ * </ul>
+ * 예: "MON-FRI 09:00-12:00 13:00-18:00, SAT 10:00-14:00, SUN 휴무", "매일 18:00-02:00"
+ */
+public final class BusinessHours {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+
+    private static final Pattern ENTRY = Pattern.compile("(\\S+)\\s+(.+)");
+    private static final Pattern RANGE = Pattern.compile("(\\d{1,2}):(\\d{2})-(\\d{1,2}):(\\d{2})");
+    private static final Map<String, DayOfWeek> DAYS = Map.ofEntries(
+            Map.entry("MON", DayOfWeek.MONDAY), Map.entry("월", DayOfWeek.MONDAY),
+            Map.entry("TUE", DayOfWeek.TUESDAY), Map.entry("화", DayOfWeek.TUESDAY),
+            Map.entry("WED", DayOfWeek.WEDNESDAY), Map.entry("수", DayOfWeek.WEDNESDAY),
+            Map.entry("THU", DayOfWeek.THURSDAY), Map.entry("목", DayOfWeek.THURSDAY),
+            Map.entry("FRI", DayOfWeek.FRIDAY), Map.entry("금", DayOfWeek.FRIDAY),
+            Map.entry("SAT", DayOfWeek.SATURDAY), Map.entry("토", DayOfWeek.SATURDAY),
+            Map.entry("SUN", DayOfWeek.SUNDAY), Map.entry("일", DayOfWeek.SUNDAY));
+
+    private final long[] slots;
+
+    private BusinessHours(long[] slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * 형식이 맞지 않으면 IllegalArgumentException (메시지는 사용자에게 그대로 보여줄 수 있는 문장).
+     */
+    public static BusinessHours parse(String text) {
+        if (!StringUtils.hasText(text)) {
+            throw new IllegalArgumentException("영업시간이 비어 있습니다.");
+        }
+
+        long[] slots = new long[(SLOTS_PER_WEEK + Long.SIZE - 1) / Long.SIZE];
+        for (String rawEntry : text.split("[,;\\n]")) {
+            String entry = rawEntry.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+
+            Matcher matcher = ENTRY.matcher(entry);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("영업시간 항목은 '요일 시작-종료' 형식이어야 합니다: " + entry);
+            }
+            DayOfWeek[] days = parseDays(matcher.group(1));
+            String ranges = matcher.group(2).trim();
+            if (ranges.equalsIgnoreCase("CLOSED") || ranges.equals("휴무")) {
+                continue;
+            }
+
+            for (String range : ranges.split("\\s+")) {
+                int[] minutes = parseRange(range);
+                for (DayOfWeek day : days) {
+                    fill(slots, day, minutes[0], minutes[1]);
+                }
+            }
+        }
+        return new BusinessHours(slots);
+    }
+
+    /**
+     * 형식이 맞지 않거나 비어 있으면 null. 형식 도입 전에 저장된 자유 입력 값을 인덱싱할 때 쓴다.
+     */
+    public static BusinessHours parseOrNull(String text) {
+        if (!StringUtils.hasText(text)) {
+            return null;
+        }
+        try {
+            return parse(text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public static int slotOf(DayOfWeek day, LocalTime time) {
+        return (day.getValue() - 1) * SLOTS_PER_DAY + (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    public boolean isOpen(int slot) {
+        return (slots[slot / Long.SIZE] & (1L << (slot % Long.SIZE))) != 0;
+    }
+
+    public boolean isOpenAt(DayOfWeek day, LocalTime time) {
+        return isOpen(slotOf(day, time));
+    }
+
+    public boolean isEmpty() {
+        return Arrays.stream(slots).allMatch(word -> word == 0);
+    }
+
+    public IntStream openSlots() {
+        return IntStream.range(0, SLOTS_PER_WEEK).filter(this::isOpen);
+    }
+
+    private static DayOfWeek[] parseDays(String token) {
+        String days = token.toUpperCase(Locale.ROOT);
+        if (days.equals("DAILY") || days.equals("매일")) {
+            return DayOfWeek.values();
+        }
+
+        String[] bounds = days.split("-", -1);
+        if (bounds.length > 2) {
+            throw new IllegalArgumentException("알 수 없는 요일입니다: " + token);
+        }
+        DayOfWeek from = dayOf(bounds[0], token);
+        DayOfWeek to = bounds.length == 2 ? dayOf(bounds[1], token) : from;
+
+        // FRI-MON처럼 주말을 넘어가는 범위도 허용
+        int length = Math.floorMod(to.getValue() - from.getValue(), 7) + 1;
+        DayOfWeek[] result = new DayOfWeek[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = from.plus(i);
+        }
+        return result;
+    }
+
+    private static DayOfWeek dayOf(String name, String token) {
+        DayOfWeek day = DAYS.get(name);
+        if (day == null) {
+            throw new IllegalArgumentException("알 수 없는 요일입니다: " + token);
+        }
+        return day;
+    }
+
+    private static int[] parseRange(String range) {
+        Matcher matcher = RANGE.matcher(range);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("영업시간은 HH:mm-HH:mm 형식이어야 합니다: " + range);
+        }
+
+        int start = minutesOf(matcher.group(1), matcher.group(2), false, range);
+        int end = minutesOf(matcher.group(3), matcher.group(4), true, range);
+        if (start == end) {
+            throw new IllegalArgumentException("시작과 종료 시간이 같습니다: " + range);
+        }
+        return new int[]{start, end};
+    }
+
+    private static int minutesOf(String hour, String minute, boolean allowEndOfDay, String range) {
+        int h = Integer.parseInt(hour);
+        int m = Integer.parseInt(minute);
+        int minutes = h * 60 + m;
+        boolean valid = m < 60 && m % SLOT_MINUTES == 0
+                && (minutes < 24 * 60 || (allowEndOfDay && minutes == 24 * 60));
+        if (!valid) {
+            throw new IllegalArgumentException("시간은 00:00~24:00 사이의 " + SLOT_MINUTES + "분 단위여야 합니다: " + range);
+        }
+        return minutes;
+    }
+
+    // 종료가 시작보다 이르면 자정을 넘겨 다음 날(일요일이면 월요일)까지 채운다
+    private static void fill(long[] slots, DayOfWeek day, int startMinutes, int endMinutes) {
+        int start = (day.getValue() - 1) * SLOTS_PER_DAY + startMinutes / SLOT_MINUTES;
+        int length = Math.floorMod(endMinutes - startMinutes, 24 * 60) / SLOT_MINUTES;
+        if (endMinutes == 24 * 60 && startMinutes == 0) {
+            length = SLOTS_PER_DAY;
+        }
+        for (int i = 0; i < length; i++) {
+            int slot = (start + i) % SLOTS_PER_WEEK;
+            slots[slot / Long.SIZE] |= 1L << (slot % Long.SIZE);
+        }
+    }
+
+}
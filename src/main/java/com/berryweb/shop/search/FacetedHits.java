@@ -0,0 +1,18 @@
+package com.berryweb.shop.search;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+public class FacetedHits extends SearchHits {
+
+    private final Map<String, Map<String, Long>> facetCounts;
+
+    public FacetedHits(long total, List<Long> ids, Map<String, Map<String, Long>> facetCounts) {
+        super(total, ids);
+        this.facetCounts = facetCounts;
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.berryweb.shop.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 한글 복합명사 부분 검색을 위한 n-gram 토크나이저.
+ * 글자/숫자 단위 단어마다 1~3-gram을 색인하고, 질의는 단어 길이에 맞는 가장 긴 gram으로 바꿔
+ * LIKE '%키워드%'와 같은 부분 일치 후보를 게시 목록 교집합으로 고른다.
+ * 3자를 넘는 단어나 여러 단어 질의는 gram 위치를 보지 않으므로, 후보를 {@link #matcher}로 원문과 다시 대조한다.
+ * 선택적으로 한글 단어의 초성 문자열(예: 운동화 → ㅇㄷㅎ)도 별도 키로 색인한다.
+ */
+public class HangulNGramTokenizer {
+
+    static final int MAX_GRAM = 3;
+    static final char CHOSUNG_PREFIX = '^';
+    static final char FIELD_SEPARATOR = '\0';
+
+    private static final char HANGUL_BASE = '가';
+    private static final char HANGUL_LAST = '힣';
+    private static final int CHOSUNG_STRIDE = 21 * 28;
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private final boolean chosungEnabled;
+
+    public HangulNGramTokenizer(boolean chosungEnabled) {
+        this.chosungEnabled = chosungEnabled;
+    }
+
+    /**
+     * 색인용 토큰. 각 단어의 1~3-gram 전체(중복 제거)를 반환한다.
+     */
+    public String[] tokenize(String... fields) {
+        Set<String> terms = new HashSet<>();
+        for (String field : fields) {
+            for (String word : words(field)) {
+                addGrams(word, "", terms);
+                if (chosungEnabled && containsHangul(word)) {
+                    addGrams(toChosung(word), String.valueOf(CHOSUNG_PREFIX), terms);
+                }
+            }
+        }
+        return terms.toArray(String[]::new);
+    }
+
+    /**
+     * 검색용 토큰. 3자 이하 단어는 그대로, 더 긴 단어는 연속된 3-gram으로 바꾼다.
+     * 초성으로만 이루어진 단어는 초성 키로 검색한다.
+     */
+    public String[] queryTerms(String query) {
+        Set<String> terms = new HashSet<>();
+        for (String word : words(query)) {
+            String prefix = chosungEnabled && isChosungOnly(word) ? String.valueOf(CHOSUNG_PREFIX) : "";
+            if (word.length() <= MAX_GRAM) {
+                terms.add(prefix + word);
+                continue;
+            }
+            for (int i = 0; i + MAX_GRAM <= word.length(); i++) {
+                terms.add(prefix + word.substring(i, i + MAX_GRAM));
+            }
+        }
+        return terms.toArray(String[]::new);
+    }
+
+    /**
+     * 대조용 원문. 필드마다 NFC 정규화/소문자화한 뒤 구분자로 이어, 한 질의가 두 필드에 걸쳐 일치하지 않게 한다.
+     * 색인 토큰은 이 값을 {@link #tokenize}한 결과와 같다.
+     */
+    public String normalize(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (!text.isEmpty()) {
+                text.append(FIELD_SEPARATOR);
+            }
+            if (field != null) {
+                text.append(normalizeField(field));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * 후보의 원문({@link #normalize} 결과)이 질의 전체를 부분 문자열로 포함하는지 본다.
+     * 3자 이하 한 단어 질의는 게시 목록만으로 정확하므로 null을 반환해 대조를 건너뛴다.
+     */
+    public Predicate<String> matcher(String query) {
+        String phrase = normalizeField(query.strip());
+        List<String> words = words(phrase);
+        if (words.size() == 1 && words.get(0).equals(phrase) && phrase.length() <= MAX_GRAM) {
+            return null;
+        }
+        if (chosungEnabled && !words.isEmpty() && words.stream().allMatch(HangulNGramTokenizer::isChosungOnly)) {
+            return text -> toChosung(text).contains(phrase);
+        }
+        return text -> text.contains(phrase);
+    }
+
+    static String toChosung(String word) {
+        char[] chars = word.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (isHangulSyllable(chars[i])) {
+                chars[i] = CHOSUNG[(chars[i] - HANGUL_BASE) / CHOSUNG_STRIDE];
+            }
+        }
+        return new String(chars);
+    }
+
+    private static List<String> words(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        if (!Normalizer.isNormalized(text, Normalizer.Form.NFC)) {
+            text = Normalizer.normalize(text, Normalizer.Form.NFC);
+        }
+
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static String normalizeField(String field) {
+        if (!Normalizer.isNormalized(field, Normalizer.Form.NFC)) {
+            field = Normalizer.normalize(field, Normalizer.Form.NFC);
+        }
+        return field.toLowerCase(Locale.ROOT);
+    }
+
+    private static void addGrams(String word, String prefix, Set<String> terms) {
+        for (int i = 0; i < word.length(); i++) {
+            int maxEnd = Math.min(word.length(), i + MAX_GRAM);
+            for (int end = i + 1; end <= maxEnd; end++) {
+                terms.add(prefix.isEmpty() ? word.substring(i, end) : prefix + word.substring(i, end));
+            }
+        }
+    }
+
+    private static boolean containsHangul(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (isHangulSyllable(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isChosungOnly(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'ㄱ' || c > 'ㅎ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHangulSyllable(char c) {
+        return c >= HANGUL_BASE && c <= HANGUL_LAST;
+    }
+
+}
@@ -0,0 +1,331 @@
+package com.berryweb.shop.search;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 엔티티 id를 순번(ordinal)으로 바꿔 토큰별 게시 목록과 패싯 값별 집합을 비트맵으로 유지하는 역색인.
+ * 순번은 id 순으로 적재된 뒤 신규 항목에 증가하며 부여되므로, 순번 역순이 곧 최신순이다.
+ * 항목마다 토큰 배열 대신 정규화한 원문만 보관한다. 원문은 후보 대조에 쓰고, 교체/삭제 시에는 다시 토큰화해 게시 목록을 지운다.
+ */
+class InvertedIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Function<String, String[]> tokenizer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, RoaringBitmap> postings = new HashMap<>();
+    private final Map<String, Map<String, RoaringBitmap>> facets = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] textByOrdinal = new String[INITIAL_CAPACITY];
+    private String[][] facetsByOrdinal = new String[INITIAL_CAPACITY][];
+    private int nextOrdinal;
+
+    InvertedIndex(Function<String, String[]> tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            facets.clear();
+            ordinals.clear();
+            live.clear();
+            ids = new long[INITIAL_CAPACITY];
+            textByOrdinal = new String[INITIAL_CAPACITY];
+            facetsByOrdinal = new String[INITIAL_CAPACITY][];
+            nextOrdinal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void put(Long id, String text) {
+        put(id, text, Map.of());
+    }
+
+    /**
+     * 항목의 원문과 패싯 값을 교체한다. text가 null이면 검색 대상에서 제외한다.
+     */
+    void put(Long id, String text, Map<String, String> facetValues) {
+        String[] terms = text != null ? tokenizer.apply(text) : null;
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                remove(ordinal);
+            } else if (text != null) {
+                ordinal = assignOrdinal(id);
+            }
+
+            if (ordinal == null || text == null) {
+                return;
+            }
+
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new RoaringBitmap()).add(ordinal);
+            }
+            textByOrdinal[ordinal] = text;
+
+            String[] pairs = new String[facetValues.size() * 2];
+            int i = 0;
+            for (Map.Entry<String, String> facet : facetValues.entrySet()) {
+                facets.computeIfAbsent(facet.getKey(), key -> new HashMap<>())
+                        .computeIfAbsent(facet.getValue(), key -> new RoaringBitmap())
+                        .add(ordinal);
+                pairs[i++] = facet.getKey();
+                pairs[i++] = facet.getValue();
+            }
+            facetsByOrdinal[ordinal] = pairs;
+            live.add(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 색인된 항목의 패싯 값 하나만 바꾼다. 토큰은 그대로 두며, 없는 항목이면 무시한다.
+     */
+    void putFacet(Long id, String facet, String value) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null || !live.contains(ordinal)) {
+                return;
+            }
+
+            String[] pairs = facetsByOrdinal[ordinal];
+            int position = 0;
+            while (position < pairs.length && !pairs[position].equals(facet)) {
+                position += 2;
+            }
+            if (position < pairs.length) {
+                if (pairs[position + 1].equals(value)) {
+                    return;
+                }
+                removeFacetValue(ordinal, facet, pairs[position + 1]);
+            } else {
+                pairs = Arrays.copyOf(pairs, pairs.length + 2);
+                pairs[position] = facet;
+                facetsByOrdinal[ordinal] = pairs;
+            }
+
+            pairs[position + 1] = value;
+            facets.computeIfAbsent(facet, key -> new HashMap<>())
+                    .computeIfAbsent(value, key -> new RoaringBitmap())
+                    .add(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 토큰을 포함하고 원문이 matcher를 만족하는 항목 id를 최신순으로 반환한다. matcher가 null이면 대조하지 않는다.
+     */
+    SearchHits search(String[] terms, Predicate<String> matcher, long offset, int limit) {
+        if (terms.length == 0) {
+            return SearchHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = verify(matchTerms(terms), matcher);
+            if (matches == null) {
+                return SearchHits.EMPTY;
+            }
+            return new SearchHits(matches.getLongCardinality(), page(matches, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 토큰(없으면 전체)과 패싯 필터를 함께 적용한 항목 id를 최신순으로 반환한다. 패싯 건수는 세지 않는다.
+     */
+    SearchHits search(String[] terms, Predicate<String> matcher, Map<String, Set<String>> filters,
+                      long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = terms.length == 0 ? live : matchTerms(terms);
+            if (base == null) {
+                return SearchHits.EMPTY;
+            }
+            // 필터로 후보를 먼저 줄인 뒤 원문을 대조한다
+            RoaringBitmap matches = verify(intersect(base, filterBitmaps(filters), null), matcher);
+            return new SearchHits(matches.getLongCardinality(), page(matches, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 토큰(없으면 전체)과 패싯 필터를 함께 적용하고 패싯별 값 건수를 계산한다.
+     * 같은 패싯 안의 값은 OR, 패싯 사이는 AND이며, 각 패싯의 건수는 자기 자신의 필터를 뺀 조건으로 센다.
+     */
+    FacetedHits searchFaceted(String[] terms, Predicate<String> matcher, Map<String, Set<String>> filters,
+                              long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = verify(terms.length == 0 ? live : matchTerms(terms), matcher);
+            if (base == null) {
+                return new FacetedHits(0L, List.of(), Map.of());
+            }
+
+            Map<String, RoaringBitmap> filterBitmaps = filterBitmaps(filters);
+            RoaringBitmap matches = intersect(base, filterBitmaps, null);
+
+            Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+            for (Map.Entry<String, Map<String, RoaringBitmap>> facet : facets.entrySet()) {
+                RoaringBitmap facetBase = filterBitmaps.containsKey(facet.getKey())
+                        ? intersect(base, filterBitmaps, facet.getKey())
+                        : matches;
+
+                Map<String, Long> valueCounts = new HashMap<>();
+                for (Map.Entry<String, RoaringBitmap> value : facet.getValue().entrySet()) {
+                    long count = RoaringBitmap.andCardinality(facetBase, value.getValue());
+                    if (count > 0) {
+                        valueCounts.put(value.getKey(), count);
+                    }
+                }
+                counts.put(facet.getKey(), valueCounts);
+            }
+
+            return new FacetedHits(matches.getLongCardinality(), page(matches, offset, limit), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap matchTerms(String[] terms) {
+        RoaringBitmap matches = null;
+        for (String term : terms) {
+            RoaringBitmap posting = postings.get(term);
+            if (posting == null) {
+                return null;
+            }
+            matches = matches == null ? posting.clone() : RoaringBitmap.and(matches, posting);
+        }
+        return matches;
+    }
+
+    private RoaringBitmap verify(RoaringBitmap candidates, Predicate<String> matcher) {
+        if (candidates == null || matcher == null) {
+            return candidates;
+        }
+        RoaringBitmap verified = new RoaringBitmap();
+        IntIterator iterator = candidates.getIntIterator();
+        while (iterator.hasNext()) {
+            int ordinal = iterator.next();
+            if (matcher.test(textByOrdinal[ordinal])) {
+                verified.add(ordinal);
+            }
+        }
+        return verified;
+    }
+
+    private Map<String, RoaringBitmap> filterBitmaps(Map<String, Set<String>> filters) {
+        Map<String, RoaringBitmap> filterBitmaps = new HashMap<>();
+        for (Map.Entry<String, Set<String>> filter : filters.entrySet()) {
+            Map<String, RoaringBitmap> values = facets.getOrDefault(filter.getKey(), Map.of());
+            RoaringBitmap union = new RoaringBitmap();
+            for (String value : filter.getValue()) {
+                RoaringBitmap bitmap = values.get(value);
+                if (bitmap != null) {
+                    union.or(bitmap);
+                }
+            }
+            filterBitmaps.put(filter.getKey(), union);
+        }
+        return filterBitmaps;
+    }
+
+    private RoaringBitmap intersect(RoaringBitmap base, Map<String, RoaringBitmap> filterBitmaps, String excludedFacet) {
+        RoaringBitmap result = base;
+        for (Map.Entry<String, RoaringBitmap> filter : filterBitmaps.entrySet()) {
+            if (!filter.getKey().equals(excludedFacet)) {
+                result = RoaringBitmap.and(result, filter.getValue());
+            }
+        }
+        return result;
+    }
+
+    private List<Long> page(RoaringBitmap matches, long offset, int limit) {
+        List<Long> page = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+        IntIterator iterator = matches.getReverseIntIterator();
+        long skipped = 0;
+        while (iterator.hasNext() && page.size() < limit) {
+            int ordinal = iterator.next();
+            if (skipped++ < offset) {
+                continue;
+            }
+            page.add(ids[ordinal]);
+        }
+        return page;
+    }
+
+    private int assignOrdinal(Long id) {
+        int ordinal = nextOrdinal++;
+        if (ordinal == ids.length) {
+            ids = Arrays.copyOf(ids, ordinal * 2);
+            textByOrdinal = Arrays.copyOf(textByOrdinal, ordinal * 2);
+            facetsByOrdinal = Arrays.copyOf(facetsByOrdinal, ordinal * 2);
+        }
+        ids[ordinal] = id;
+        ordinals.put(id, ordinal);
+        return ordinal;
+    }
+
+    private void remove(int ordinal) {
+        live.remove(ordinal);
+
+        String text = textByOrdinal[ordinal];
+        if (text != null) {
+            for (String term : tokenizer.apply(text)) {
+                RoaringBitmap posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(ordinal);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            textByOrdinal[ordinal] = null;
+        }
+
+        String[] pairs = facetsByOrdinal[ordinal];
+        if (pairs != null) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                removeFacetValue(ordinal, pairs[i], pairs[i + 1]);
+            }
+            facetsByOrdinal[ordinal] = null;
+        }
+    }
+
+    private void removeFacetValue(int ordinal, String facet, String value) {
+        Map<String, RoaringBitmap> values = facets.get(facet);
+        RoaringBitmap bitmap = values != null ? values.get(value) : null;
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                values.remove(value);
+            }
+        }
+    }
+
+}
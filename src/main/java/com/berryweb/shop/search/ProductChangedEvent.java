@@ -0,0 +1,12 @@
+package com.berryweb.shop.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+
+    private final ProductDocument document;
+
+}
@@ -0,0 +1,283 @@
+package com.berryweb.shop.search;
+
+import com.berryweb.shop.dto.ProductDto;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상점별 ACTIVE 상품의 정렬/필터용 컬럼 저장소.
+ * 가격(할인가 우선, 1/100 단위 long), 평점(x100 int), 등록일(epoch 마이크로초), id를 기본형 배열로 보관하고
+ * 정렬 키별 행 순서를 처음 조회할 때 만들어 둔다. DB는 선택된 페이지의 id만 조회하면 된다.
+ */
+@Component
+public class ProductColumnStore implements ProductIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ShopColumns> columnsByShop = new HashMap<>();
+    private final Map<Long, Long> shopIdByProduct = new HashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            columnsByShop.clear();
+            shopIdByProduct.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ProductDocument document) {
+        lock.writeLock().lock();
+        try {
+            Long previousShopId = shopIdByProduct.remove(document.getId());
+            if (previousShopId != null) {
+                ShopColumns previous = columnsByShop.get(previousShopId);
+                previous.remove(document.getId());
+                if (previous.size == 0) {
+                    columnsByShop.remove(previousShopId);
+                }
+            }
+
+            if (document.isActive()) {
+                columnsByShop.computeIfAbsent(document.getShopId(), shopId -> new ShopColumns())
+                        .add(document.getId(), toMinorUnits(document.getEffectivePrice()),
+                                toScaledRating(document.getRatingAverage()), toEpochMicros(document.getCreatedAt()));
+                shopIdByProduct.put(document.getId(), document.getShopId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 평점 열만 바꾸고 평점 정렬 순서만 다시 만들게 한다
+    @Override
+    public void updateRating(Long productId, BigDecimal ratingAverage, Integer ratingCount) {
+        lock.writeLock().lock();
+        try {
+            Long shopId = shopIdByProduct.get(productId);
+            if (shopId != null) {
+                columnsByShop.get(shopId).updateRating(productId, toScaledRating(ratingAverage));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 조건에 맞는 상품 id를 정렬 순서대로 offset부터 limit개 반환한다.
+     * 지원하지 않는 정렬 속성이면 등록일 내림차순으로 정렬한다.
+     */
+    public SearchHits query(Long shopId, ProductDto.ListCondition condition, Sort sort, long offset, int limit) {
+        SortKey sortKey = SortKey.resolve(sort);
+        long minPrice = condition != null && condition.getMinPrice() != null ? toMinorUnits(condition.getMinPrice()) : Long.MIN_VALUE;
+        long maxPrice = condition != null && condition.getMaxPrice() != null ? toMinorUnits(condition.getMaxPrice()) : Long.MAX_VALUE;
+        int minRating = condition != null && condition.getMinRating() != null ? toScaledRating(condition.getMinRating()) : Integer.MIN_VALUE;
+
+        lock.readLock().lock();
+        try {
+            ShopColumns columns = columnsByShop.get(shopId);
+            if (columns == null) {
+                return SearchHits.EMPTY;
+            }
+
+            int[] order = columns.order(sortKey);
+            long total = 0;
+            List<Long> ids = new ArrayList<>(Math.min(limit, columns.size));
+            for (int row : order) {
+                if (columns.prices[row] < minPrice || columns.prices[row] > maxPrice || columns.ratings[row] < minRating) {
+                    continue;
+                }
+                if (total >= offset && ids.size() < limit) {
+                    ids.add(columns.ids[row]);
+                }
+                total++;
+            }
+            return new SearchHits(total, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : 0L;
+    }
+
+    static int toScaledRating(BigDecimal rating) {
+        return rating != null ? rating.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue() : 0;
+    }
+
+    // 저장 직후 등록일이 비어 있으면 가장 최신으로 취급
+    private static long toEpochMicros(LocalDateTime createdAt) {
+        if (createdAt == null) {
+            return Long.MAX_VALUE;
+        }
+        return createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + createdAt.getNano() / 1_000;
+    }
+
+    enum SortKey {
+        NEWEST(false), OLDEST(true),
+        PRICE_ASC(true), PRICE_DESC(false),
+        RATING_ASC(true), RATING_DESC(false);
+
+        private final boolean ascending;
+
+        SortKey(boolean ascending) {
+            this.ascending = ascending;
+        }
+
+        // 첫 번째로 지원되는 정렬 속성을 사용
+        static SortKey resolve(Sort sort) {
+            if (sort == null) {
+                return NEWEST;
+            }
+            for (Sort.Order order : sort) {
+                switch (order.getProperty()) {
+                    case "price", "salePrice" -> {
+                        return order.isAscending() ? PRICE_ASC : PRICE_DESC;
+                    }
+                    case "rating", "ratingAverage" -> {
+                        return order.isAscending() ? RATING_ASC : RATING_DESC;
+                    }
+                    case "createdAt", "id" -> {
+                        return order.isAscending() ? OLDEST : NEWEST;
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return NEWEST;
+        }
+
+        long value(ShopColumns columns, int row) {
+            return switch (this) {
+                case NEWEST, OLDEST -> columns.createdAts[row];
+                case PRICE_ASC, PRICE_DESC -> columns.prices[row];
+                case RATING_ASC, RATING_DESC -> columns.ratings[row];
+            };
+        }
+    }
+
+    private static final class ShopColumns {
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private long[] prices = new long[INITIAL_CAPACITY];
+        private int[] ratings = new int[INITIAL_CAPACITY];
+        private long[] createdAts = new long[INITIAL_CAPACITY];
+        private int size;
+
+        private final Map<Long, Integer> rowsById = new HashMap<>();
+        // 정렬 키별 행 순서. 변경 시 비우고 조회 시 다시 만든다
+        private final AtomicReferenceArray<int[]> orders = new AtomicReferenceArray<>(SortKey.values().length);
+
+        void add(long id, long price, int rating, long createdAt) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                ratings = Arrays.copyOf(ratings, capacity);
+                createdAts = Arrays.copyOf(createdAts, capacity);
+            }
+
+            ids[size] = id;
+            prices[size] = price;
+            ratings[size] = rating;
+            createdAts[size] = createdAt;
+            rowsById.put(id, size);
+            size++;
+            invalidateOrders();
+        }
+
+        // 마지막 행을 빈 자리로 옮겨 배열을 빽빽하게 유지
+        void remove(long id) {
+            Integer row = rowsById.remove(id);
+            if (row == null) {
+                return;
+            }
+
+            int last = size - 1;
+            if (row != last) {
+                ids[row] = ids[last];
+                prices[row] = prices[last];
+                ratings[row] = ratings[last];
+                createdAts[row] = createdAts[last];
+                rowsById.put(ids[row], row);
+            }
+            size--;
+            invalidateOrders();
+        }
+
+        void updateRating(long id, int rating) {
+            Integer row = rowsById.get(id);
+            if (row == null || ratings[row] == rating) {
+                return;
+            }
+            ratings[row] = rating;
+            orders.set(SortKey.RATING_ASC.ordinal(), null);
+            orders.set(SortKey.RATING_DESC.ordinal(), null);
+        }
+
+        // 읽기 락만 잡은 조회끼리 동시에 만들 수 있으나 결과가 같으므로 덮어써도 무방
+        int[] order(SortKey sortKey) {
+            int[] order = orders.get(sortKey.ordinal());
+            if (order != null) {
+                return order;
+            }
+
+            Integer[] rows = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                rows[i] = i;
+            }
+            Arrays.sort(rows, (a, b) -> {
+                int compared = Long.compare(sortKey.value(this, a), sortKey.value(this, b));
+                if (compared != 0) {
+                    return sortKey.ascending ? compared : -compared;
+                }
+                // 같은 값이면 최신 상품 먼저
+                return Long.compare(ids[b], ids[a]);
+            });
+
+            order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = rows[i];
+            }
+            orders.set(sortKey.ordinal(), order);
+            return order;
+        }
+
+        private void invalidateOrders() {
+            for (int i = 0; i < orders.length(); i++) {
+                orders.set(i, null);
+            }
+        }
+
+    }
+
+}
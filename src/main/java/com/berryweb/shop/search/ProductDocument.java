@@ -0,0 +1,55 @@
+package com.berryweb.shop.search;
+
+import com.berryweb.shop.entity.Product;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder(toBuilder = true)
+public class ProductDocument {
+
+    private final Long id;
+    private final Long shopId;
+    private final Long categoryId;
+    private final String name;
+    private final String description;
+    private final String shortDescription;
+    private final BigDecimal price;
+    private final BigDecimal salePrice;
+    private final boolean featured;
+    private final BigDecimal ratingAverage;
+    private final Integer ratingCount;
+    private final Product.ProductStatus status;
+    private final LocalDateTime createdAt;
+
+    public boolean isActive() {
+        return status == Product.ProductStatus.ACTIVE;
+    }
+
+    // 할인가가 있으면 할인가, 없으면 정가
+    public BigDecimal getEffectivePrice() {
+        return salePrice != null ? salePrice : price;
+    }
+
+    public static ProductDocument from(Product product) {
+        return ProductDocument.builder()
+                .id(product.getId())
+                .shopId(product.getShop().getId())
+                .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
+                .name(product.getName())
+                .description(product.getDescription())
+                .shortDescription(product.getShortDescription())
+                .price(product.getPrice())
+                .salePrice(product.getSalePrice())
+                .featured(Boolean.TRUE.equals(product.getIsFeatured()))
+                .ratingAverage(product.getRatingAverage())
+                .ratingCount(product.getRatingCount())
+                .status(product.getStatus())
+                .createdAt(product.getCreatedAt())
+                .build();
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.berryweb.shop.search;
+
+import java.math.BigDecimal;
+
+/**
+ * 상품 스냅샷을 받아 유지되는 인메모리 인덱스.
+ * 시작 시 {@link ProductIndexer}가 전체를 적재하고, 이후에는 커밋된 변경분만 전달한다.
+ */
+public interface ProductIndex {
+
+    void clear();
+
+    /**
+     * 상품을 추가하거나 갱신한다. ACTIVE가 아닌 상품은 인덱스에서 제외되어야 한다.
+     */
+    void index(ProductDocument document);
+
+    /**
+     * 평점 집계만 바뀐 상품을 반영한다. 인덱스에 없는(ACTIVE가 아닌) 상품이면 무시한다.
+     */
+    void updateRating(Long productId, BigDecimal ratingAverage, Integer ratingCount);
+
+    void markReady();
+
+}
@@ -0,0 +1,68 @@
+package com.berryweb.shop.search;
+
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductIndexer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final List<ProductIndex> indexes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        indexes.forEach(ProductIndex::clear);
+
+        // id 순으로 끊어 읽어 OFFSET 없이 전체 ACTIVE 상품을 적재
+        long lastId = 0L;
+        long count = 0L;
+        Slice<Product> slice;
+        do {
+            slice = productRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                    Product.ProductStatus.ACTIVE, lastId, PageRequest.of(0, BATCH_SIZE));
+
+            for (Product product : slice) {
+                ProductDocument document = ProductDocument.from(product);
+                indexes.forEach(index -> index.index(document));
+                lastId = product.getId();
+                count++;
+            }
+        } while (slice.hasNext());
+
+        indexes.forEach(ProductIndex::markReady);
+        log.info("Product indexes rebuilt: {} products in {} ms", count, System.currentTimeMillis() - startedAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductDocument document = event.getDocument();
+        indexes.forEach(index -> index.index(document));
+        log.debug("Product indexes updated for productId: {}", document.getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductRatingChanged(ProductRatingChangedEvent event) {
+        indexes.forEach(index -> index.updateRating(event.getProductId(), event.getRatingAverage(), event.getRatingCount()));
+        log.debug("Product index ratings updated for productId: {}", event.getProductId());
+    }
+
+}
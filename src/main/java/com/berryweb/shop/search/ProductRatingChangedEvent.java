@@ -0,0 +1,20 @@
+package com.berryweb.shop.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 리뷰 작성/수정/삭제나 재계산으로 상품의 평점 집계만 바뀌었을 때 발행한다.
+ * 인덱스는 평점 컬럼과 평점 패싯만 바꾸고 상품명/설명은 다시 토큰화하지 않는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductRatingChangedEvent {
+
+    private final Long productId;
+    private final BigDecimal ratingAverage;
+    private final Integer ratingCount;
+
+}
@@ -0,0 +1,189 @@
+package com.berryweb.shop.search;
+
+import com.berryweb.shop.dto.ProductDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * ACTIVE 상품의 이름/요약/설명에 대한 역색인과 카테고리/상점/가격대/평점/추천 패싯.
+ * 설명은 앞부분만 색인하므로, 그 뒤에만 있는 키워드는 인덱스 검색에서 찾지 못한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex implements ProductIndex {
+
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_SHOP = "shop";
+    public static final String FACET_PRICE_BAND = "priceBand";
+    public static final String FACET_RATING = "rating";
+    public static final String FACET_FEATURED = "featured";
+
+    private static final int MAX_RATING = 5;
+
+    private final InvertedIndex index = new InvertedIndex(this::tokenize);
+    private final HangulNGramTokenizer tokenizer;
+    private volatile boolean ready;
+
+    // 가격대 경계(원). 10000,30000 이면 0-10000, 10000-30000, 30000- 세 구간
+    @Value("${search.facets.price-bands:10000,30000,50000,100000}")
+    private long[] priceBandBounds;
+
+    // 설명 중 색인/대조에 쓰는 앞부분 길이(자). 상품당 원문과 게시 목록 크기의 상한이 된다
+    @Value("${search.index.max-description-length:2000}")
+    private int maxDescriptionLength;
+
+    @Override
+    public void clear() {
+        ready = false;
+        index.clear();
+    }
+
+    @Override
+    public void index(ProductDocument document) {
+        if (!document.isActive()) {
+            index.put(document.getId(), null);
+            return;
+        }
+
+        Map<String, String> facets = new HashMap<>();
+        facets.put(FACET_SHOP, String.valueOf(document.getShopId()));
+        if (document.getCategoryId() != null) {
+            facets.put(FACET_CATEGORY, String.valueOf(document.getCategoryId()));
+        }
+        if (document.getEffectivePrice() != null) {
+            facets.put(FACET_PRICE_BAND, priceBand(document.getEffectivePrice()));
+        }
+        facets.put(FACET_RATING, String.valueOf(ratingBucket(document.getRatingAverage())));
+        facets.put(FACET_FEATURED, String.valueOf(document.isFeatured()));
+
+        String text = tokenizer.normalize(document.getName(), document.getShortDescription(),
+                truncate(document.getDescription()));
+        index.put(document.getId(), text, facets);
+    }
+
+    @Override
+    public void updateRating(Long productId, BigDecimal ratingAverage, Integer ratingCount) {
+        index.putFacet(productId, FACET_RATING, String.valueOf(ratingBucket(ratingAverage)));
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 키워드와 패싯 조건으로 검색한다.
+     */
+    public SearchHits search(ProductDto.SearchCondition condition, long offset, int limit) {
+        return index.search(queryTerms(condition), matcher(condition), filters(condition), offset, limit);
+    }
+
+    /**
+     * 키워드와 패싯 조건으로 검색하고 패싯 건수를 함께 센다. 평점 패싯 건수는 "n점 이상" 누적 건수로 반환한다.
+     */
+    public FacetedHits searchFaceted(ProductDto.SearchCondition condition, long offset, int limit) {
+        FacetedHits hits = index.searchFaceted(queryTerms(condition), matcher(condition), filters(condition),
+                offset, limit);
+
+        Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>(hits.getFacetCounts());
+        facetCounts.computeIfPresent(FACET_RATING, (facet, counts) -> cumulativeRatingCounts(counts));
+        return new FacetedHits(hits.getTotal(), hits.getIds(), facetCounts);
+    }
+
+    private String[] queryTerms(ProductDto.SearchCondition condition) {
+        return StringUtils.hasText(condition.getKeyword())
+                ? tokenizer.queryTerms(condition.getKeyword())
+                : new String[0];
+    }
+
+    private String[] tokenize(String text) {
+        return tokenizer.tokenize(text);
+    }
+
+    private Predicate<String> matcher(ProductDto.SearchCondition condition) {
+        return StringUtils.hasText(condition.getKeyword()) ? tokenizer.matcher(condition.getKeyword()) : null;
+    }
+
+    private String truncate(String description) {
+        if (description == null || description.length() <= maxDescriptionLength) {
+            return description;
+        }
+        int end = maxDescriptionLength;
+        // 서로게이트 쌍 중간에서 자르지 않는다
+        if (end > 0 && Character.isHighSurrogate(description.charAt(end - 1))) {
+            end--;
+        }
+        return description.substring(0, end);
+    }
+
+    private Map<String, Set<String>> filters(ProductDto.SearchCondition condition) {
+        Map<String, Set<String>> filters = new HashMap<>();
+        if (condition.getCategoryId() != null) {
+            filters.put(FACET_CATEGORY, Set.of(String.valueOf(condition.getCategoryId())));
+        }
+        if (condition.getShopId() != null) {
+            filters.put(FACET_SHOP, Set.of(String.valueOf(condition.getShopId())));
+        }
+        if (condition.getPriceBand() != null && !condition.getPriceBand().isEmpty()) {
+            filters.put(FACET_PRICE_BAND, Set.copyOf(condition.getPriceBand()));
+        }
+        if (condition.getMinRating() != null) {
+            filters.put(FACET_RATING, IntStream.rangeClosed(condition.getMinRating(), MAX_RATING)
+                    .mapToObj(String::valueOf)
+                    .collect(Collectors.toSet()));
+        }
+        if (condition.getFeatured() != null) {
+            filters.put(FACET_FEATURED, Set.of(String.valueOf(condition.getFeatured())));
+        }
+        return filters;
+    }
+
+    private String priceBand(BigDecimal price) {
+        long won = price.longValue();
+        int band = 0;
+        while (band < priceBandBounds.length && won >= priceBandBounds[band]) {
+            band++;
+        }
+        return priceBandLabel(band);
+    }
+
+    private String priceBandLabel(int band) {
+        long lower = band == 0 ? 0 : priceBandBounds[band - 1];
+        return band < priceBandBounds.length ? lower + "-" + priceBandBounds[band] : lower + "-";
+    }
+
+    private static int ratingBucket(BigDecimal ratingAverage) {
+        if (ratingAverage == null) {
+            return 0;
+        }
+        return Math.max(0, Math.min(MAX_RATING, ratingAverage.intValue()));
+    }
+
+    private static Map<String, Long> cumulativeRatingCounts(Map<String, Long> counts) {
+        Map<String, Long> cumulative = new LinkedHashMap<>();
+        long running = 0;
+        for (int rating = MAX_RATING; rating >= 1; rating--) {
+            running += counts.getOrDefault(String.valueOf(rating), 0L);
+            if (running > 0) {
+                cumulative.put(String.valueOf(rating), running);
+            }
+        }
+        return cumulative;
+    }
+
+}
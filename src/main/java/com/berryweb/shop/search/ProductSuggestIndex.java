@@ -0,0 +1,74 @@
+package com.berryweb.shop.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ACTIVE 상품명 자동완성 인덱스. 추천 상품, 리뷰 수가 많은 상품 순으로 제안한다.
+ */
+@Component
+public class ProductSuggestIndex implements ProductIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<SuggestEntry> ORDER = Comparator
+            .comparing(SuggestEntry::isFeatured, Comparator.reverseOrder())
+            .thenComparing(SuggestEntry::getRatingCount, Comparator.reverseOrder())
+            .thenComparingInt(entry -> entry.getName().length())
+            .thenComparing(SuggestEntry::getId, Comparator.reverseOrder());
+
+    private final SuggestTrie trie = new SuggestTrie(MAX_SUGGESTIONS, ORDER);
+    private volatile boolean ready;
+
+    @Value("${search.tokenizer.chosung-enabled:true}")
+    private boolean chosungEnabled;
+
+    @Override
+    public void clear() {
+        ready = false;
+        trie.clear();
+    }
+
+    @Override
+    public void index(ProductDocument document) {
+        if (!document.isActive()) {
+            trie.remove(document.getId());
+            return;
+        }
+
+        SuggestEntry entry = SuggestEntry.builder()
+                .id(document.getId())
+                .name(document.getName())
+                .featured(document.isFeatured())
+                .ratingCount(document.getRatingCount() != null ? document.getRatingCount() : 0)
+                .build();
+        trie.put(entry, SuggestTrie.keysOf(document.getName(), chosungEnabled));
+    }
+
+    // 이름 키는 등록된 것을 그대로 쓰고 리뷰 수에 따른 순위만 다시 맞춘다
+    @Override
+    public void updateRating(Long productId, BigDecimal ratingAverage, Integer ratingCount) {
+        int count = ratingCount != null ? ratingCount : 0;
+        trie.update(productId, entry -> entry.getRatingCount() == count
+                ? entry
+                : entry.toBuilder().ratingCount(count).build());
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<SuggestEntry> suggest(String query, int limit) {
+        return trie.suggest(query, limit);
+    }
+
+}
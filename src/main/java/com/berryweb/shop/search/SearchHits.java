@@ -0,0 +1,17 @@
+package com.berryweb.shop.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class SearchHits {
+
+    public static final SearchHits EMPTY = new SearchHits(0L, List.of());
+
+    private final long total;
+    private final List<Long> ids;
+
+}
@@ -0,0 +1,31 @@
+package com.berryweb.shop.search;
+
+import com.berryweb.shop.entity.Shop;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ShopDocument {
+
+    private final Long id;
+    private final String name;
+    private final boolean active;
+    private final BusinessHours businessHours;
+
+    // 인덱스 재구축용 - 형식 도입 전의 자유 입력 영업시간은 null로 둔다
+    public static ShopDocument from(Shop shop) {
+        return from(shop, BusinessHours.parseOrNull(shop.getBusinessHours()));
+    }
+
+    // 저장 시 이미 파싱한 영업시간을 그대로 넘겨 다시 파싱하지 않는다
+    public static ShopDocument from(Shop shop, BusinessHours businessHours) {
+        return ShopDocument.builder()
+                .id(shop.getId())
+                .name(shop.getName())
+                .active(Boolean.TRUE.equals(shop.getIsActive()))
+                .businessHours(businessHours)
+                .build();
+    }
+
+}
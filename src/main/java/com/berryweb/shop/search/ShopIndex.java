@@ -0,0 +1,17 @@
+package com.berryweb.shop.search;
+
+/**
+ * 상점 스냅샷을 받아 유지되는 인메모리 인덱스. {@link ProductIndex}와 같은 방식으로 {@link ShopIndexer}가 관리한다.
+ */
+public interface ShopIndex {
+
+    void clear();
+
+    /**
+     * 상점을 추가하거나 갱신한다. 비활성 상점은 인덱스에서 제외되어야 한다.
+     */
+    void index(ShopDocument document);
+
+    void markReady();
+
+}
@@ -0,0 +1,60 @@
+package com.berryweb.shop.search;
+
+import com.berryweb.shop.entity.Shop;
+import com.berryweb.shop.repository.ShopRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShopIndexer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ShopRepository shopRepository;
+    private final List<ShopIndex> indexes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        indexes.forEach(ShopIndex::clear);
+
+        long lastId = 0L;
+        long count = 0L;
+        Slice<Shop> slice;
+        do {
+            slice = shopRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, BATCH_SIZE));
+
+            for (Shop shop : slice) {
+                ShopDocument document = ShopDocument.from(shop);
+                indexes.forEach(index -> index.index(document));
+                lastId = shop.getId();
+                count++;
+            }
+        } while (slice.hasNext());
+
+        indexes.forEach(ShopIndex::markReady);
+        log.info("Shop indexes rebuilt: {} shops in {} ms", count, System.currentTimeMillis() - startedAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShopChanged(ShopChangedEvent event) {
+        ShopDocument document = event.getDocument();
+        indexes.forEach(index -> index.index(document));
+        log.debug("Shop indexes updated for shopId: {}", document.getId());
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.berryweb.shop.search;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 15분 슬롯마다 그 시간에 영업 중인 활성 상점 id를 비트맵으로 유지하는 인덱스.
+ * "지금 영업 중" 조회는 현재 슬롯의 비트맵 하나를 읽는 것으로 끝나고, 상점별 영업시간 문자열은 다시 파싱하지 않는다.
+ * 상점 id 역순(= 최신 등록순)으로 페이징한다. 영업시간이 없거나 형식이 맞지 않는 상점은 포함되지 않는다.
+ */
+@Component
+public class ShopOpenHoursIndex implements ShopIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap[] openBySlot = new RoaringBitmap[BusinessHours.SLOTS_PER_WEEK];
+    private final Map<Long, BusinessHours> hoursByShop = new HashMap<>();
+    private final ZoneId zone;
+    private volatile boolean ready;
+
+    public ShopOpenHoursIndex(@Value("${shop.business-hours.zone:Asia/Seoul}") ZoneId zone) {
+        this.zone = zone;
+        for (int slot = 0; slot < openBySlot.length; slot++) {
+            openBySlot[slot] = new RoaringBitmap();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            hoursByShop.clear();
+            for (RoaringBitmap shops : openBySlot) {
+                shops.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ShopDocument document) {
+        int shopId = Math.toIntExact(document.getId());
+        BusinessHours hours = document.isActive() ? document.getBusinessHours() : null;
+
+        lock.writeLock().lock();
+        try {
+            BusinessHours previous = hoursByShop.remove(document.getId());
+            if (previous != null) {
+                previous.openSlots().forEach(slot -> openBySlot[slot].remove(shopId));
+            }
+            if (hours != null && !hours.isEmpty()) {
+                hoursByShop.put(document.getId(), hours);
+                hours.openSlots().forEach(slot -> openBySlot[slot].add(shopId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 상점 영업시간 기준 시간대의 현재 시각
+    public LocalDateTime now() {
+        return LocalDateTime.now(zone);
+    }
+
+    public SearchHits openAt(LocalDateTime time, long offset, int limit) {
+        int slot = BusinessHours.slotOf(time.getDayOfWeek(), time.toLocalTime());
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap shops = openBySlot[slot];
+            List<Long> page = new ArrayList<>(Math.min(limit, shops.getCardinality()));
+            IntIterator iterator = shops.getReverseIntIterator();
+            long skipped = 0;
+            while (iterator.hasNext() && page.size() < limit) {
+                int shopId = iterator.next();
+                if (skipped++ < offset) {
+                    continue;
+                }
+                page.add((long) shopId);
+            }
+            return new SearchHits(shops.getLongCardinality(), page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isOpenAt(Long shopId, LocalDateTime time) {
+        int slot = BusinessHours.slotOf(time.getDayOfWeek(), time.toLocalTime());
+
+        lock.readLock().lock();
+        try {
+            return openBySlot[slot].contains(Math.toIntExact(shopId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+}
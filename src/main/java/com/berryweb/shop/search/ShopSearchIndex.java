@@ -0,0 +1,45 @@
+package com.berryweb.shop.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 활성 상점 이름에 대한 역색인.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShopSearchIndex implements ShopIndex {
+
+    private final InvertedIndex index = new InvertedIndex(this::tokenize);
+    private final HangulNGramTokenizer tokenizer;
+    private volatile boolean ready;
+
+    @Override
+    public void clear() {
+        ready = false;
+        index.clear();
+    }
+
+    @Override
+    public void index(ShopDocument document) {
+        index.put(document.getId(), document.isActive() ? tokenizer.normalize(document.getName()) : null);
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public SearchHits search(String keyword, long offset, int limit) {
+        return index.search(tokenizer.queryTerms(keyword), tokenizer.matcher(keyword), offset, limit);
+    }
+
+    private String[] tokenize(String text) {
+        return tokenizer.tokenize(text);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.berryweb.shop.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 활성 상점명 자동완성 인덱스. 질의와 길이가 가까운(짧은) 이름부터 제안한다.
+ */
+@Component
+public class ShopSuggestIndex implements ShopIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<SuggestEntry> ORDER = Comparator
+            .<SuggestEntry>comparingInt(entry -> entry.getName().length())
+            .thenComparing(SuggestEntry::getId, Comparator.reverseOrder());
+
+    private final SuggestTrie trie = new SuggestTrie(MAX_SUGGESTIONS, ORDER);
+    private volatile boolean ready;
+
+    @Value("${search.tokenizer.chosung-enabled:true}")
+    private boolean chosungEnabled;
+
+    @Override
+    public void clear() {
+        ready = false;
+        trie.clear();
+    }
+
+    @Override
+    public void index(ShopDocument document) {
+        if (!document.isActive()) {
+            trie.remove(document.getId());
+            return;
+        }
+
+        SuggestEntry entry = SuggestEntry.builder()
+                .id(document.getId())
+                .name(document.getName())
+                .build();
+        trie.put(entry, SuggestTrie.keysOf(document.getName(), chosungEnabled));
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<SuggestEntry> suggest(String query, int limit) {
+        return trie.suggest(query, limit);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.berryweb.shop.search;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder(toBuilder = true)
+public class SuggestEntry {
+
+    private final Long id;
+    private final String name;
+    private final boolean featured;
+    private final int ratingCount;
+
+}
@@ -0,0 +1,346 @@
+package com.berryweb.shop.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * 자동완성용 접두어 트라이.
+ * 자식은 정렬된 char 배열로 이진 탐색하고, 각 노드는 하위 트리의 상위 K개 항목을 미리 계산해 둔다.
+ * 조회는 접두어 길이만큼 내려가 저장된 목록을 잘라 반환하므로 카탈로그 크기와 무관하다.
+ */
+final class SuggestTrie {
+
+    // 이름이 길어도 트리 깊이는 이 길이로 제한
+    static final int MAX_KEY_LENGTH = 40;
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final SuggestEntry[] NO_ENTRIES = new SuggestEntry[0];
+
+    private final int topK;
+    private final Comparator<SuggestEntry> order;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Registration> registrations = new HashMap<>();
+    private Node root = new Node();
+
+    SuggestTrie(int topK, Comparator<SuggestEntry> order) {
+        this.topK = topK;
+        this.order = order;
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            registrations.clear();
+            root = new Node();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 항목을 주어진 키들로 등록한다. 같은 id가 있으면 교체한다.
+     */
+    void put(SuggestEntry entry, Collection<String> keys) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(entry.getId());
+            if (keys.isEmpty()) {
+                return;
+            }
+
+            String[] registeredKeys = keys.toArray(String[]::new);
+            for (String key : registeredKeys) {
+                insert(key, entry);
+            }
+            registrations.put(entry.getId(), new Registration(entry, registeredKeys));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 등록된 항목을 같은 키로 다시 넣는다. 키를 다시 만들지 않으며, 없는 id이거나 바뀐 것이 없으면 무시한다.
+     */
+    void update(Long id, UnaryOperator<SuggestEntry> updater) {
+        lock.writeLock().lock();
+        try {
+            Registration registration = registrations.get(id);
+            if (registration == null) {
+                return;
+            }
+            SuggestEntry updated = updater.apply(registration.entry());
+            if (updated == registration.entry()) {
+                return;
+            }
+
+            removeInternal(id);
+            for (String key : registration.keys()) {
+                insert(key, updated);
+            }
+            registrations.put(id, new Registration(updated, registration.keys()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<SuggestEntry> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (prefix.length() > MAX_KEY_LENGTH) {
+            prefix = prefix.substring(0, MAX_KEY_LENGTH);
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 이름의 각 단어 시작 위치부터의 접미어를 키로 만든다. (예: "청송 꿀사과" → "청송 꿀사과", "꿀사과")
+     * 초성 키를 켜면 같은 방식으로 초성 문자열도 추가한다.
+     */
+    static Set<String> keysOf(String name, boolean chosungEnabled) {
+        String normalized = normalize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+
+        addWordSuffixes(normalized, keys);
+        if (chosungEnabled) {
+            String chosung = HangulNGramTokenizer.toChosung(normalized);
+            if (!chosung.equals(normalized)) {
+                addWordSuffixes(chosung, keys);
+            }
+        }
+        return keys;
+    }
+
+    // NFC, 소문자, 글자/숫자 외 문자는 공백 하나로
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        if (!Normalizer.isNormalized(text, Normalizer.Form.NFC)) {
+            text = Normalizer.normalize(text, Normalizer.Form.NFC);
+        }
+
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static void addWordSuffixes(String text, Set<String> keys) {
+        for (int i = 0; i < text.length(); i++) {
+            if (i == 0 || text.charAt(i - 1) == ' ') {
+                int end = Math.min(text.length(), i + MAX_KEY_LENGTH);
+                keys.add(text.substring(i, end));
+            }
+        }
+    }
+
+    private void insert(String key, SuggestEntry entry) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+            // 루트는 빈 접두어라 조회하지 않으므로 상위 목록을 유지하지 않는다
+            mergeIntoTop(node, entry);
+        }
+        node.ends = append(node.ends, entry);
+    }
+
+    private void removeInternal(Long id) {
+        Registration registration = registrations.remove(id);
+        if (registration == null) {
+            return;
+        }
+
+        SuggestEntry entry = registration.entry();
+        for (String key : registration.keys()) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+            }
+
+            Node last = path[key.length()];
+            last.ends = without(last.ends, entry);
+
+            // 깊은 노드부터 올라오며 빈 노드를 정리하고, 해당 항목을 포함한 상위 목록만 다시 계산
+            for (int depth = key.length(); depth >= 1; depth--) {
+                Node node = path[depth];
+                if (node.isEmpty()) {
+                    path[depth - 1].removeChild(key.charAt(depth - 1));
+                } else if (contains(node.top, entry)) {
+                    recomputeTop(node);
+                }
+            }
+        }
+    }
+
+    private void mergeIntoTop(Node node, SuggestEntry entry) {
+        SuggestEntry[] top = node.top;
+        if (contains(top, entry)) {
+            return;
+        }
+
+        int position = 0;
+        while (position < top.length && order.compare(top[position], entry) <= 0) {
+            position++;
+        }
+        if (position >= topK) {
+            return;
+        }
+
+        int length = Math.min(topK, top.length + 1);
+        SuggestEntry[] merged = new SuggestEntry[length];
+        System.arraycopy(top, 0, merged, 0, position);
+        merged[position] = entry;
+        System.arraycopy(top, position, merged, position + 1, length - position - 1);
+        node.top = merged;
+    }
+
+    private void recomputeTop(Node node) {
+        List<SuggestEntry> candidates = new ArrayList<>(Arrays.asList(node.ends));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(order);
+
+        List<SuggestEntry> top = new ArrayList<>(topK);
+        for (SuggestEntry candidate : candidates) {
+            if (top.size() == topK) {
+                break;
+            }
+            // 한 항목이 여러 키로 같은 하위 트리에 들어갈 수 있다
+            if (!top.contains(candidate)) {
+                top.add(candidate);
+            }
+        }
+        node.top = top.toArray(NO_ENTRIES);
+    }
+
+    private static boolean contains(SuggestEntry[] entries, SuggestEntry entry) {
+        for (SuggestEntry candidate : entries) {
+            if (candidate == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SuggestEntry[] append(SuggestEntry[] entries, SuggestEntry entry) {
+        SuggestEntry[] appended = Arrays.copyOf(entries, entries.length + 1);
+        appended[entries.length] = entry;
+        return appended;
+    }
+
+    private static SuggestEntry[] without(SuggestEntry[] entries, SuggestEntry entry) {
+        return Arrays.stream(entries)
+                .filter(candidate -> candidate != entry)
+                .toArray(SuggestEntry[]::new);
+    }
+
+    private record Registration(SuggestEntry entry, String[] keys) {
+    }
+
+    private static final class Node {
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private SuggestEntry[] ends = NO_ENTRIES;
+        private SuggestEntry[] top = NO_ENTRIES;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node getOrAddChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return labels.length == 0 && ends.length == 0;
+        }
+
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.berryweb.shop.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +8,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -14,7 +16,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -36,11 +38,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         jwt.length() > 20 ? jwt.substring(0, 20) + "..." : jwt);
             }
 
-            if (jwt != null && tokenProvider.validateToken(jwt)) {
+            // 서명 검증은 한 번만 하고 같은 클레임에서 사용자 ID와 역할을 꺼낸다
+            Claims claims = jwt != null ? tokenProvider.parseClaims(jwt) : null;
+            if (claims != null) {
                 Long userId = null;
 
                 try {
-                    userId = tokenProvider.getUserIdFromToken(jwt);
+                    userId = tokenProvider.getUserId(claims);
                     log.debug("Extracted user ID: {} (type: {})", userId,
                             userId != null ? userId.getClass().getSimpleName() : "null");
                 } catch (ClassCastException e) {
@@ -52,13 +56,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 if (userId != null) {
                     try {
-                        // principal로 Long 타입의 userId 설정
+                        // principal로 Long 타입의 userId, role 클레임은 권한으로 설정 (클레임이 없는 이전 토큰은 권한 없음)
+                        List<GrantedAuthority> authorities = tokenProvider.getAuthorities(claims);
                         UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(userId, null, Collections.emptyList());
+                                new UsernamePasswordAuthenticationToken(userId, null, authorities);
                         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                        log.debug("Authentication set successfully for user ID: {}", userId);
+                        log.debug("Authentication set successfully for user ID: {} with authorities: {}", userId, authorities);
                     } catch (Exception e) {
                         log.error("Error setting authentication for user ID {}: {}", userId, e.getMessage(), e);
                         SecurityContextHolder.clearContext();
@@ -6,17 +6,28 @@ import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    // user-service가 발급하는 토큰의 역할 클레임 (예: "ADMIN", "USER")
+    public static final String ROLE_CLAIM = "role";
+    public static final String ROLE_PREFIX = "ROLE_";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -24,11 +35,18 @@ public class JwtTokenProvider {
     private long jwtExpiration;
 
     public String createToken(Long userId) {
+        return createToken(userId, null);
+    }
+
+    public String createToken(Long userId, String role) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
-                .subject(userId.toString())
+        JwtBuilder builder = Jwts.builder().subject(userId.toString());
+        if (StringUtils.hasText(role)) {
+            builder.claim(ROLE_CLAIM, role);
+        }
+        return builder
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
@@ -93,59 +111,63 @@ public class JwtTokenProvider {
             return null;
         }
 
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            String subject = claims.getSubject();
-            log.debug("Token subject: {}", subject);
-
-            if (subject == null || subject.trim().isEmpty()) {
-                log.error("Token subject is null or empty");
-                return null;
-            }
+        Claims claims = parseClaims(token);
+        return claims != null ? getUserId(claims) : null;
+    }
 
-            try {
-                Long userId = Long.parseLong(subject.trim());
-                log.debug("Successfully parsed user ID: {}", userId);
-                return userId;
-            } catch (NumberFormatException e) {
-                log.error("Failed to parse user ID from token subject: '{}'. Not a valid number.", subject, e);
-                return null;
-            }
+    // 검증된 클레임의 subject에서 사용자 ID 추출
+    public Long getUserId(Claims claims) {
+        String subject = claims.getSubject();
+        log.debug("Token subject: {}", subject);
 
-        } catch (SecurityException ex) {
-            log.error("Invalid JWT signature: {}", ex.getMessage());
+        if (subject == null || subject.trim().isEmpty()) {
+            log.error("Token subject is null or empty");
             return null;
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token: {}", ex.getMessage());
-            return null;
-        } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token: {}", ex.getMessage());
-            return null;
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token: {}", ex.getMessage());
-            return null;
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty: {}", ex.getMessage());
-            return null;
-        } catch (Exception ex) {
-            log.error("Unexpected JWT token parsing error: {}", ex.getMessage(), ex);
+        }
+
+        try {
+            Long userId = Long.parseLong(subject.trim());
+            log.debug("Successfully parsed user ID: {}", userId);
+            return userId;
+        } catch (NumberFormatException e) {
+            log.error("Failed to parse user ID from token subject: '{}'. Not a valid number.", subject, e);
             return null;
         }
     }
 
+    // role 클레임을 ROLE_ 권한으로 변환. 클레임이 없는 이전 토큰은 빈 목록
+    public List<GrantedAuthority> getAuthorities(Claims claims) {
+        Object role = claims.get(ROLE_CLAIM);
+        if (role instanceof String value && StringUtils.hasText(value)) {
+            return List.of(toAuthority(value));
+        }
+        if (role instanceof Collection<?> values) {
+            return values.stream()
+                    .filter(value -> value instanceof String text && StringUtils.hasText(text))
+                    .map(value -> toAuthority((String) value))
+                    .toList();
+        }
+        return Collections.emptyList();
+    }
+
+    private static GrantedAuthority toAuthority(String role) {
+        String normalized = role.trim().toUpperCase(Locale.ROOT);
+        return new SimpleGrantedAuthority(normalized.startsWith(ROLE_PREFIX) ? normalized : ROLE_PREFIX + normalized);
+    }
+
     // 토큰 검증
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    // 서명과 만료를 한 번만 검증하고 클레임을 반환. 유효하지 않은 토큰은 null
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parser()
+            return Jwts.parser()
                     .verifyWith(getSigningKey())
                     .build()
-                    .parseSignedClaims(token);
-            return true;
+                    .parseSignedClaims(token)
+                    .getPayload();
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -159,7 +181,7 @@ public class JwtTokenProvider {
         } catch (Exception ex) {
             log.error("JWT token validation error: {}", ex.getMessage());
         }
-        return false;
+        return null;
     }
 
     // Signing Key 생성 - 일관된 방식 사용
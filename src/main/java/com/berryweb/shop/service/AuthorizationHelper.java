@@ -0,0 +1,62 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.dto.UserServiceDto;
+import com.berryweb.shop.exception.CustomException;
+import com.berryweb.shop.exception.ErrorCode;
+import com.berryweb.shop.security.JwtTokenProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 쓰기 요청의 소유자/ADMIN 권한 확인.
+ * 토큰의 role 클레임이 있으면 인증 정보의 권한만으로 판단하고,
+ * 클레임이 없는 이전 토큰일 때만 user-service에서 역할을 조회한다. 소유자 본인이면 조회하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorizationHelper {
+
+    public static final String ADMIN_AUTHORITY =
+            JwtTokenProvider.ROLE_PREFIX + UserServiceDto.UserInfo.UserRole.ADMIN.name();
+
+    private final UserServiceHelper userServiceHelper;
+
+    // 리소스 소유자이거나 ADMIN이 아니면 ACCESS_DENIED
+    public void checkOwnerOrAdmin(Long ownerUserId, Long userId, String token) {
+        if (userId != null && userId.equals(ownerUserId)) {
+            return;
+        }
+        if (!isAdmin(userId, token)) {
+            throw new CustomException(ErrorCode.ACCESS_DENIED);
+        }
+    }
+
+    public boolean isAdmin(Long userId, String token) {
+        if (userId == null) {
+            return false;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && userId.equals(authentication.getPrincipal())
+                && !authentication.getAuthorities().isEmpty()) {
+            return authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .anyMatch(ADMIN_AUTHORITY::equals);
+        }
+
+        // role 클레임이 없는 이전 토큰은 user-service 조회로 대체
+        if (!StringUtils.hasText(token)) {
+            return false;
+        }
+        log.debug("No role claim in token for userId: {}, checking role via User Service", userId);
+        UserServiceDto.UserInfo userInfo = userServiceHelper.getUserInfo(userId, token);
+        return userInfo != null && userInfo.getRole() == UserServiceDto.UserInfo.UserRole.ADMIN;
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.berryweb.shop.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 목록 응답을 채우는 원격 조회를 묶음 단위로 나눠 병렬 실행한다.
+ * JDK 21 이상이면 가상 스레드, 아니면 고정 크기 풀을 쓰고, 동시 실행 수는 전체 요청에 걸쳐 세마포어로 제한한다.
+ * 페이지마다 마감 시간을 두어 늦은 묶음은 버리고, 호출자는 그 행을 기본값("알 수 없음")으로 채운다.
+ */
+@Component
+@Slf4j
+public class EnrichmentExecutor implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Duration deadline;
+    private final int batchSize;
+
+    private final Counter completed;
+    private final Counter timedOut;
+    private final Counter failed;
+    private final Counter rejected;
+
+    public EnrichmentExecutor(@Value("${enrichment.deadline:1s}") Duration deadline,
+                              @Value("${enrichment.max-concurrency:32}") int maxConcurrency,
+                              @Value("${enrichment.pool-size:16}") int poolSize,
+                              @Value("${enrichment.batch-size:25}") int batchSize,
+                              MeterRegistry meterRegistry) {
+        this.executor = newExecutor(poolSize);
+        this.permits = new Semaphore(maxConcurrency);
+        this.deadline = deadline;
+        this.batchSize = Math.max(1, batchSize);
+        this.completed = tasks(meterRegistry, "completed");
+        this.timedOut = tasks(meterRegistry, "timeout");
+        this.failed = tasks(meterRegistry, "failed");
+        this.rejected = tasks(meterRegistry, "rejected");
+    }
+
+    /**
+     * items를 batchSize씩 나눠 lookup을 병렬 실행하고, 마감 안에 끝난 묶음의 결과만 이어 붙여 반환한다.
+     */
+    public <T, R> List<R> forEachBatch(List<T> items, Function<List<T>, List<R>> lookup) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        List<Future<List<R>>> futures = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<T> batch = items.subList(from, Math.min(items.size(), from + batchSize));
+            try {
+                futures.add(executor.submit(() -> runWithPermit(batch, lookup, deadlineNanos)));
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+            }
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        for (Future<List<R>> future : futures) {
+            List<R> batchResults = await(future, deadlineNanos);
+            if (batchResults != null) {
+                results.addAll(batchResults);
+            }
+        }
+        return results;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T, R> List<R> runWithPermit(List<T> batch, Function<List<T>, List<R>> lookup, long deadlineNanos)
+            throws InterruptedException {
+        // 동시 실행 한도가 찼으면 마감까지만 기다린다
+        if (!permits.tryAcquire(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            rejected.increment();
+            return null;
+        }
+        try {
+            return lookup.apply(batch);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private <R> List<R> await(Future<List<R>> future, long deadlineNanos) {
+        try {
+            List<R> results = future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (results != null) {
+                completed.increment();
+            }
+            return results;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+        } catch (ExecutionException e) {
+            failed.increment();
+            log.warn("Enrichment batch failed: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private Counter tasks(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("enrichment.batches")
+                .description("Enrichment lookup batches by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // 빌드 대상은 JDK 17이므로 가상 스레드 실행기는 리플렉션으로 찾는다
+    private static ExecutorService newExecutor(int poolSize) {
+        try {
+            ExecutorService virtualThreads = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Enrichment executor uses virtual threads");
+            return virtualThreads;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.info("Enrichment executor uses a pool of {} threads", poolSize);
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 30L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(poolSize * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "enrichment-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+}
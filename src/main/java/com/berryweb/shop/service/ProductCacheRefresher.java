@@ -0,0 +1,48 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.cache.CacheKeyGenerator;
+import com.berryweb.shop.cache.CacheRefresher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * products 캐시 항목(ProductService.getProductById)을 상품 id만으로 다시 만든다.
+ * 상품 상세는 토큰과 관계없는 값이라 모든 키를 백그라운드에서 갱신할 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCacheRefresher implements CacheRefresher {
+
+    static final String KEY_PREFIX = "ProductService.getProductById";
+
+    private final ProductService productService;
+
+    @Override
+    public String getCacheName() {
+        return "products";
+    }
+
+    @Override
+    public boolean canRefresh(Object key) {
+        return productId(key) != null;
+    }
+
+    @Override
+    public Object refresh(Object key) {
+        return productService.loadProductInfo(productId(key));
+    }
+
+    // 키 형식: ProductService.getProductById:{productId}
+    private static Long productId(Object key) {
+        String[] arguments = CacheKeyGenerator.arguments(key, KEY_PREFIX);
+        if (arguments == null || arguments.length != 1) {
+            return null;
+        }
+        try {
+            return Long.valueOf(arguments[0]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.common.ScheduledJobLock;
+import com.berryweb.shop.repository.ProductRepository;
+import com.berryweb.shop.search.ProductRatingChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 상품 평점 집계(합계, 개수, 평균, 1~5점 분포)를 활성 리뷰로부터 다시 계산한다.
+ * 평소에는 리뷰 작성/수정/삭제 때 ReviewService가 증감으로 유지하고, 이 작업은 집계 도입 전 데이터 채우기와 어긋남 보정용이다.
+ * 상품 id 순으로 묶어 묶음마다 UPDATE 한 문장으로 다시 계산한다. 상품 행을 잠근 채 계산하므로 그 사이의 리뷰 작성과 섞여도 값이 틀어지지 않고,
+ * 잠금은 묶음 하나 동안만 유지된다.
+ * 묶음마다 다시 계산한 상품의 ProductRatingChangedEvent를 발행해 커밋 후 검색/패싯/컬럼 인덱스의 평균 평점도 바뀌게 한다.
+ * 주기 실행은 {@link ScheduledJobLock}으로 한 주기에 한 인스턴스에서만 한다.
+ */
+@Component
+@Slf4j
+public class ProductRatingRebuilder {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String JOB_NAME = "product-rating-rebuild";
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledJobLock jobLock;
+    private final Duration rebuildInterval;
+
+    public ProductRatingRebuilder(ProductRepository productRepository, TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher, ScheduledJobLock jobLock,
+                                  @Value("${shop.rating.rebuild-interval:24h}") Duration rebuildInterval) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.jobLock = jobLock;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    @Scheduled(initialDelayString = "${shop.rating.rebuild-initial-delay:10m}",
+            fixedDelayString = "${shop.rating.rebuild-interval:24h}")
+    public void scheduledRebuild() {
+        try {
+            jobLock.runExclusively(JOB_NAME, rebuildInterval, this::rebuild);
+        } catch (Exception e) {
+            log.error("Product rating rebuild failed", e);
+        }
+    }
+
+    // 다시 계산한 상품 수를 반환
+    public int rebuild() {
+        long startedAt = System.currentTimeMillis();
+        long lastId = 0L;
+        int rebuilt = 0;
+        Slice<Long> slice;
+        do {
+            slice = productRepository.findIdsByIdGreaterThan(lastId, PageRequest.of(0, BATCH_SIZE));
+            if (slice.isEmpty()) {
+                break;
+            }
+            List<Long> batch = slice.getContent();
+            rebuilt += transactionTemplate.execute(status -> rebuildBatch(batch));
+            lastId = batch.get(batch.size() - 1);
+        } while (slice.hasNext());
+
+        log.info("Product ratings rebuilt for {} products in {} ms", rebuilt, System.currentTimeMillis() - startedAt);
+        return rebuilt;
+    }
+
+    private int rebuildBatch(List<Long> productIds) {
+        int rebuilt = productRepository.rebuildRatings(productIds);
+        // 다시 계산한 평점만 발행 (인덱스 반영은 커밋 후 ProductIndexer가 한다)
+        productRepository.findRatingsByIdIn(productIds).forEach(rating ->
+                eventPublisher.publishEvent(new ProductRatingChangedEvent(
+                        rating.getId(), rating.getRatingAverage(), rating.getRatingCount())));
+        return rebuilt;
+    }
+
+}
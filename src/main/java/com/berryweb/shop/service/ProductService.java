@@ -1,26 +1,46 @@
 package com.berryweb.shop.service;
 
+import com.berryweb.shop.cache.CacheKeyExclude;
 import com.berryweb.shop.client.UserServiceClient;
+import com.berryweb.shop.common.CursorPage;
+import com.berryweb.shop.common.KeysetCursor;
 import com.berryweb.shop.dto.ProductDto;
-import com.berryweb.shop.dto.UserServiceDto;
 import com.berryweb.shop.entity.Product;
 import com.berryweb.shop.entity.ProductCategory;
 import com.berryweb.shop.entity.ProductImage;
+import com.berryweb.shop.entity.ProductOption;
 import com.berryweb.shop.entity.Shop;
 import com.berryweb.shop.exception.CustomException;
 import com.berryweb.shop.exception.ErrorCode;
 import com.berryweb.shop.repository.*;
+import com.berryweb.shop.search.FacetedHits;
+import com.berryweb.shop.search.ProductColumnStore;
+import com.berryweb.shop.search.ProductChangedEvent;
+import com.berryweb.shop.search.ProductDocument;
+import com.berryweb.shop.search.ProductSearchIndex;
+import com.berryweb.shop.search.SearchHits;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,63 +48,73 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class ProductService {
 
+    private static final int MAX_FACET_VALUES = 20;
+
     private final ProductRepository productRepository;
     private final ShopRepository shopRepository;
     private final ProductCategoryRepository productCategoryRepository;
     private final ProductImageRepository productImageRepository;
     private final ProductOptionGroupRepository productOptionGroupRepository;
-    private final ProductOptionRepository productOptionRepository;
     private final ReviewRepository reviewRepository;
     private final UserServiceHelper userServiceHelper;
+    private final AuthorizationHelper authorizationHelper;
     private final FileService fileService;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductColumnStore productColumnStore;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public Page<ProductDto.ProductSummary> getProductsByShop(Long shopId, Pageable pageable, String token) {
+    public Page<ProductDto.ProductSummary> getProductsByShop(Long shopId, ProductDto.ListCondition condition,
+                                                            Pageable pageable, String token) {
         Shop shop = shopRepository.findByIdAndIsActiveTrue(shopId)
                 .orElseThrow(() -> new CustomException(ErrorCode.SHOP_NOT_FOUND));
 
-        Page<Product> products = productRepository.findByShopIdAndStatusOrderByCreatedAtDesc(
-                shopId, Product.ProductStatus.ACTIVE, pageable);
+        Page<ProductRepository.ProductSummaryView> products;
+        if (productColumnStore.isReady()) {
+            // 정렬/필터는 메모리에서 처리하고 DB는 해당 페이지의 상품만 조회
+            SearchHits hits = productColumnStore.query(shopId, condition, pageable.getSort(),
+                    pageable.getOffset(), pageable.getPageSize());
+            products = new PageImpl<>(findSummariesByIdInOrder(hits.getIds()), pageable, hits.getTotal());
+        } else {
+            // 인덱스 구축이 끝나기 전에는 등록일순 조회로 대체
+            products = productRepository.findSummaryByShopIdAndStatusOrderByCreatedAtDesc(
+                    shopId, Product.ProductStatus.ACTIVE,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        }
 
-        return products.map(product -> {
-            Optional<ProductImage> mainImage = productImageRepository.findByProductAndIsMainTrue(product);
+        return toProductSummaries(products);
+    }
 
-            ProductDto.ProductImageInfo mainImageInfo = null;
-            if (mainImage.isPresent()) {
-                ProductImage img = mainImage.get();
-                mainImageInfo = ProductDto.ProductImageInfo.builder()
-                        .id(img.getId())
-                        .originalFilename(img.getOriginalFilename())
-                        .storedFilename(img.getStoredFilename())
-                        .fileSize(img.getFileSize())
-                        .isMain(img.getIsMain())
-                        .altText(img.getAltText())
-                        .sortOrder(img.getSortOrder())
-                        .createdAt(img.getCreatedAt())
-                        .build();
-            }
-
-            return ProductDto.ProductSummary.builder()
-                    .id(product.getId())
-                    .name(product.getName())
-                    .shortDescription(product.getShortDescription())
-                    .price(product.getPrice())
-                    .salePrice(product.getSalePrice())
-                    .isFeatured(product.getIsFeatured())
-                    .ratingAverage(product.getRatingAverage())
-                    .ratingCount(product.getRatingCount())
-                    .mainImage(mainImageInfo)
-                    .createdAt(product.getCreatedAt())
-                    .build();
-        });
+    // (createdAt, id) 키셋 기준 커서 페이징 - count 쿼리 없이 size + 1건만 조회
+    public CursorPage<ProductDto.ProductSummary> getProductsByShop(Long shopId, String after, Integer size, String token) {
+        shopRepository.findByIdAndIsActiveTrue(shopId)
+                .orElseThrow(() -> new CustomException(ErrorCode.SHOP_NOT_FOUND));
+
+        Window<ProductRepository.ProductSummaryView> products = productRepository.findSummaryByShopIdAndStatusOrderByCreatedAtDescIdDesc(
+                shopId, Product.ProductStatus.ACTIVE, KeysetCursor.decode(after), KeysetCursor.limit(size));
+
+        Map<Long, ProductImage> mainImages = loadMainImages(products.getContent());
+        List<ProductDto.ProductSummary> content = products.stream()
+                .map(product -> toProductSummary(product, mainImages.get(product.getId())))
+                .toList();
+
+        return CursorPage.of(content, products);
+    }
+
+    @Cacheable(value = "products", sync = true)
+    public ProductDto.ProductInfo getProductById(Long productId, @CacheKeyExclude String token) {
+        return loadProductInfo(productId);
     }
 
-    public ProductDto.ProductInfo getProductById(Long productId, String token) {
-        Product product = productRepository.findByIdAndStatus(productId, Product.ProductStatus.ACTIVE)
+    // 캐시를 거치지 않는 상품 상세 조회. products 캐시의 백그라운드 갱신(ProductCacheRefresher)도 이것을 부른다
+    public ProductDto.ProductInfo loadProductInfo(Long productId) {
+        // 상품 + 상점/카테고리/이미지 1회, 옵션 그룹 + 옵션 1회
+        Product product = productRepository.findDetailByIdAndStatus(productId, Product.ProductStatus.ACTIVE)
                 .orElseThrow(() -> new CustomException(ErrorCode.PRODUCT_NOT_FOUND));
 
-        // 상품 이미지 조회
-        List<ProductDto.ProductImageInfo> images = productImageRepository.findByProductOrderBySortOrderAsc(product)
+        // 상품 이미지
+        List<ProductDto.ProductImageInfo> images = product.getImages()
                 .stream()
+                .sorted(Comparator.comparing(ProductImage::getSortOrder).thenComparing(ProductImage::getId))
                 .map(img -> ProductDto.ProductImageInfo.builder()
                         .id(img.getId())
                         .originalFilename(img.getOriginalFilename())
@@ -97,12 +127,14 @@ public class ProductService {
                         .build())
                 .toList();
 
-        // 상품 옵션 그룹 조회
-        List<ProductDto.ProductOptionGroupInfo> optionGroups = productOptionGroupRepository.findByProductOrderBySortOrderAsc(product)
+        // 상품 옵션 그룹 (활성 옵션만)
+        List<ProductDto.ProductOptionGroupInfo> optionGroups = productOptionGroupRepository.findWithOptionsByProduct(product)
                 .stream()
                 .map(group -> {
-                    List<ProductDto.ProductOptionInfo> options = productOptionRepository.findByOptionGroupAndIsActiveTrueOrderBySortOrderAsc(group)
+                    List<ProductDto.ProductOptionInfo> options = group.getOptions()
                             .stream()
+                            .filter(option -> Boolean.TRUE.equals(option.getIsActive()))
+                            .sorted(Comparator.comparing(ProductOption::getSortOrder).thenComparing(ProductOption::getId))
                             .map(option -> ProductDto.ProductOptionInfo.builder()
                                     .id(option.getId())
                                     .name(option.getName())
@@ -160,14 +192,8 @@ public class ProductService {
         Shop shop = shopRepository.findByIdAndIsActiveTrue(request.getShopId())
                 .orElseThrow(() -> new CustomException(ErrorCode.SHOP_NOT_FOUND));
 
-        // 사용자 정보 조회
-        UserServiceDto.UserInfo userInfo = userServiceHelper.getUserInfo(userId, token);
-
         // 상점 소유자이거나 ADMIN만 상품 생성 가능
-        if (!shop.getOwnerUserId().equals(userId) &&
-                (userInfo == null || userInfo.getRole() != UserServiceDto.UserInfo.UserRole.ADMIN)) {
-            throw new CustomException(ErrorCode.ACCESS_DENIED);
-        }
+        authorizationHelper.checkOwnerOrAdmin(shop.getOwnerUserId(), userId, token);
 
         ProductCategory category = null;
         if (request.getCategoryId() != null) {
@@ -203,6 +229,8 @@ public class ProductService {
                 .build();
 
         product = productRepository.save(product);
+        adjustActiveProductCount(shop, null, product.getStatus());
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductDocument.from(product)));
 
         // 이미지 업로드 처리
         List<ProductDto.ProductImageInfo> imageInfos = new ArrayList<>();
@@ -241,77 +269,133 @@ public class ProductService {
                 .build();
     }
 
-    public Page<ProductDto.ProductSummary> searchProducts(String keyword, Pageable pageable, String token) {
-        Page<Product> products = productRepository.searchAllByKeyword(Product.ProductStatus.ACTIVE, keyword, pageable);
+    // 상품 상태가 바뀌면 같은 트랜잭션에서 상점의 판매중 상품 수를 증감 (생성은 from = null, 삭제는 to = null)
+    private void adjustActiveProductCount(Shop shop, Product.ProductStatus from, Product.ProductStatus to) {
+        long delta = (to == Product.ProductStatus.ACTIVE ? 1 : 0) - (from == Product.ProductStatus.ACTIVE ? 1 : 0);
+        if (delta != 0) {
+            shopRepository.addActiveProductCount(shop.getId(), delta);
+        }
+    }
 
-        return products.map(product -> {
-            Optional<ProductImage> mainImage = productImageRepository.findByProductAndIsMainTrue(product);
+    public Page<ProductDto.ProductSummary> searchProducts(ProductDto.SearchCondition condition, Pageable pageable, String token) {
+        if (!productSearchIndex.isReady()) {
+            return toProductSummaries(searchWithoutIndex(condition, pageable));
+        }
 
-            ProductDto.ProductImageInfo mainImageInfo = null;
-            if (mainImage.isPresent()) {
-                ProductImage img = mainImage.get();
-                mainImageInfo = ProductDto.ProductImageInfo.builder()
-                        .id(img.getId())
-                        .originalFilename(img.getOriginalFilename())
-                        .storedFilename(img.getStoredFilename())
-                        .fileSize(img.getFileSize())
-                        .isMain(img.getIsMain())
-                        .altText(img.getAltText())
-                        .sortOrder(img.getSortOrder())
-                        .createdAt(img.getCreatedAt())
-                        .build();
-            }
-
-            return ProductDto.ProductSummary.builder()
-                    .id(product.getId())
-                    .name(product.getName())
-                    .shortDescription(product.getShortDescription())
-                    .price(product.getPrice())
-                    .salePrice(product.getSalePrice())
-                    .isFeatured(product.getIsFeatured())
-                    .ratingAverage(product.getRatingAverage())
-                    .ratingCount(product.getRatingCount())
-                    .mainImage(mainImageInfo)
-                    .createdAt(product.getCreatedAt())
+        SearchHits hits = productSearchIndex.search(condition, pageable.getOffset(), pageable.getPageSize());
+        List<ProductRepository.ProductSummaryView> products = findSummariesByIdInOrder(hits.getIds());
+        return toProductSummaries(new PageImpl<>(products, pageable, hits.getTotal()));
+    }
+
+    // 검색 결과와 함께 패싯별 건수를 반환. 키워드 없이 패싯 조건만으로도 조회할 수 있다
+    public ProductDto.ProductSearchResult searchProductsWithFacets(ProductDto.SearchCondition condition, Pageable pageable, String token) {
+        if (!productSearchIndex.isReady()) {
+            return ProductDto.ProductSearchResult.builder()
+                    .products(toProductSummaries(searchWithoutIndex(condition, pageable)))
+                    .facets(Map.of())
                     .build();
-        });
+        }
+
+        FacetedHits hits = productSearchIndex.searchFaceted(condition, pageable.getOffset(), pageable.getPageSize());
+        List<ProductRepository.ProductSummaryView> products = findSummariesByIdInOrder(hits.getIds());
+
+        return ProductDto.ProductSearchResult.builder()
+                .products(toProductSummaries(new PageImpl<>(products, pageable, hits.getTotal())))
+                .facets(toFacetCounts(hits.getFacetCounts()))
+                .build();
     }
 
     public Page<ProductDto.ProductSummary> getFeaturedProducts(Pageable pageable, String token) {
-        Page<Product> products = productRepository.findByIsFeaturedTrueAndStatusOrderByCreatedAtDesc(
+        Page<ProductRepository.ProductSummaryView> products = productRepository.findSummaryByIsFeaturedTrueAndStatusOrderByCreatedAtDesc(
                 Product.ProductStatus.ACTIVE, pageable);
 
-        return products.map(product -> {
-            Optional<ProductImage> mainImage = productImageRepository.findByProductAndIsMainTrue(product);
+        return toProductSummaries(products);
+    }
 
-            ProductDto.ProductImageInfo mainImageInfo = null;
-            if (mainImage.isPresent()) {
-                ProductImage img = mainImage.get();
-                mainImageInfo = ProductDto.ProductImageInfo.builder()
-                        .id(img.getId())
-                        .originalFilename(img.getOriginalFilename())
-                        .storedFilename(img.getStoredFilename())
-                        .fileSize(img.getFileSize())
-                        .isMain(img.getIsMain())
-                        .altText(img.getAltText())
-                        .sortOrder(img.getSortOrder())
-                        .createdAt(img.getCreatedAt())
-                        .build();
-            }
-
-            return ProductDto.ProductSummary.builder()
-                    .id(product.getId())
-                    .name(product.getName())
-                    .shortDescription(product.getShortDescription())
-                    .price(product.getPrice())
-                    .salePrice(product.getSalePrice())
-                    .isFeatured(product.getIsFeatured())
-                    .ratingAverage(product.getRatingAverage())
-                    .ratingCount(product.getRatingCount())
-                    .mainImage(mainImageInfo)
-                    .createdAt(product.getCreatedAt())
+    // 인덱스 구축이 끝나기 전에는 DB 검색으로 대체 (키워드만 적용, 패싯 집계 없음)
+    private Page<ProductRepository.ProductSummaryView> searchWithoutIndex(ProductDto.SearchCondition condition, Pageable pageable) {
+        return StringUtils.hasText(condition.getKeyword())
+                ? productRepository.searchSummaryByKeyword(Product.ProductStatus.ACTIVE, condition.getKeyword(), pageable)
+                : productRepository.findSummaryByStatusOrderByCreatedAtDesc(Product.ProductStatus.ACTIVE, pageable);
+    }
+
+    private Map<String, List<ProductDto.FacetCount>> toFacetCounts(Map<String, Map<String, Long>> facetCounts) {
+        Map<String, List<ProductDto.FacetCount>> facets = new LinkedHashMap<>();
+        facetCounts.forEach((facet, counts) -> facets.put(facet, counts.entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(MAX_FACET_VALUES)
+                .map(entry -> ProductDto.FacetCount.builder()
+                        .value(entry.getKey())
+                        .count(entry.getValue())
+                        .build())
+                .toList()));
+        return facets;
+    }
+
+    private List<ProductRepository.ProductSummaryView> findSummariesByIdInOrder(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ProductRepository.ProductSummaryView> productsById = productRepository.findSummaryByIdIn(productIds)
+                .stream()
+                .collect(Collectors.toMap(ProductRepository.ProductSummaryView::getId, Function.identity()));
+
+        return productIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Page<ProductDto.ProductSummary> toProductSummaries(Page<ProductRepository.ProductSummaryView> products) {
+        // 페이지 단위로 대표 이미지를 한 번에 조회
+        Map<Long, ProductImage> mainImages = loadMainImages(products.getContent());
+        return products.map(product -> toProductSummary(product, mainImages.get(product.getId())));
+    }
+
+    private Map<Long, ProductImage> loadMainImages(List<ProductRepository.ProductSummaryView> products) {
+        if (products.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> productIds = products.stream()
+                .map(ProductRepository.ProductSummaryView::getId)
+                .toList();
+
+        return productImageRepository.findMainImagesByProductIds(productIds)
+                .stream()
+                .collect(Collectors.toMap(img -> img.getProduct().getId(), Function.identity(),
+                        (first, second) -> first));
+    }
+
+    private ProductDto.ProductSummary toProductSummary(ProductRepository.ProductSummaryView product, ProductImage mainImage) {
+        ProductDto.ProductImageInfo mainImageInfo = null;
+        if (mainImage != null) {
+            mainImageInfo = ProductDto.ProductImageInfo.builder()
+                    .id(mainImage.getId())
+                    .originalFilename(mainImage.getOriginalFilename())
+                    .storedFilename(mainImage.getStoredFilename())
+                    .fileSize(mainImage.getFileSize())
+                    .isMain(mainImage.getIsMain())
+                    .altText(mainImage.getAltText())
+                    .sortOrder(mainImage.getSortOrder())
+                    .createdAt(mainImage.getCreatedAt())
                     .build();
-        });
+        }
+
+        return ProductDto.ProductSummary.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .shortDescription(product.getShortDescription())
+                .price(product.getPrice())
+                .salePrice(product.getSalePrice())
+                .isFeatured(product.getIsFeatured())
+                .ratingAverage(product.getRatingAverage())
+                .ratingCount(product.getRatingCount())
+                .mainImage(mainImageInfo)
+                .createdAt(product.getCreatedAt())
+                .build();
     }
 
 }
@@ -0,0 +1,14 @@
+package com.berryweb.shop.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 도움됨 투표(+1) 또는 취소(-1)가 커밋되면 ReviewHelpfulCounter 버퍼에 더한다
+@Getter
+@RequiredArgsConstructor
+public class ReviewHelpfulChangedEvent {
+
+    private final Long reviewId;
+    private final int delta;
+
+}
@@ -0,0 +1,163 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.common.ScheduledJobLock;
+import com.berryweb.shop.entity.Review;
+import com.berryweb.shop.repository.ReviewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 리뷰 도움됨 수(review.helpful_count)를 투표마다 UPDATE 하지 않고 모아서 반영한다 (write-behind).
+ * <ul>
+ *     <li>커밋된 투표/취소는 리뷰별 증감에 더하기만 하므로 인기 리뷰에 투표가 몰려도 리뷰 행을 잠그지 않는다</li>
+ *     <li>버퍼에는 DB에 아직 반영하지 않은 증감만 있다. 주기적으로(그리고 종료 시) 그 증감을 리뷰 행에 더하고,
+ *     커밋된 만큼만 버퍼에서 뺀다. 반영이 실패하면 버퍼가 그대로 남아 다음 반영에서 다시 더한다</li>
+ *     <li>투표 행(review_helpful)이 원본이라 버퍼가 프로세스와 함께 사라져도 잃는 투표는 없다. 기동 후 보정 작업이 어긋난 수를 다시 센다</li>
+ *     <li>조회 시에는 DB 값에 아직 반영하지 않은 증감을 더해 보여준다</li>
+ * </ul>
+ * 증감의 누적과 차감은 리뷰별 {@link ConcurrentHashMap#merge}로 원자적으로 하고, 0이 된 칸은 그 자리에서 치운다.
+ * 버퍼는 인스턴스마다 따로라 반영은 모든 인스턴스에서 돌고, 전체 리뷰를 훑는 보정은 {@link ScheduledJobLock}으로 한 주기에 한 인스턴스에서만 한다.
+ */
+@Component
+@Slf4j
+public class ReviewHelpfulCounter implements DisposableBean {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String RECONCILE_JOB_NAME = "review-helpful-reconcile";
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledJobLock jobLock;
+    private final Duration reconcileInterval;
+    private final Counter flushedReviews;
+
+    public ReviewHelpfulCounter(ReviewRepository reviewRepository, TransactionTemplate transactionTemplate,
+                                ScheduledJobLock jobLock,
+                                @Value("${shop.review-helpful.reconcile-interval:24h}") Duration reconcileInterval,
+                                MeterRegistry meterRegistry) {
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLock = jobLock;
+        this.reconcileInterval = reconcileInterval;
+        this.flushedReviews = Counter.builder("review.helpful.flushed")
+                .description("Reviews whose helpful count was written back from the buffer")
+                .register(meterRegistry);
+        Gauge.builder("review.helpful.pending", pending, Map::size)
+                .description("Reviews with helpful votes not yet written back")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHelpfulChanged(ReviewHelpfulChangedEvent event) {
+        add(event.getReviewId(), event.getDelta());
+    }
+
+    // 아직 반영하지 않은 증감을 더한 도움됨 수
+    public int currentCount(Review review) {
+        long buffered = pending.getOrDefault(review.getId(), 0L);
+        return (int) Math.max(0, review.getHelpfulCount() + buffered);
+    }
+
+    @Scheduled(fixedDelayString = "${shop.review-helpful.flush-interval:5s}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Review helpful count flush failed", e);
+        }
+    }
+
+    // 반영한 리뷰 수를 반환
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // 대부분 +1 같은 작은 증감이므로 증감이 같은 리뷰끼리 묶어 UPDATE 수를 줄인다
+        Map<Long, List<Long>> reviewIdsByDelta = new HashMap<>();
+        pending.forEach((reviewId, delta) ->
+                reviewIdsByDelta.computeIfAbsent(delta, key -> new ArrayList<>()).add(reviewId));
+
+        int flushed = 0;
+        for (Map.Entry<Long, List<Long>> group : reviewIdsByDelta.entrySet()) {
+            long delta = group.getKey();
+            List<Long> reviewIds = group.getValue();
+            for (int from = 0; from < reviewIds.size(); from += BATCH_SIZE) {
+                List<Long> batch = reviewIds.subList(from, Math.min(reviewIds.size(), from + BATCH_SIZE));
+                transactionTemplate.executeWithoutResult(status -> reviewRepository.addHelpful(batch, (int) delta));
+
+                // DB에 더한 만큼만 빼고, 그 사이 들어온 증감은 다음 반영까지 남긴다
+                batch.forEach(reviewId -> add(reviewId, -delta));
+                flushedReviews.increment(batch.size());
+                flushed += batch.size();
+            }
+        }
+
+        log.debug("Review helpful counts flushed for {} reviews", flushed);
+        return flushed;
+    }
+
+    private void add(Long reviewId, long delta) {
+        pending.merge(reviewId, delta, (buffered, added) -> buffered + added == 0 ? null : buffered + added);
+    }
+
+    @Scheduled(initialDelayString = "${shop.review-helpful.reconcile-initial-delay:5m}",
+            fixedDelayString = "${shop.review-helpful.reconcile-interval:24h}")
+    public void scheduledReconcile() {
+        try {
+            jobLock.runExclusively(RECONCILE_JOB_NAME, reconcileInterval, this::reconcile);
+        } catch (Exception e) {
+            log.error("Review helpful count reconciliation failed", e);
+        }
+    }
+
+    // 전체 리뷰를 id 순으로 묶어 review_helpful 행 수와 어긋난 리뷰만 다시 센다. 보정한 리뷰 수를 반환
+    public int reconcile() {
+        long startedAt = System.currentTimeMillis();
+        long lastId = 0L;
+        int corrected = 0;
+        Slice<Long> slice;
+        do {
+            slice = reviewRepository.findIdsByIdGreaterThan(lastId, PageRequest.of(0, BATCH_SIZE));
+            if (slice.isEmpty()) {
+                break;
+            }
+            Slice<Long> batch = slice;
+            corrected += transactionTemplate.execute(status -> reviewRepository.recountDriftedHelpful(batch.getContent()));
+            lastId = slice.getContent().get(slice.getNumberOfElements() - 1);
+        } while (slice.hasNext());
+
+        log.info("Review helpful counts reconciled: {} reviews corrected in {} ms",
+                corrected, System.currentTimeMillis() - startedAt);
+        return corrected;
+    }
+
+    // 종료 전에 버퍼를 비운다
+    @Override
+    public void destroy() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Review helpful count flush on shutdown failed; reconciliation will recount after restart", e);
+        }
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.berryweb.shop.service;
 
 import com.berryweb.shop.client.UserServiceClient;
+import com.berryweb.shop.common.CursorPage;
+import com.berryweb.shop.common.KeysetCursor;
 import com.berryweb.shop.dto.ReviewDto;
 import com.berryweb.shop.dto.ShopDto;
 import com.berryweb.shop.dto.UserServiceDto;
@@ -11,16 +13,20 @@ import com.berryweb.shop.entity.Shop;
 import com.berryweb.shop.exception.CustomException;
 import com.berryweb.shop.exception.ErrorCode;
 import com.berryweb.shop.repository.*;
+import com.berryweb.shop.search.ProductRatingChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -34,15 +40,35 @@ public class ReviewService {
     private final ReviewImageRepository reviewImageRepository;
     private final ReviewHelpfulRepository reviewHelpfulRepository;
     private final UserServiceHelper userServiceHelper;
+    private final AuthorizationHelper authorizationHelper;
     private final FileService fileService;
+    private final ReviewHelpfulCounter helpfulCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<ReviewDto.ReviewInfo> getReviewsByProduct(Long productId, Pageable pageable, String token, Long userId) {
         Product product = productRepository.findByIdAndStatus(productId, Product.ProductStatus.ACTIVE)
                 .orElseThrow(() -> new CustomException(ErrorCode.PRODUCT_NOT_FOUND));
 
         Page<Review> reviews = reviewRepository.findByProductAndIsActiveTrueOrderByCreatedAtDesc(product, pageable);
+        Map<Long, UserServiceDto.UserInfo> authors = authorsOf(reviews.getContent(), token);
 
-        return reviews.map(review -> buildReviewInfo(review, token, userId));
+        return reviews.map(review -> buildReviewInfo(review, authors.get(review.getUserId()), userId));
+    }
+
+    // (createdAt, id) 키셋 기준 커서 페이징 - count 쿼리 없이 size + 1건만 조회
+    public CursorPage<ReviewDto.ReviewInfo> getReviewsByProduct(Long productId, String after, Integer size, String token, Long userId) {
+        Product product = productRepository.findByIdAndStatus(productId, Product.ProductStatus.ACTIVE)
+                .orElseThrow(() -> new CustomException(ErrorCode.PRODUCT_NOT_FOUND));
+
+        Window<Review> reviews = reviewRepository.findByProductAndIsActiveTrueOrderByCreatedAtDescIdDesc(
+                product, KeysetCursor.decode(after), KeysetCursor.limit(size));
+        Map<Long, UserServiceDto.UserInfo> authors = authorsOf(reviews.getContent(), token);
+
+        List<ReviewDto.ReviewInfo> content = reviews.stream()
+                .map(review -> buildReviewInfo(review, authors.get(review.getUserId()), userId))
+                .toList();
+
+        return CursorPage.of(content, reviews);
     }
 
     @Transactional
@@ -66,6 +92,7 @@ public class ReviewService {
                 .build();
 
         review = reviewRepository.save(review);
+        applyRatingChange(product, review.getRating(), 0);
 
         // 이미지 업로드 처리
         List<ReviewDto.ReviewImageInfo> imageInfos = new ArrayList<>();
@@ -78,7 +105,7 @@ public class ReviewService {
 
     @Transactional
     public ReviewDto.ReviewInfo updateReview(Long reviewId, ReviewDto.UpdateReviewRequest request, String token, Long userId) {
-        Review review = reviewRepository.findByIdAndIsActiveTrue(reviewId)
+        Review review = reviewRepository.findActiveByIdForUpdate(reviewId)
                 .orElseThrow(() -> new CustomException(ErrorCode.REVIEW_NOT_FOUND));
 
         // 작성자만 수정 가능
@@ -86,33 +113,32 @@ public class ReviewService {
             throw new CustomException(ErrorCode.ACCESS_DENIED);
         }
 
+        int previousRating = review.getRating();
         review.setRating(request.getRating());
         review.setTitle(request.getTitle());
         review.setContent(request.getContent());
         review.setUpdatedBy(userId);
 
         review = reviewRepository.save(review);
+        if (previousRating != review.getRating()) {
+            applyRatingChange(review.getProduct(), review.getRating(), previousRating);
+        }
 
         return buildReviewInfo(review, token, userId);
     }
 
     @Transactional
     public void deleteReview(Long reviewId, String token, Long userId) {
-        Review review = reviewRepository.findByIdAndIsActiveTrue(reviewId)
+        Review review = reviewRepository.findActiveByIdForUpdate(reviewId)
                 .orElseThrow(() -> new CustomException(ErrorCode.REVIEW_NOT_FOUND));
 
-        // 사용자 정보 조회
-        UserServiceDto.UserInfo userInfo = userServiceHelper.getUserInfo(userId, token);
-
         // 작성자이거나 ADMIN만 삭제 가능
-        if (!review.getUserId().equals(userId) &&
-                (userInfo == null || userInfo.getRole() != UserServiceDto.UserInfo.UserRole.ADMIN)) {
-            throw new CustomException(ErrorCode.ACCESS_DENIED);
-        }
+        authorizationHelper.checkOwnerOrAdmin(review.getUserId(), userId, token);
 
         review.setIsActive(false);
         review.setUpdatedBy(userId);
         reviewRepository.save(review);
+        applyRatingChange(review.getProduct(), 0, review.getRating());
     }
 
     @Transactional
@@ -133,11 +159,30 @@ public class ReviewService {
                     .build();
             reviewHelpfulRepository.save(helpful);
         }
+
+        // 리뷰 행은 건드리지 않고 커밋 후 버퍼에 더한다 (ReviewHelpfulCounter가 모아서 반영)
+        eventPublisher.publishEvent(new ReviewHelpfulChangedEvent(review.getId(), existingVote.isPresent() ? -1 : 1));
+    }
+
+    // 상품 행에서 바로 증감한 뒤, 바뀐 평균을 검색 인덱스(평점 정렬/필터)에도 반영한다
+    private void applyRatingChange(Product product, int added, int removed) {
+        productRepository.applyRatingChange(product.getId(), added, removed);
+        productRepository.findRatingById(product.getId()).ifPresent(rating ->
+                eventPublisher.publishEvent(new ProductRatingChangedEvent(
+                        product.getId(), rating.getRatingAverage(), rating.getRatingCount())));
+    }
+
+    // 페이지의 작성자를 한 번에 조회
+    private Map<Long, UserServiceDto.UserInfo> authorsOf(List<Review> reviews, String token) {
+        return userServiceHelper.getUserInfoMap(reviews.stream().map(Review::getUserId).toList(), token);
     }
 
     private ReviewDto.ReviewInfo buildReviewInfo(Review review, String token, Long userId) {
         // 사용자 정보 조회
-        UserServiceDto.UserInfo userInfo = userServiceHelper.getUserInfo(review.getUserId(), token);
+        return buildReviewInfo(review, userServiceHelper.getUserInfo(review.getUserId(), token), userId);
+    }
+
+    private ReviewDto.ReviewInfo buildReviewInfo(Review review, UserServiceDto.UserInfo userInfo, Long userId) {
         boolean isHelpful = reviewHelpfulRepository.existsByReviewAndUserId(review, userId);
 
         List<ReviewDto.ReviewImageInfo> images = reviewImageRepository.findByReviewOrderBySortOrderAsc(review)
@@ -163,7 +208,7 @@ public class ReviewService {
                 .content(review.getContent())
                 .isVerifiedPurchase(review.getIsVerifiedPurchase())
                 .isActive(review.getIsActive())
-                .helpfulCount(review.getHelpfulCount())
+                .helpfulCount(helpfulCounter.currentCount(review))
                 .isHelpful(isHelpful)
                 .images(images)
                 .createdAt(review.getCreatedAt())
@@ -0,0 +1,48 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.cache.CacheKeyGenerator;
+import com.berryweb.shop.cache.CacheRefresher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * shops 캐시 항목(ShopService.getShopById) 중 토큰 없이 만든 항목만 다시 만든다.
+ * 토큰이 있던 항목은 소유자 이름을 그 요청의 토큰으로 조회했으므로, 그 키는 조회하는 호출이 직접 갱신한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShopCacheRefresher implements CacheRefresher {
+
+    static final String KEY_PREFIX = "ShopService.getShopById";
+
+    private final ShopService shopService;
+
+    @Override
+    public String getCacheName() {
+        return "shops";
+    }
+
+    @Override
+    public boolean canRefresh(Object key) {
+        return anonymousShopId(key) != null;
+    }
+
+    @Override
+    public Object refresh(Object key) {
+        return shopService.loadShopInfo(anonymousShopId(key), null);
+    }
+
+    // 키 형식: ShopService.getShopById:{shopId}:{토큰 유무 T|F}
+    private static Long anonymousShopId(Object key) {
+        String[] arguments = CacheKeyGenerator.arguments(key, KEY_PREFIX);
+        if (arguments == null || arguments.length != 2 || !"F".equals(arguments[1])) {
+            return null;
+        }
+        try {
+            return Long.valueOf(arguments[0]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
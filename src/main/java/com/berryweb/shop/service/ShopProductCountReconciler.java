@@ -0,0 +1,144 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.common.ScheduledJobLock;
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.repository.ProductRepository;
+import com.berryweb.shop.repository.ShopRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 상점별 판매중 상품 수(Shop.activeProductCount)를 실제 product 행과 주기적으로 맞춘다.
+ * 상점을 id 순으로 묶어 읽고 묶음마다 GROUP BY 한 번으로 실제 수를 센 뒤, 어긋난 상점만 UPDATE 한 문장으로 다시 센다.
+ * 저장된 수와 실제 수는 읽기 전용 REPEATABLE_READ 트랜잭션 하나에서 같은 시점의 스냅샷으로 읽는다.
+ * 따로 읽으면 그 사이의 상품 생성/삭제가 한쪽에만 보여 어긋나지 않은 상점도 어긋난 것으로 센다.
+ * 다시 세는 UPDATE가 상점 행을 잠근 채 계산하므로 그 사이의 상품 생성과 섞여도 값이 틀어지지 않는다.
+ * 주기 실행은 {@link ScheduledJobLock}으로 한 주기에 한 인스턴스에서만 한다.
+ * 보정한 상점 수와 차이의 크기는 shop.product_count.drift.* 지표로 노출한다.
+ */
+@Component
+@Slf4j
+public class ShopProductCountReconciler {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String JOB_NAME = "shop-product-count-reconcile";
+
+    private final ShopRepository shopRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final ScheduledJobLock jobLock;
+    private final Duration reconcileInterval;
+    private final Counter driftedShops;
+    private final DistributionSummary drift;
+
+    public ShopProductCountReconciler(ShopRepository shopRepository, ProductRepository productRepository,
+                                      PlatformTransactionManager transactionManager, ScheduledJobLock jobLock,
+                                      @Value("${shop.product-count.reconcile-interval:1h}") Duration reconcileInterval,
+                                      MeterRegistry meterRegistry) {
+        this.shopRepository = shopRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.jobLock = jobLock;
+        this.reconcileInterval = reconcileInterval;
+        this.driftedShops = Counter.builder("shop.product_count.drift.shops")
+                .description("Shops whose active product count had drifted and was corrected")
+                .register(meterRegistry);
+        this.drift = DistributionSummary.builder("shop.product_count.drift")
+                .description("Absolute difference between stored and actual active product count per corrected shop")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${shop.product-count.reconcile-initial-delay:5m}",
+            fixedDelayString = "${shop.product-count.reconcile-interval:1h}")
+    public void scheduledReconcile() {
+        try {
+            jobLock.runExclusively(JOB_NAME, reconcileInterval, this::reconcile);
+        } catch (Exception e) {
+            log.error("Active product count reconciliation failed", e);
+        }
+    }
+
+    // 보정한 상점 수를 반환
+    public int reconcile() {
+        long startedAt = System.currentTimeMillis();
+        long lastId = 0L;
+        int corrected = 0;
+        Snapshot snapshot;
+        do {
+            long afterId = lastId;
+            snapshot = snapshotTransaction.execute(status -> readSnapshot(afterId));
+            if (snapshot.stored().isEmpty()) {
+                break;
+            }
+            corrected += reconcileBatch(snapshot);
+            lastId = snapshot.stored().get(snapshot.stored().size() - 1).getId();
+        } while (snapshot.hasNext());
+
+        log.info("Active product counts reconciled: {} shops corrected in {} ms",
+                corrected, System.currentTimeMillis() - startedAt);
+        return corrected;
+    }
+
+    // 저장된 수와 실제 수를 같은 트랜잭션에서 읽는다
+    private Snapshot readSnapshot(long afterId) {
+        Slice<ShopRepository.ActiveProductCount> slice =
+                shopRepository.findActiveProductCountsByIdGreaterThan(afterId, PageRequest.of(0, BATCH_SIZE));
+        if (slice.isEmpty()) {
+            return new Snapshot(List.of(), Map.of(), false);
+        }
+
+        Map<Long, Long> actual = productRepository.countByShopIdsAndStatus(
+                        slice.getContent().stream().map(ShopRepository.ActiveProductCount::getId).toList(),
+                        Product.ProductStatus.ACTIVE)
+                .stream()
+                .collect(Collectors.toMap(ProductRepository.ShopProductCount::getShopId,
+                        ProductRepository.ShopProductCount::getCount));
+        return new Snapshot(slice.getContent(), actual, slice.hasNext());
+    }
+
+    private int reconcileBatch(Snapshot snapshot) {
+        Map<Long, Long> actual = snapshot.actual();
+        List<ShopRepository.ActiveProductCount> drifted = snapshot.stored().stream()
+                .filter(shop -> shop.getActiveProductCount() != actual.getOrDefault(shop.getId(), 0L).longValue())
+                .toList();
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> shopRepository.recountActiveProducts(
+                drifted.stream().map(ShopRepository.ActiveProductCount::getId).toList(),
+                Product.ProductStatus.ACTIVE));
+
+        for (ShopRepository.ActiveProductCount shop : drifted) {
+            long difference = actual.getOrDefault(shop.getId(), 0L) - shop.getActiveProductCount();
+            drift.record(Math.abs(difference));
+            log.warn("Active product count drift corrected for shopId: {} (stored: {}, actual: {})",
+                    shop.getId(), shop.getActiveProductCount(), shop.getActiveProductCount() + difference);
+        }
+        driftedShops.increment(drifted.size());
+        return drifted.size();
+    }
+
+    private record Snapshot(List<ShopRepository.ActiveProductCount> stored, Map<Long, Long> actual, boolean hasNext) {
+    }
+
+}
@@ -1,22 +1,43 @@
 package com.berryweb.shop.service;
 
+import com.berryweb.shop.cache.CacheKeyExclude;
+import com.berryweb.shop.common.CursorPage;
+import com.berryweb.shop.common.KeysetCursor;
 import com.berryweb.shop.dto.ShopDto;
 import com.berryweb.shop.dto.UserServiceDto;
-import com.berryweb.shop.entity.Product;
 import com.berryweb.shop.entity.Shop;
 import com.berryweb.shop.exception.CustomException;
 import com.berryweb.shop.exception.ErrorCode;
-import com.berryweb.shop.repository.ProductRepository;
 import com.berryweb.shop.repository.ShopRepository;
+import com.berryweb.shop.search.BusinessHours;
+import com.berryweb.shop.search.SearchHits;
+import com.berryweb.shop.search.ShopChangedEvent;
+import com.berryweb.shop.search.ShopDocument;
+import com.berryweb.shop.search.ShopOpenHoursIndex;
+import com.berryweb.shop.search.ShopSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,42 +45,46 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class ShopService {
 
+    // 영업시간 인덱스 구축 전 대체 경로에서 한 번에 읽을 상점 수와 최대로 읽을 상점 수
+    private static final int OPEN_SHOPS_FALLBACK_BATCH_SIZE = 200;
+    private static final int OPEN_SHOPS_FALLBACK_SCAN_LIMIT = 2000;
+
     private final ShopRepository shopRepository;
-    private final ProductRepository productRepository;
     private final UserServiceHelper userServiceHelper;
+    private final AuthorizationHelper authorizationHelper;
+    private final ShopSearchIndex shopSearchIndex;
+    private final ShopOpenHoursIndex shopOpenHoursIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 소유자 이름은 토큰이 있을 때만 채우므로 토큰 유무까지 키에 포함
+    @Cacheable(value = "shop-pages", sync = true)
+    public Page<ShopDto.ShopInfo> getAllShops(Pageable pageable, @CacheKeyExclude(keepPresence = true) String token) {
+        Page<Shop> shops = shopRepository.findByIsActiveTrueOrderByCreatedAtDesc(pageable);
+        Map<Long, UserServiceDto.UserInfo> owners = ownersOf(shops.getContent(), token);
+
+        return shops.map(shop -> toShopInfo(shop, owners.get(shop.getOwnerUserId())));
+    }
+
+    // (createdAt, id) 키셋 기준 커서 페이징 - count 쿼리 없이 size + 1건만 조회
+    public CursorPage<ShopDto.ShopInfo> getAllShops(String after, Integer size, String token) {
+        Window<Shop> shops = shopRepository.findByIsActiveTrueOrderByCreatedAtDescIdDesc(
+                KeysetCursor.decode(after), KeysetCursor.limit(size));
+        Map<Long, UserServiceDto.UserInfo> owners = ownersOf(shops.getContent(), token);
+
+        List<ShopDto.ShopInfo> content = shops.stream()
+                .map(shop -> toShopInfo(shop, owners.get(shop.getOwnerUserId())))
+                .toList();
+
+        return CursorPage.of(content, shops);
+    }
 
-    public Page<ShopDto.ShopInfo> getAllShops(Pageable pageable, String token) {
-        return shopRepository.findByIsActiveTrueOrderByCreatedAtDesc(pageable)
-                .map(shop -> {
-                    UserServiceDto.UserInfo ownerInfo = null;
-                    if (shop.getOwnerUserId() != null && token != null && !token.trim().isEmpty()) {
-                        ownerInfo = userServiceHelper.getUserInfo(shop.getOwnerUserId(), token);
-                    }
-                    long productCount = productRepository.countByShopAndStatus(shop, Product.ProductStatus.ACTIVE);
-
-                    return ShopDto.ShopInfo.builder()
-                            .id(shop.getId())
-                            .ownerUserId(shop.getOwnerUserId())
-                            .ownerUsername(ownerInfo != null ? ownerInfo.getUsername() : "알 수 없음")
-                            .name(shop.getName())
-                            .description(shop.getDescription())
-                            .businessNumber(shop.getBusinessNumber())
-                            .phone(shop.getPhone())
-                            .email(shop.getEmail())
-                            .address(shop.getAddress())
-                            .isActive(shop.getIsActive())
-                            .minOrderAmount(shop.getMinOrderAmount())
-                            .deliveryFee(shop.getDeliveryFee())
-                            .freeDeliveryAmount(shop.getFreeDeliveryAmount())
-                            .businessHours(shop.getBusinessHours())
-                            .productCount(productCount)
-                            .createdAt(shop.getCreatedAt())
-                            .updatedAt(shop.getUpdatedAt())
-                            .build();
-                });
+    @Cacheable(value = "shops", sync = true)
+    public ShopDto.ShopInfo getShopById(Long shopId, @CacheKeyExclude(keepPresence = true) String token) {
+        return loadShopInfo(shopId, token);
     }
 
-    public ShopDto.ShopInfo getShopById(Long shopId, String token) {
+    // 캐시를 거치지 않는 상점 조회. 토큰 없이 만든 shops 캐시 항목은 ShopCacheRefresher가 이것으로 갱신한다
+    public ShopDto.ShopInfo loadShopInfo(Long shopId, String token) {
         Shop shop = shopRepository.findByIdAndIsActiveTrue(shopId)
                 .orElseThrow(() -> new CustomException(ErrorCode.SHOP_NOT_FOUND));
 
@@ -67,30 +92,12 @@ public class ShopService {
         if (shop.getOwnerUserId() != null && token != null && !token.trim().isEmpty()) {
             ownerInfo = userServiceHelper.getUserInfo(shop.getOwnerUserId(), token);
         }
-        long productCount = productRepository.countByShopAndStatus(shop, Product.ProductStatus.ACTIVE);
 
-        return ShopDto.ShopInfo.builder()
-                .id(shop.getId())
-                .ownerUserId(shop.getOwnerUserId())
-                .ownerUsername(ownerInfo != null ? ownerInfo.getUsername() : "알 수 없음")
-                .name(shop.getName())
-                .description(shop.getDescription())
-                .businessNumber(shop.getBusinessNumber())
-                .phone(shop.getPhone())
-                .email(shop.getEmail())
-                .address(shop.getAddress())
-                .isActive(shop.getIsActive())
-                .minOrderAmount(shop.getMinOrderAmount())
-                .deliveryFee(shop.getDeliveryFee())
-                .freeDeliveryAmount(shop.getFreeDeliveryAmount())
-                .businessHours(shop.getBusinessHours())
-                .productCount(productCount)
-                .createdAt(shop.getCreatedAt())
-                .updatedAt(shop.getUpdatedAt())
-                .build();
+        return toShopInfo(shop, ownerInfo);
     }
 
     @Transactional
+    @CacheEvict(value = "shop-pages", allEntries = true)
     public ShopDto.ShopInfo createShop(ShopDto.CreateShopRequest request, String token, Long userId) {
         if (userId == null) {
             throw new CustomException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다.");
@@ -105,9 +112,10 @@ public class ShopService {
             throw new CustomException(ErrorCode.USER_NOT_FOUND);
         }
 
-        // businessHours가 빈 문자열이면 null로 변경
+        // businessHours가 빈 문자열이면 null로 변경, 값이 있으면 형식을 검증하며 슬롯 비트맵으로 변환
         String businessHours = StringUtils.hasText(request.getBusinessHours()) ?
-                request.getBusinessHours() : null;
+                request.getBusinessHours().trim() : null;
+        BusinessHours parsedHours = parseBusinessHours(businessHours);
 
         Shop shop = Shop.builder()
                 .ownerUserId(userId)
@@ -126,48 +134,28 @@ public class ShopService {
 
         try {
             shop = shopRepository.save(shop);
+            eventPublisher.publishEvent(new ShopChangedEvent(ShopDocument.from(shop, parsedHours)));
             log.info("Shop created successfully: {}", shop.getId());
         } catch (Exception e) {
             log.error("Failed to create shop for user {}: {}", userId, e.getMessage(), e);
             throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "상점 생성에 실패했습니다.");
         }
 
-        return ShopDto.ShopInfo.builder()
-                .id(shop.getId())
-                .ownerUserId(shop.getOwnerUserId())
-                .ownerUsername(userInfo.getUsername())
-                .name(shop.getName())
-                .description(shop.getDescription())
-                .businessNumber(shop.getBusinessNumber())
-                .phone(shop.getPhone())
-                .email(shop.getEmail())
-                .address(shop.getAddress())
-                .isActive(shop.getIsActive())
-                .minOrderAmount(shop.getMinOrderAmount())
-                .deliveryFee(shop.getDeliveryFee())
-                .freeDeliveryAmount(shop.getFreeDeliveryAmount())
-                .businessHours(shop.getBusinessHours())
-                .productCount(0L)
-                .createdAt(shop.getCreatedAt())
-                .updatedAt(shop.getUpdatedAt())
-                .build();
+        return toShopInfo(shop, userInfo);
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "shops", key = "T(com.berryweb.shop.cache.CacheKeyGenerator).key('ShopService.getShopById', #shopId, true)"),
+            @CacheEvict(value = "shops", key = "T(com.berryweb.shop.cache.CacheKeyGenerator).key('ShopService.getShopById', #shopId, false)"),
+            @CacheEvict(value = "shop-pages", allEntries = true)
+    })
     public ShopDto.ShopInfo updateShop(Long shopId, ShopDto.UpdateShopRequest request, String token, Long userId) {
         Shop shop = shopRepository.findByIdAndIsActiveTrue(shopId)
                 .orElseThrow(() -> new CustomException(ErrorCode.SHOP_NOT_FOUND));
 
-        UserServiceDto.UserInfo userInfo = null;
-        if (userId != null && token != null && !token.trim().isEmpty()) {
-            userInfo = userServiceHelper.getUserInfo(userId, token);
-        }
-
         // 상점 소유자이거나 ADMIN만 수정 가능
-        if (!shop.getOwnerUserId().equals(userId) &&
-                (userInfo == null || userInfo.getRole() != UserServiceDto.UserInfo.UserRole.ADMIN)) {
-            throw new CustomException(ErrorCode.ACCESS_DENIED);
-        }
+        authorizationHelper.checkOwnerOrAdmin(shop.getOwnerUserId(), userId, token);
 
         shop.setName(request.getName());
         shop.setDescription(request.getDescription());
@@ -185,10 +173,16 @@ public class ShopService {
         if (request.getFreeDeliveryAmount() != null) {
             shop.setFreeDeliveryAmount(request.getFreeDeliveryAmount());
         }
-        if (request.getBusinessHours() != null) {
+        BusinessHours parsedHours;
+        if (request.getBusinessHours() != null && !isUnchanged(request.getBusinessHours(), shop.getBusinessHours())) {
             // 빈 문자열이면 null로 설정
-            shop.setBusinessHours(StringUtils.hasText(request.getBusinessHours()) ?
-                    request.getBusinessHours() : null);
+            String businessHours = StringUtils.hasText(request.getBusinessHours()) ?
+                    request.getBusinessHours().trim() : null;
+            parsedHours = parseBusinessHours(businessHours);
+            shop.setBusinessHours(businessHours);
+        } else {
+            // 바꾸지 않은 값은 검증하지 않는다. 형식 도입 전의 자유 입력 값도 그대로 두고 인덱스에서만 빠진다
+            parsedHours = BusinessHours.parseOrNull(shop.getBusinessHours());
         }
         if (request.getIsActive() != null) {
             shop.setIsActive(request.getIsActive());
@@ -198,6 +192,7 @@ public class ShopService {
 
         try {
             shop = shopRepository.save(shop);
+            eventPublisher.publishEvent(new ShopChangedEvent(ShopDocument.from(shop, parsedHours)));
             log.info("Shop updated successfully: {}", shop.getId());
         } catch (Exception e) {
             log.error("Failed to update shop {}: {}", shopId, e.getMessage(), e);
@@ -208,8 +203,118 @@ public class ShopService {
         if (shop.getOwnerUserId() != null && token != null && !token.trim().isEmpty()) {
             ownerInfo = userServiceHelper.getUserInfo(shop.getOwnerUserId(), token);
         }
-        long productCount = productRepository.countByShopAndStatus(shop, Product.ProductStatus.ACTIVE);
 
+        return toShopInfo(shop, ownerInfo);
+    }
+
+    public List<ShopDto.ShopInfo> getMyShops(String token, Long userId) {
+        List<Shop> shops = shopRepository.findByOwnerUserIdAndIsActiveTrue(userId);
+        UserServiceDto.UserInfo userInfo = null;
+        if (userId != null && token != null && !token.trim().isEmpty()) {
+            userInfo = userServiceHelper.getUserInfo(userId, token);
+        }
+
+        final UserServiceDto.UserInfo finalUserInfo = userInfo; // final 변수로 만들어서 람다에서 사용
+
+        return shops.stream()
+                .map(shop -> toShopInfo(shop, finalUserInfo))
+                .toList();
+    }
+
+    public Page<ShopDto.ShopInfo> searchShops(String keyword, Pageable pageable, String token) {
+        Page<Shop> shops;
+        if (shopSearchIndex.isReady()) {
+            SearchHits hits = shopSearchIndex.search(keyword, pageable.getOffset(), pageable.getPageSize());
+            shops = new PageImpl<>(findAllByIdInOrder(hits.getIds()), pageable, hits.getTotal());
+        } else {
+            // 인덱스 구축이 끝나기 전에는 DB 검색으로 대체
+            shops = shopRepository.findByNameContainingAndIsActiveTrueOrderByCreatedAtDesc(keyword, pageable);
+        }
+
+        Map<Long, UserServiceDto.UserInfo> owners = ownersOf(shops.getContent(), token);
+        return shops.map(shop -> toShopInfo(shop, owners.get(shop.getOwnerUserId())));
+    }
+
+    // 지금 영업 중인 상점만 최신 등록순으로 조회. 시각에 따라 결과가 바뀌므로 캐시하지 않는다
+    public Page<ShopDto.ShopInfo> getOpenShops(String keyword, Pageable pageable, String token) {
+        LocalDateTime now = shopOpenHoursIndex.now();
+        boolean hasKeyword = StringUtils.hasText(keyword);
+
+        Page<Shop> shops;
+        if (!shopOpenHoursIndex.isReady() || (hasKeyword && !shopSearchIndex.isReady())) {
+            shops = findOpenShopsWithoutIndex(hasKeyword ? keyword.trim() : null, now, pageable);
+        } else if (hasKeyword) {
+            // 검색 결과 중 현재 슬롯에 영업 중인 상점만 남긴다
+            List<Long> openIds = shopSearchIndex.search(keyword, 0, Integer.MAX_VALUE).getIds()
+                    .stream()
+                    .filter(shopId -> shopOpenHoursIndex.isOpenAt(shopId, now))
+                    .toList();
+            shops = new PageImpl<>(findAllByIdInOrder(page(openIds, pageable)), pageable, openIds.size());
+        } else {
+            SearchHits hits = shopOpenHoursIndex.openAt(now, pageable.getOffset(), pageable.getPageSize());
+            shops = new PageImpl<>(findAllByIdInOrder(hits.getIds()), pageable, hits.getTotal());
+        }
+
+        Map<Long, UserServiceDto.UserInfo> owners = ownersOf(shops.getContent(), token);
+        return shops.map(shop -> toShopInfo(shop, owners.get(shop.getOwnerUserId())));
+    }
+
+    /**
+     * 인덱스 구축이 끝나기 전의 대체 경로. 최신 활성 상점부터 묶음으로 읽어 영업시간을 직접 파싱한다.
+     * 검색어는 인덱스처럼 대소문자를 무시하고 DB에서 거른다.
+     * 요청한 페이지와 다음 페이지 유무를 알 만큼 찾았거나 최대 상점 수를 읽으면 멈추므로, 전체 수는 그때까지 찾은 수다.
+     */
+    private Page<Shop> findOpenShopsWithoutIndex(String keyword, LocalDateTime now, Pageable pageable) {
+        long wanted = pageable.getOffset() + pageable.getPageSize() + 1;
+        List<Shop> open = new ArrayList<>();
+        int scanned = 0;
+        Slice<Shop> batch;
+        int batchNumber = 0;
+        do {
+            batch = shopRepository.findActiveByNameContainingIgnoreCase(keyword,
+                    PageRequest.of(batchNumber++, OPEN_SHOPS_FALLBACK_BATCH_SIZE));
+            for (Shop shop : batch) {
+                BusinessHours hours = BusinessHours.parseOrNull(shop.getBusinessHours());
+                if (hours != null && hours.isOpenAt(now.getDayOfWeek(), now.toLocalTime())) {
+                    open.add(shop);
+                }
+            }
+            scanned += batch.getNumberOfElements();
+        } while (batch.hasNext() && open.size() < wanted && scanned < OPEN_SHOPS_FALLBACK_SCAN_LIMIT);
+
+        if (batch.hasNext() && open.size() < wanted) {
+            log.debug("Open shops fallback stopped after scanning {} shops", scanned);
+        }
+        return new PageImpl<>(page(open, pageable), pageable, open.size());
+    }
+
+    // 바뀌지 않은 영업시간인지 (앞뒤 공백 차이는 무시)
+    private static boolean isUnchanged(String requested, String current) {
+        return current != null && requested.trim().equals(current.trim());
+    }
+
+    private static <T> List<T> page(List<T> items, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        return items.subList(from, Math.min(from + pageable.getPageSize(), items.size()));
+    }
+
+    private BusinessHours parseBusinessHours(String businessHours) {
+        if (businessHours == null) {
+            return null;
+        }
+        try {
+            return BusinessHours.parse(businessHours);
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(ErrorCode.INVALID_BUSINESS_HOURS, e.getMessage());
+        }
+    }
+
+    // 페이지의 상점 소유자를 한 번에 조회. 토큰이 없으면 빈 결과
+    private Map<Long, UserServiceDto.UserInfo> ownersOf(List<Shop> shops, String token) {
+        return userServiceHelper.getUserInfoMap(shops.stream().map(Shop::getOwnerUserId).toList(), token);
+    }
+
+    private ShopDto.ShopInfo toShopInfo(Shop shop, UserServiceDto.UserInfo ownerInfo) {
         return ShopDto.ShopInfo.builder()
                 .id(shop.getId())
                 .ownerUserId(shop.getOwnerUserId())
@@ -225,77 +330,25 @@ public class ShopService {
                 .deliveryFee(shop.getDeliveryFee())
                 .freeDeliveryAmount(shop.getFreeDeliveryAmount())
                 .businessHours(shop.getBusinessHours())
-                .productCount(productCount)
+                .productCount(shop.getActiveProductCount())
                 .createdAt(shop.getCreatedAt())
                 .updatedAt(shop.getUpdatedAt())
                 .build();
     }
 
-    public List<ShopDto.ShopInfo> getMyShops(String token, Long userId) {
-        List<Shop> shops = shopRepository.findByOwnerUserIdAndIsActiveTrue(userId);
-        UserServiceDto.UserInfo userInfo = null;
-        if (userId != null && token != null && !token.trim().isEmpty()) {
-            userInfo = userServiceHelper.getUserInfo(userId, token);
+    private List<Shop> findAllByIdInOrder(List<Long> shopIds) {
+        if (shopIds.isEmpty()) {
+            return List.of();
         }
 
-        final UserServiceDto.UserInfo finalUserInfo = userInfo; // final 변수로 만들어서 람다에서 사용
+        Map<Long, Shop> shopsById = shopRepository.findAllById(shopIds)
+                .stream()
+                .collect(Collectors.toMap(Shop::getId, Function.identity()));
 
-        return shops.stream()
-                .map(shop -> {
-                    long productCount = productRepository.countByShopAndStatus(shop, Product.ProductStatus.ACTIVE);
-
-                    return ShopDto.ShopInfo.builder()
-                            .id(shop.getId())
-                            .ownerUserId(shop.getOwnerUserId())
-                            .ownerUsername(finalUserInfo != null ? finalUserInfo.getUsername() : "알 수 없음")
-                            .name(shop.getName())
-                            .description(shop.getDescription())
-                            .businessNumber(shop.getBusinessNumber())
-                            .phone(shop.getPhone())
-                            .email(shop.getEmail())
-                            .address(shop.getAddress())
-                            .isActive(shop.getIsActive())
-                            .minOrderAmount(shop.getMinOrderAmount())
-                            .deliveryFee(shop.getDeliveryFee())
-                            .freeDeliveryAmount(shop.getFreeDeliveryAmount())
-                            .businessHours(shop.getBusinessHours())
-                            .productCount(productCount)
-                            .createdAt(shop.getCreatedAt())
-                            .updatedAt(shop.getUpdatedAt())
-                            .build();
-                })
+        return shopIds.stream()
+                .map(shopsById::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
-    public Page<ShopDto.ShopInfo> searchShops(String keyword, Pageable pageable, String token) {
-        return shopRepository.findByNameContainingAndIsActiveTrueOrderByCreatedAtDesc(keyword, pageable)
-                .map(shop -> {
-                    UserServiceDto.UserInfo ownerInfo = null;
-                    if (shop.getOwnerUserId() != null && token != null && !token.trim().isEmpty()) {
-                        ownerInfo = userServiceHelper.getUserInfo(shop.getOwnerUserId(), token);
-                    }
-                    long productCount = productRepository.countByShopAndStatus(shop, Product.ProductStatus.ACTIVE);
-
-                    return ShopDto.ShopInfo.builder()
-                            .id(shop.getId())
-                            .ownerUserId(shop.getOwnerUserId())
-                            .ownerUsername(ownerInfo != null ? ownerInfo.getUsername() : "알 수 없음")
-                            .name(shop.getName())
-                            .description(shop.getDescription())
-                            .businessNumber(shop.getBusinessNumber())
-                            .phone(shop.getPhone())
-                            .email(shop.getEmail())
-                            .address(shop.getAddress())
-                            .isActive(shop.getIsActive())
-                            .minOrderAmount(shop.getMinOrderAmount())
-                            .deliveryFee(shop.getDeliveryFee())
-                            .freeDeliveryAmount(shop.getFreeDeliveryAmount())
-                            .businessHours(shop.getBusinessHours())
-                            .productCount(productCount)
-                            .createdAt(shop.getCreatedAt())
-                            .updatedAt(shop.getUpdatedAt())
-                            .build();
-                });
-    }
-
 }
@@ -0,0 +1,52 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.dto.ProductDto;
+import com.berryweb.shop.search.ProductSuggestIndex;
+import com.berryweb.shop.search.ShopSuggestIndex;
+import com.berryweb.shop.search.SuggestEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 검색창 자동완성. 인메모리 접두어 인덱스만 조회하며 DB에 접근하지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestService {
+
+    private static final int DEFAULT_LIMIT = 5;
+
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ShopSuggestIndex shopSuggestIndex;
+
+    public ProductDto.SuggestResult suggest(String query, Integer limit) {
+        int size = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, ProductSuggestIndex.MAX_SUGGESTIONS);
+
+        // 인덱스 적재 전에는 빈 결과 (자동완성은 없어도 검색은 가능)
+        List<ProductDto.SuggestionInfo> products = productSuggestIndex.isReady()
+                ? toSuggestionInfos(productSuggestIndex.suggest(query, size))
+                : List.of();
+        List<ProductDto.SuggestionInfo> shops = shopSuggestIndex.isReady()
+                ? toSuggestionInfos(shopSuggestIndex.suggest(query, size))
+                : List.of();
+
+        return ProductDto.SuggestResult.builder()
+                .products(products)
+                .shops(shops)
+                .build();
+    }
+
+    private List<ProductDto.SuggestionInfo> toSuggestionInfos(List<SuggestEntry> entries) {
+        return entries.stream()
+                .map(entry -> ProductDto.SuggestionInfo.builder()
+                        .id(entry.getId())
+                        .name(entry.getName())
+                        .build())
+                .toList();
+    }
+
+}
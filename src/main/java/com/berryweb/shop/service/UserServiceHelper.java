@@ -1,22 +1,49 @@
 package com.berryweb.shop.service;
 
+import com.berryweb.shop.cache.CacheOutcome;
+import com.berryweb.shop.cache.TwoTierCache;
+import com.berryweb.shop.client.ConcurrencyLimitedClient;
+import com.berryweb.shop.client.ReactiveUserServiceClient;
 import com.berryweb.shop.client.UserServiceClient;
 import com.berryweb.shop.dto.UserServiceDto;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceHelper {
 
+    static final String USERS_CACHE = "users";
+    private static final String REQUEST_MEMO_ATTRIBUTE = UserServiceHelper.class.getName() + ".users";
+
     private final UserServiceClient userServiceClient;
+    private final CacheManager cacheManager;
+    private final EnrichmentExecutor enrichmentExecutor;
 
-    @Cacheable(value = "users", key = "#userId", condition = "#userId != null")
+    /**
+     * 사용자 한 명을 users 캐시를 거쳐 조회한다.
+     * 결과는 {@link UserServiceDto.UserLookup}으로 저장해 정상 결과, 호출 실패, 없는 사용자를 구분한다.
+     * 실패와 없는 사용자는 짧게만 보관하고, 실패 결과는 조회될 때 백그라운드에서 다시 시도한다.
+     */
     public UserServiceDto.UserInfo getUserInfo(Long userId, String token) {
         if (userId == null) {
             log.warn("getUserInfo called with null userId");
@@ -28,9 +55,16 @@ public class UserServiceHelper {
             return null;
         }
 
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        UserServiceDto.UserLookup lookup = cache != null
+                ? toLookup(cache.get(userId, () -> lookupUser(userId, token)))
+                : lookupUser(userId, token);
+        return lookup != null ? lookup.getUser() : null;
+    }
+
+    private UserServiceDto.UserLookup lookupUser(Long userId, String token) {
         try {
-            // token에 "Bearer " 접두사가 없으면 추가
-            String authToken = token.startsWith("Bearer ") ? token : "Bearer " + token;
+            String authToken = bearer(token);
 
             log.debug("Calling User Service for userId: {} with token prefix: {}",
                     userId, authToken.substring(0, Math.min(20, authToken.length())) + "...");
@@ -40,16 +74,23 @@ public class UserServiceHelper {
 
             if (response != null && response.isSuccess() && response.getData() != null) {
                 log.debug("Successfully retrieved user info for userId: {}", userId);
-                return response.getData();
-            } else {
-                log.warn("User Service returned unsuccessful response for userId: {}. Success: {}, Data: {}",
-                        userId, response != null ? response.isSuccess() : "null",
-                        response != null ? response.getData() : "null");
+                return UserServiceDto.UserLookup.found(response.getData());
             }
+
+            log.warn("User Service returned unsuccessful response for userId: {}. Success: {}, ErrorCode: {}",
+                    userId, response != null ? response.isSuccess() : "null",
+                    response != null ? response.getErrorCode() : "null");
+            return UserServiceDto.UserLookup.notFound();
+        } catch (FeignException.NotFound e) {
+            return UserServiceDto.UserLookup.notFound();
         } catch (Exception e) {
-            log.error("Failed to get user info for userId: {}", userId, e);
+            if (isRejected(e)) {
+                log.debug("User Service call rejected by concurrency limit for userId: {}", userId);
+            } else {
+                log.error("Failed to get user info for userId: {}", userId, e);
+            }
+            return UserServiceDto.UserLookup.fallback(null);
         }
-        return null;
     }
 
     public List<UserServiceDto.UserInfo> getUsersInfo(List<Long> userIds, String token) {
@@ -58,11 +99,184 @@ public class UserServiceHelper {
             return List.of();
         }
 
+        Map<Long, UserServiceDto.UserInfo> users = getUserInfoMap(userIds, token);
         return userIds.stream()
-                .filter(userId -> userId != null) // null userId 필터링
-                .map(userId -> getUserInfo(userId, token))
-                .filter(userInfo -> userInfo != null) // null 결과 필터링
+                .filter(Objects::nonNull) // null userId 필터링
+                .map(users::get)
+                .filter(Objects::nonNull) // 조회되지 않은 사용자 제외
                 .toList();
     }
 
+    /**
+     * 한 페이지에 필요한 사용자를 모아서 조회한다.
+     * 요청 단위 메모 → users 캐시 다건 조회 → 남은 ID만 user-service 일괄 API 순으로 찾는다.
+     * 일괄 API는 묶음별로 병렬 호출하며, 마감 시간 안에 오지 않은 사용자와 찾지 못한 사용자는 결과에 없다.
+     * WebClient 클라이언트면 묶음 조회를 Flux로 보내 스레드 풀을 거치지 않는다.
+     */
+    public Map<Long, UserServiceDto.UserInfo> getUserInfoMap(Collection<Long> userIds, String token) {
+        Set<Long> pending = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            if (userId != null) {
+                pending.add(userId);
+            }
+        }
+        if (pending.isEmpty() || !StringUtils.hasText(token)) {
+            return Map.of();
+        }
+
+        Map<Long, UserServiceDto.UserInfo> users = new HashMap<>();
+        Map<Long, UserServiceDto.UserInfo> memo = requestMemo();
+        if (memo != null) {
+            pending.removeIf(userId -> {
+                UserServiceDto.UserInfo userInfo = memo.get(userId);
+                if (userInfo != null) {
+                    users.put(userId, userInfo);
+                }
+                return userInfo != null;
+            });
+        }
+
+        // 호출 실패로 남은 결과는 다시 조회한다
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        if (!pending.isEmpty() && cache != null) {
+            getCached(cache, pending).forEach((key, value) -> {
+                UserServiceDto.UserLookup lookup = toLookup(value);
+                if (lookup == null || lookup.getOutcome() == CacheOutcome.Outcome.FALLBACK) {
+                    return;
+                }
+                pending.remove(key);
+                if (lookup.getUser() != null) {
+                    users.put((Long) key, lookup.getUser());
+                }
+            });
+        }
+
+        if (!pending.isEmpty()) {
+            List<UserServiceDto.UserInfo> fetched = userServiceClient instanceof ReactiveUserServiceClient reactiveClient
+                    ? fetchUsers(reactiveClient, pending, token, cache)
+                    : enrichmentExecutor.forEachBatch(List.copyOf(pending), batch -> fetchUsers(batch, token, cache));
+            for (UserServiceDto.UserInfo userInfo : fetched) {
+                users.put(userInfo.getId(), userInfo);
+            }
+        }
+
+        if (memo != null) {
+            memo.putAll(users);
+        }
+        return users;
+    }
+
+    private Map<Object, Object> getCached(Cache cache, Collection<Long> userIds) {
+        if (cache instanceof TwoTierCache twoTierCache) {
+            return twoTierCache.getAll(userIds);
+        }
+
+        Map<Object, Object> cached = new HashMap<>();
+        for (Long userId : userIds) {
+            Cache.ValueWrapper wrapper = cache.get(userId);
+            if (wrapper != null) {
+                cached.put(userId, wrapper.get());
+            }
+        }
+        return cached;
+    }
+
+    private List<UserServiceDto.UserInfo> fetchUsers(List<Long> userIds, String token, Cache cache) {
+        try {
+            return cacheUsers(userIds, userServiceClient.getUsersInfo(userIds, bearer(token)), cache);
+        } catch (Exception e) {
+            logBulkFailure(userIds, e);
+            return List.of();
+        }
+    }
+
+    // 마감 시간 안에 끝난 묶음만 모은다. 캐시 저장은 Netty 이벤트 루프가 아니라 호출 스레드에서 한다
+    private List<UserServiceDto.UserInfo> fetchUsers(ReactiveUserServiceClient reactiveClient, Collection<Long> userIds,
+                                                     String token, Cache cache) {
+        List<ReactiveUserServiceClient.UserBatch> batches = reactiveClient.findUsers(userIds, bearer(token))
+                .take(enrichmentExecutor.getDeadline())
+                .collectList()
+                .block();
+
+        List<UserServiceDto.UserInfo> fetched = new ArrayList<>(userIds.size());
+        for (ReactiveUserServiceClient.UserBatch batch : batches) {
+            if (batch.getError() != null) {
+                logBulkFailure(batch.getUserIds(), batch.getError());
+            } else {
+                fetched.addAll(cacheUsers(batch.getUserIds(), batch.getResponse(), cache));
+            }
+        }
+        return fetched;
+    }
+
+    // 정상 응답이면 받은 사용자와 응답에 없는 사용자(부정 결과)를 모두 캐시한다. 실패 응답은 캐시하지 않는다
+    private List<UserServiceDto.UserInfo> cacheUsers(List<Long> userIds,
+                                                     UserServiceDto.ApiResponse<List<UserServiceDto.UserInfo>> response,
+                                                     Cache cache) {
+        if (response != null && response.isSuccess() && response.getData() != null) {
+            log.debug("Retrieved {} of {} users from User Service", response.getData().size(), userIds.size());
+            List<UserServiceDto.UserInfo> fetched = response.getData().stream()
+                    .filter(userInfo -> userInfo != null && userInfo.getId() != null)
+                    .toList();
+            if (cache != null) {
+                Set<Long> missing = new HashSet<>(userIds);
+                for (UserServiceDto.UserInfo userInfo : fetched) {
+                    missing.remove(userInfo.getId());
+                    cache.put(userInfo.getId(), UserServiceDto.UserLookup.found(userInfo));
+                }
+                missing.forEach(userId -> cache.put(userId, UserServiceDto.UserLookup.notFound()));
+            }
+            return fetched;
+        }
+        log.warn("User Service returned unsuccessful bulk response for {} users. Message: {}",
+                userIds.size(), response != null ? response.getMessage() : "null");
+        return List.of();
+    }
+
+    private static void logBulkFailure(List<Long> userIds, Throwable e) {
+        if (isRejected(e)) {
+            log.debug("User Service bulk call rejected by concurrency limit for {} users", userIds.size());
+        } else {
+            log.error("Failed to get user info for userIds: {}", userIds, e);
+        }
+    }
+
+    // 동시 실행 한도로 거절된 호출은 장애가 아니라 부하 차단이므로 스택 없이 남긴다. block()을 거치면 한 번 감싸져 온다
+    private static boolean isRejected(Throwable e) {
+        return e instanceof ConcurrencyLimitedClient.ConcurrencyLimitExceededException
+                || e.getCause() instanceof ConcurrencyLimitedClient.ConcurrencyLimitExceededException;
+    }
+
+    // 이전 형식(UserInfo 그대로 저장)은 정상 결과로 본다
+    private static UserServiceDto.UserLookup toLookup(Object cached) {
+        if (cached instanceof UserServiceDto.UserLookup lookup) {
+            return lookup;
+        }
+        if (cached instanceof UserServiceDto.UserInfo userInfo) {
+            return UserServiceDto.UserLookup.found(userInfo);
+        }
+        return null;
+    }
+
+    // 웹 요청 안에서만 사용. 같은 요청에서 여러 번 필요한 사용자를 다시 찾지 않는다
+    @SuppressWarnings("unchecked")
+    private static Map<Long, UserServiceDto.UserInfo> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        Object memo = attributes.getAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new ConcurrentHashMap<Long, UserServiceDto.UserInfo>();
+            attributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<Long, UserServiceDto.UserInfo>) memo;
+    }
+
+    // token에 "Bearer " 접두사가 없으면 추가
+    private static String bearer(String token) {
+        return token.startsWith("Bearer ") ? token : "Bearer " + token;
+    }
+
 }
@@ -0,0 +1,10 @@
+-- 상점별 판매중 상품 수 (Shop.activeProductCount)
+ALTER TABLE shop
+    ADD COLUMN active_product_count BIGINT NOT NULL DEFAULT 0;
+
+-- 기존 상점은 지금 판매중인 상품 수로 채운다
+UPDATE shop s
+SET s.active_product_count = (SELECT COUNT(*)
+                              FROM product p
+                              WHERE p.shop_id = s.id
+                                AND p.status = 'ACTIVE');
@@ -0,0 +1,30 @@
+-- 상품 평점 집계 (합계와 1~5점 분포). 평균과 개수는 이 값들과 함께 증감한다
+ALTER TABLE product
+    ADD COLUMN rating_sum    BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN rating1_count INT    NOT NULL DEFAULT 0,
+    ADD COLUMN rating2_count INT    NOT NULL DEFAULT 0,
+    ADD COLUMN rating3_count INT    NOT NULL DEFAULT 0,
+    ADD COLUMN rating4_count INT    NOT NULL DEFAULT 0,
+    ADD COLUMN rating5_count INT    NOT NULL DEFAULT 0;
+
+-- 기존 상품은 활성 리뷰로 채운다 (이전에는 평균과 개수도 갱신되지 않았다)
+UPDATE product p
+    LEFT JOIN (SELECT r.product_id,
+                      SUM(r.rating)                                AS rating_sum,
+                      COUNT(*)                                     AS rating_count,
+                      SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END) AS rating1_count,
+                      SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END) AS rating2_count,
+                      SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END) AS rating3_count,
+                      SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END) AS rating4_count,
+                      SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) AS rating5_count
+               FROM review r
+               WHERE r.is_active = TRUE
+               GROUP BY r.product_id) agg ON agg.product_id = p.id
+SET p.rating_sum     = COALESCE(agg.rating_sum, 0),
+    p.rating_count   = COALESCE(agg.rating_count, 0),
+    p.rating_average = COALESCE(ROUND(agg.rating_sum / agg.rating_count, 2), 0),
+    p.rating1_count  = COALESCE(agg.rating1_count, 0),
+    p.rating2_count  = COALESCE(agg.rating2_count, 0),
+    p.rating3_count  = COALESCE(agg.rating3_count, 0),
+    p.rating4_count  = COALESCE(agg.rating4_count, 0),
+    p.rating5_count  = COALESCE(agg.rating5_count, 0);
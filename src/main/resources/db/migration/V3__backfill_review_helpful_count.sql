@@ -0,0 +1,5 @@
+-- 도움됨 수는 지금까지 갱신되지 않았으므로 투표 행 수로 채운다. 이후에는 ReviewHelpfulCounter가 반영한다
+UPDATE review r
+SET r.helpful_count = (SELECT COUNT(*)
+                       FROM review_helpful h
+                       WHERE h.review_id = r.id);
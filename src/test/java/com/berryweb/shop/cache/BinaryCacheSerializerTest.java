@@ -0,0 +1,125 @@
+package com.berryweb.shop.cache;
+
+import com.berryweb.shop.dto.ProductDto;
+import com.berryweb.shop.dto.UserServiceDto;
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.entity.ProductOptionGroup;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryCacheSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final BinaryCacheSerializer serializer = new BinaryCacheSerializer(
+            List.of(new UserInfoCodec(), new UserLookupCodec(), new ProductInfoCodec()), json, 256);
+
+    @Test
+    void roundTripsUserInfoSmallerThanJson() {
+        UserServiceDto.UserInfo user = UserServiceDto.UserInfo.builder()
+                .id(42L)
+                .username("berry")
+                .email("berry@example.com")
+                .name("베리")
+                .role(UserServiceDto.UserInfo.UserRole.ADMIN)
+                .isActive(true)
+                .build();
+
+        byte[] bytes = serializer.serialize(user);
+
+        assertThat(serializer.deserialize(bytes)).isEqualTo(user);
+        assertThat(bytes.length).isLessThan(json.serialize(user).length / 3);
+    }
+
+    @Test
+    void roundTripsUserLookupOutcomes() {
+        UserServiceDto.UserInfo user = UserServiceDto.UserInfo.builder().id(7L).username("berry").build();
+
+        assertThat(serializer.deserialize(serializer.serialize(UserServiceDto.UserLookup.found(user))))
+                .isEqualTo(UserServiceDto.UserLookup.found(user));
+        assertThat(serializer.deserialize(serializer.serialize(UserServiceDto.UserLookup.fallback(null))))
+                .isEqualTo(UserServiceDto.UserLookup.fallback(null));
+        assertThat(serializer.deserialize(serializer.serialize(UserServiceDto.UserLookup.notFound())))
+                .isEqualTo(UserServiceDto.UserLookup.notFound());
+    }
+
+    @Test
+    void roundTripsProductInfoTreeWithNullsAndCompression() {
+        ProductDto.ProductInfo product = product("아주 긴 상품 설명입니다. ".repeat(50));
+
+        byte[] bytes = serializer.serialize(product);
+
+        assertThat(bytes[0] & 0x01).isEqualTo(1);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(product);
+
+        ProductDto.ProductInfo small = product(null);
+        small.setOptionGroups(null);
+        byte[] smallBytes = serializer.serialize(small);
+        assertThat(smallBytes[0] & 0x01).isZero();
+        assertThat(serializer.deserialize(smallBytes)).isEqualTo(small);
+    }
+
+    @Test
+    void handlesNullValueAndFallsBackToJsonForOtherTypes() {
+        assertThat(serializer.deserialize(serializer.serialize(NullValue.INSTANCE))).isSameAs(NullValue.INSTANCE);
+        assertThat(serializer.deserialize(serializer.serialize("plain"))).isEqualTo("plain");
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    void rejectsOtherSchemaVersions() {
+        byte[] bytes = serializer.serialize(UserServiceDto.UserInfo.builder().id(1L).build());
+        bytes[2] = 9;
+
+        assertThatThrownBy(() -> serializer.deserialize(bytes)).isInstanceOf(SerializationException.class);
+    }
+
+    private static ProductDto.ProductInfo product(String description) {
+        return ProductDto.ProductInfo.builder()
+                .id(7L)
+                .shopId(3L)
+                .shopName("베리 상점")
+                .name("유기농 딸기잼")
+                .description(description)
+                .price(new BigDecimal("12900.00"))
+                .salePrice(new BigDecimal("99999999999999999999.99"))
+                .stockQuantity(-1)
+                .trackStock(false)
+                .status(Product.ProductStatus.ACTIVE)
+                .isFeatured(true)
+                .ratingAverage(new BigDecimal("4.50"))
+                .ratingCount(12)
+                .images(List.of(ProductDto.ProductImageInfo.builder()
+                        .id(1L)
+                        .storedFilename("a.png")
+                        .fileSize(1024L)
+                        .isMain(true)
+                        .sortOrder(0)
+                        .createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 6_000))
+                        .build()))
+                .optionGroups(List.of(ProductDto.ProductOptionGroupInfo.builder()
+                        .id(2L)
+                        .name("용량")
+                        .type(ProductOptionGroup.OptionType.RADIO)
+                        .isRequired(true)
+                        .options(List.of(ProductDto.ProductOptionInfo.builder()
+                                .id(5L)
+                                .name("500g")
+                                .additionalPrice(BigDecimal.ZERO)
+                                .isActive(true)
+                                .build()))
+                        .build()))
+                .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+    }
+
+}
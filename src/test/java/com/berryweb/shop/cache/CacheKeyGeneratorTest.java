@@ -0,0 +1,156 @@
+package com.berryweb.shop.cache;
+
+import com.berryweb.shop.dto.ProductDto;
+import com.berryweb.shop.dto.ShopDto;
+import com.berryweb.shop.service.ProductCacheRefresher;
+import com.berryweb.shop.service.ProductService;
+import com.berryweb.shop.service.ShopCacheRefresher;
+import com.berryweb.shop.service.ShopService;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class CacheKeyGeneratorTest {
+
+    private final CacheKeyGenerator keyGenerator = new CacheKeyGenerator();
+    private final SampleService target = new SampleService();
+
+    @Test
+    void encodesArgumentsByTypeAndSkipsExcludedParams() throws Exception {
+        Method method = SampleService.class.getMethod("find", Long.class, String.class, Status.class, String.class);
+
+        Object key = keyGenerator.generate(target, method, 42L, "a:b", Status.ACTIVE, "Bearer secret-token");
+
+        assertThat(key).isEqualTo("SampleService.find:42:3'a:b:ACTIVE");
+        assertThat(keyGenerator.generate(target, method, 42L, "a:b", Status.ACTIVE, "Bearer other-token"))
+                .isEqualTo(key);
+        assertThat(keyGenerator.generate(target, method, 42L, null, Status.ACTIVE, null))
+                .isEqualTo("SampleService.find:42:_:ACTIVE");
+    }
+
+    @Test
+    void presenceOnlyParamsKeepWhetherTheValueIsSetAndMatchTheStaticKey() throws Exception {
+        Method method = SampleService.class.getMethod("findWithOwner", Long.class, String.class);
+
+        Object withToken = keyGenerator.generate(target, method, 7L, "Bearer a");
+
+        assertThat(withToken).isEqualTo("SampleService.findWithOwner:7:T")
+                .isEqualTo(keyGenerator.generate(target, method, 7L, "Bearer b"))
+                .isEqualTo(CacheKeyGenerator.key("SampleService.findWithOwner", 7L, true));
+        assertThat(keyGenerator.generate(target, method, 7L, " "))
+                .isEqualTo(keyGenerator.generate(target, method, 7L, null))
+                .isEqualTo(CacheKeyGenerator.key("SampleService.findWithOwner", 7L, false));
+    }
+
+    // updateShop의 @CacheEvict 키가 getShopById 캐시 키(토큰 있음/없음)와 정확히 같아야 수정 후 옛 값이 남지 않는다
+    @Test
+    void shopEvictionKeysMatchGeneratedShopKeys() throws Exception {
+        ShopService shopService = mock(ShopService.class);
+        Method getShopById = ShopService.class.getMethod("getShopById", Long.class, String.class);
+        Method updateShop = ShopService.class.getMethod("updateShop", Long.class, ShopDto.UpdateShopRequest.class, String.class, Long.class);
+
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("shopId", 42L);
+        List<Object> evictedKeys = Arrays.stream(updateShop.getAnnotation(Caching.class).evict())
+                .filter(evict -> !evict.key().isEmpty())
+                .map(evict -> new SpelExpressionParser().parseExpression(evict.key()).getValue(context))
+                .toList();
+
+        assertThat(evictedKeys).containsExactlyInAnyOrder(
+                keyGenerator.generate(shopService, getShopById, 42L, "Bearer token"),
+                keyGenerator.generate(shopService, getShopById, 42L, null));
+    }
+
+    // 백그라운드 갱신기는 생성된 키에서 id를 되찾고, 토큰으로 만든 상점 키는 맡지 않는다
+    @Test
+    void refreshersRecoverIdsFromGeneratedKeys() throws Exception {
+        ProductService productService = mock(ProductService.class);
+        ShopService shopService = mock(ShopService.class);
+        Method getProductById = ProductService.class.getMethod("getProductById", Long.class, String.class);
+        Method getShopById = ShopService.class.getMethod("getShopById", Long.class, String.class);
+        ProductCacheRefresher productRefresher = new ProductCacheRefresher(productService);
+        ShopCacheRefresher shopRefresher = new ShopCacheRefresher(shopService);
+
+        Object productKey = keyGenerator.generate(productService, getProductById, 42L, "Bearer token");
+        assertThat(productRefresher.canRefresh(productKey)).isTrue();
+        productRefresher.refresh(productKey);
+        verify(productService).loadProductInfo(42L);
+
+        Object anonymousShopKey = keyGenerator.generate(shopService, getShopById, 7L, null);
+        assertThat(shopRefresher.canRefresh(keyGenerator.generate(shopService, getShopById, 7L, "Bearer token"))).isFalse();
+        assertThat(shopRefresher.canRefresh(anonymousShopKey)).isTrue();
+        shopRefresher.refresh(anonymousShopKey);
+        verify(shopService).loadShopInfo(7L, null);
+
+        assertThat(CacheKeyGenerator.arguments("SampleService.find:#abc", "SampleService.find")).isNull();
+        assertThat(CacheKeyGenerator.arguments("SampleService.findAll:1", "SampleService.find")).isNull();
+    }
+
+    @Test
+    void keysAreStableAcrossGeneratorsAndDistinguishTypes() throws Exception {
+        Method method = SampleService.class.getMethod("any", Object.class);
+
+        assertThat(new CacheKeyGenerator().generate(target, method, PageRequest.of(2, 20, Sort.by("price"))))
+                .isEqualTo(keyGenerator.generate(target, method, PageRequest.of(2, 20, Sort.by("price"))))
+                .isEqualTo("SampleService.any:p2,20,10'price: ASC");
+        assertThat(keyGenerator.generate(target, method, 1L))
+                .isNotEqualTo(keyGenerator.generate(target, method, "1"))
+                .isNotEqualTo(keyGenerator.generate(target, method, true));
+    }
+
+    @Test
+    void longStringsAndDtosAreHashedAndKeyLengthIsBounded() throws Exception {
+        Method method = SampleService.class.getMethod("any", Object.class);
+        ProductDto.SearchCondition condition = ProductDto.SearchCondition.builder()
+                .keyword("딸기".repeat(100))
+                .minRating(4)
+                .build();
+
+        String dtoKey = (String) keyGenerator.generate(target, method, condition);
+        String longKey = (String) keyGenerator.generate(target, method, "x".repeat(10_000));
+
+        assertThat(dtoKey).startsWith("SampleService.any:#").doesNotContain("딸기");
+        assertThat(longKey).hasSizeLessThan(50);
+        assertThat(keyGenerator.generate(target, method, condition)).isEqualTo(dtoKey);
+
+        Method many = SampleService.class.getMethod("many", String.class, String.class, String.class, String.class);
+        String manyKey = (String) keyGenerator.generate(target, many, "a".repeat(60), "b".repeat(60), "c".repeat(60), "d".repeat(60));
+        assertThat(manyKey).hasSizeLessThanOrEqualTo(CacheKeyGenerator.MAX_KEY_LENGTH).startsWith("SampleService.many:#");
+    }
+
+    enum Status {
+        ACTIVE
+    }
+
+    static class SampleService {
+
+        public Object find(Long id, String name, Status status, @CacheKeyExclude String token) {
+            return null;
+        }
+
+        public Object findWithOwner(Long id, @CacheKeyExclude(keepPresence = true) String token) {
+            return null;
+        }
+
+        public Object any(Object value) {
+            return null;
+        }
+
+        public Object many(String a, String b, String c, String d) {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.berryweb.shop.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class TwoTierCacheManagerTest {
+
+    private static final String CHANNEL = "test:invalidation";
+
+    private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        TwoTierCacheProperties properties = new TwoTierCacheProperties();
+        properties.setInvalidationChannel(CHANNEL);
+        properties.getLocalDefaults().setMaxWeight(100);
+        cacheManager = new TwoTierCacheManager(remoteCacheManager, properties, meterRegistry, redisTemplate);
+    }
+
+    @Test
+    void fillsL1FromL2AndCountsEachTier() {
+        remoteCacheManager.getCache("users").put(1L, "alice");
+        Cache cache = cacheManager.getCache("users");
+
+        assertThat(cache.get(1L).get()).isEqualTo("alice");
+        remoteCacheManager.getCache("users").evict(1L);
+        assertThat(cache.get(1L).get()).isEqualTo("alice");
+        assertThat(cache.get(2L)).isNull();
+
+        assertThat(count("l1", "hit")).isEqualTo(1);
+        assertThat(count("l1", "miss")).isEqualTo(2);
+        assertThat(count("l2", "hit")).isEqualTo(1);
+        assertThat(count("l2", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void writesPublishInvalidationForPeers() {
+        Cache cache = cacheManager.getCache("users");
+        cache.put(1L, "alice");
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(CHANNEL), message.capture());
+        assertThat(message.getValue()).endsWith("\nusers\n1");
+        assertThat(remoteCacheManager.getCache("users").get(1L).get()).isEqualTo("alice");
+    }
+
+    @Test
+    void loaderFillsDoNotNotifyPeers() {
+        Cache cache = cacheManager.getCache("users");
+
+        assertThat(cache.get(1L, () -> "alice")).isEqualTo("alice");
+        assertThat(remoteCacheManager.getCache("users").get(1L).get()).isEqualTo("alice");
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+
+        cache.evict(1L);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), endsWith("\nusers\n1"));
+    }
+
+    @Test
+    void peerMessagesEvictL1ButOwnMessagesAreIgnored() {
+        Cache cache = cacheManager.getCache("users");
+        cache.put(1L, "alice");
+        ArgumentCaptor<String> ownMessage = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(anyString(), ownMessage.capture());
+
+        // 자기 노드 메시지는 무시 - L2를 비워도 L1에서 그대로 조회된다
+        remoteCacheManager.getCache("users").evict(1L);
+        cacheManager.onMessage(message(ownMessage.getValue()), null);
+        assertThat(cache.get(1L).get()).isEqualTo("alice");
+
+        cacheManager.onMessage(message("other-node\nusers\n1"), null);
+        assertThat(cache.get(1L)).isNull();
+
+        cache.put(2L, "bob");
+        remoteCacheManager.getCache("users").clear();
+        cacheManager.onMessage(message("other-node\nusers"), null);
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    void weighsCollectionsByElementCount() {
+        assertThat(TwoTierCache.weigh("k", "value")).isEqualTo(1);
+        assertThat(TwoTierCache.weigh("k", List.of(1, 2, 3))).isEqualTo(3);
+        assertThat(TwoTierCache.weigh("k", List.of())).isEqualTo(1);
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("cache.tier.requests")
+                .tags("cache", "users", "tier", tier, "result", result)
+                .counter()
+                .count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
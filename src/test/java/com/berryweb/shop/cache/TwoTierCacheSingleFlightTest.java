@@ -0,0 +1,173 @@
+package com.berryweb.shop.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class TwoTierCacheSingleFlightTest {
+
+    private static final int THREADS = 300;
+    private static final int KEYS = 3;
+
+    private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TwoTierCacheProperties properties = new TwoTierCacheProperties();
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEarlyRefreshBeta(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cacheManager != null) {
+            cacheManager.destroy();
+        }
+    }
+
+    @Test
+    void concurrentMissesShareOneLoadPerKey() throws Exception {
+        Cache cache = createCacheManager().getCache("users");
+        Map<Long, AtomicInteger> backendCalls = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                long key = i % KEYS;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(key, () -> {
+                        backendCalls.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                        Thread.sleep(200);
+                        return "user-" + key;
+                    });
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < THREADS; i++) {
+                assertThat(results.get(i).get(10, TimeUnit.SECONDS)).isEqualTo("user-" + (i % KEYS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(backendCalls).hasSize(KEYS);
+        assertThat(backendCalls.values()).allSatisfy(calls -> assertThat(calls.get()).isEqualTo(1));
+        assertThat(loads("load")).isEqualTo(KEYS);
+    }
+
+    @Test
+    void loaderFailureReachesWaitersAndNextCallRetries() throws Exception {
+        Cache cache = createCacheManager().getCache("users");
+        AtomicInteger backendCalls = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> cache.get(1L, () -> {
+                backendCalls.incrementAndGet();
+                loading.countDown();
+                release.await();
+                throw new IllegalStateException("user-service down");
+            }));
+            loading.await();
+            Future<Object> waiter = executor.submit(() -> cache.get(1L, () -> {
+                backendCalls.incrementAndGet();
+                return "unexpected";
+            }));
+            waitUntil(() -> loads("coalesced") == 1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("user-service down");
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("user-service down");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.get(1L, () -> "alice")).isEqualTo("alice");
+        assertThat(backendCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void refresherReloadsEarlyInBackgroundWhileServingCachedValue() {
+        properties.setEarlyRefreshBeta(1_000_000_000);
+        AtomicInteger backendCalls = new AtomicInteger();
+        createCacheManager().registerRefresher(new CacheRefresher() {
+            @Override
+            public String getCacheName() {
+                return "users";
+            }
+
+            @Override
+            public boolean canRefresh(Object key) {
+                return true;
+            }
+
+            @Override
+            public Object refresh(Object key) {
+                return "v" + backendCalls.incrementAndGet();
+            }
+        });
+        Cache cache = cacheManager.getCache("users");
+
+        assertThat(cache.get(1L, () -> "v" + backendCalls.incrementAndGet())).isEqualTo("v1");
+        assertThat(cache.get(1L, () -> "caller loader must not be replayed")).isEqualTo("v1");
+
+        waitUntil(() -> "v2".equals(cache.get(1L).get()));
+        assertThat(loads("early_refresh")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void withoutRefresherTheWinningCallerRefreshesEarlyItself() {
+        properties.setEarlyRefreshBeta(1_000_000_000);
+        Cache cache = createCacheManager().getCache("users");
+
+        assertThat(cache.get(1L, () -> "v1")).isEqualTo("v1");
+        assertThat(cache.get(1L, () -> "v2")).isEqualTo("v2");
+        assertThat(loads("early_refresh")).isEqualTo(1);
+    }
+
+    private TwoTierCacheManager createCacheManager() {
+        cacheManager = new TwoTierCacheManager(remoteCacheManager, properties, meterRegistry,
+                mock(StringRedisTemplate.class));
+        return cacheManager;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private double loads(String type) {
+        return meterRegistry.get("cache.loads").tag("cache", "users").tag("type", type).counter().count();
+    }
+
+}
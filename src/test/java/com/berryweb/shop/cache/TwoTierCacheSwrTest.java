@@ -0,0 +1,196 @@
+package com.berryweb.shop.cache;
+
+import com.berryweb.shop.config.CacheConfig;
+import com.berryweb.shop.dto.ShopDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class TwoTierCacheSwrTest {
+
+    private static final Duration SOFT_TTL = Duration.ofMillis(50);
+
+    private final AtomicBoolean redisDown = new AtomicBoolean();
+    private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager() {
+        @Override
+        protected Cache createConcurrentMapCache(String name) {
+            return new ConcurrentMapCache(name) {
+                @Override
+                public ValueWrapper get(Object key) {
+                    failIfDown();
+                    return super.get(key);
+                }
+
+                @Override
+                public void put(Object key, Object value) {
+                    failIfDown();
+                    super.put(key, value);
+                }
+            };
+        }
+    };
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheErrorHandler errorHandler = mock(CacheErrorHandler.class);
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        TwoTierCacheProperties properties = new TwoTierCacheProperties();
+        TwoTierCacheProperties.Swr swr = new TwoTierCacheProperties.Swr();
+        swr.setSoftTtl(SOFT_TTL);
+        swr.setHardTtl(Duration.ofMinutes(1));
+        properties.getSwr().put("shops", swr);
+
+        cacheManager = new TwoTierCacheManager(remoteCacheManager, properties, meterRegistry,
+                mock(StringRedisTemplate.class));
+        cacheManager.setErrorHandler(errorHandler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.destroy();
+    }
+
+    @Test
+    void servesStaleValueWhileRefresherReloadsInBackground() throws Exception {
+        AtomicInteger backendCalls = new AtomicInteger();
+        cacheManager.registerRefresher(refresher(key -> "v" + backendCalls.incrementAndGet()));
+        Cache cache = cacheManager.getCache("shops");
+
+        assertThat(cache.get(1L, () -> "v" + backendCalls.incrementAndGet())).isEqualTo("v1");
+        assertThat(remoteCacheManager.getCache("shops").get(1L).get()).isInstanceOf(SwrEntry.class);
+
+        Thread.sleep(SOFT_TTL.toMillis() * 2);
+        String served = cache.get(1L, () -> {
+            throw new AssertionError("caller loader must not be replayed");
+        });
+        assertThat(served).isEqualTo("v1");
+
+        waitUntil(() -> "v2".equals(cache.get(1L).get()));
+        assertThat(backendCalls.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.loads").tag("cache", "shops").tag("type", "stale_refresh")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void withoutRefresherTheCallerReloadsStaleValueOnItsOwnThread() throws Exception {
+        Cache cache = cacheManager.getCache("shops");
+        cache.get(1L, () -> "v1");
+
+        Thread.sleep(SOFT_TTL.toMillis() * 2);
+        Thread caller = Thread.currentThread();
+        String served = cache.get(1L, () -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            return "v2";
+        });
+        assertThat(served).isEqualTo("v2");
+        assertThat(cache.get(1L).get()).isEqualTo("v2");
+    }
+
+    @Test
+    void keepsLastGoodValueWhenRefreshFails() throws Exception {
+        Cache cache = cacheManager.getCache("shops");
+        AtomicInteger refreshAttempts = new AtomicInteger();
+        cache.get(1L, () -> "v1");
+
+        Thread.sleep(SOFT_TTL.toMillis() * 2);
+        String served = cache.get(1L, () -> {
+            refreshAttempts.incrementAndGet();
+            throw new IllegalStateException("db down");
+        });
+        assertThat(served).isEqualTo("v1");
+        assertThat(refreshAttempts.get()).isEqualTo(1);
+        assertThat(cache.get(1L).get()).isEqualTo("v1");
+
+        // 값은 여전히 stale이므로 다음 호출이 다시 갱신한다
+        assertThat(cache.get(1L, () -> "v2")).isEqualTo("v2");
+    }
+
+    @Test
+    void redisFailuresGoToErrorHandlerAndLocalValueKeepsServing() {
+        Cache cache = cacheManager.getCache("shops");
+        cache.get(1L, () -> "v1");
+
+        redisDown.set(true);
+        assertThat(cache.get(1L, () -> "unused")).isEqualTo("v1");
+        assertThat(cache.get(2L, () -> "v2")).isEqualTo("v2");
+        assertThat(cache.get(2L, () -> "unused")).isEqualTo("v2");
+
+        verify(errorHandler, atLeastOnce()).handleCacheGetError(any(), any(), any());
+        verify(errorHandler, atLeastOnce()).handleCachePutError(any(), any(), any(), any());
+    }
+
+    @Test
+    void envelopeRoundTripsThroughJsonSerializer() {
+        GenericJackson2JsonRedisSerializer serializer = CacheConfig.jsonSerializer();
+        ShopDto.ShopInfo shop = ShopDto.ShopInfo.builder()
+                .id(7L)
+                .name("베리웹 상점")
+                .deliveryFee(new BigDecimal("3000"))
+                .productCount(12L)
+                .createdAt(LocalDateTime.of(2025, 3, 1, 9, 30))
+                .build();
+
+        Object restored = serializer.deserialize(serializer.serialize(new SwrEntry(shop, 1234L)));
+
+        assertThat(restored).isInstanceOf(SwrEntry.class);
+        assertThat(((SwrEntry) restored).getRefreshAfter()).isEqualTo(1234L);
+        assertThat(((SwrEntry) restored).getValue()).usingRecursiveComparison().isEqualTo(shop);
+    }
+
+    private static CacheRefresher refresher(Function<Object, Object> loader) {
+        return new CacheRefresher() {
+            @Override
+            public String getCacheName() {
+                return "shops";
+            }
+
+            @Override
+            public boolean canRefresh(Object key) {
+                return true;
+            }
+
+            @Override
+            public Object refresh(Object key) {
+                return loader.apply(key);
+            }
+        };
+    }
+
+    private void failIfDown() {
+        if (redisDown.get()) {
+            throw new IllegalStateException("redis down");
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.berryweb.shop.client;
+
+import com.berryweb.shop.dto.UserServiceDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.RetryableException;
+import feign.Retryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger serverConcurrency = new AtomicInteger();
+    private final AtomicInteger maxServerConcurrency = new AtomicInteger();
+    private final CountDownLatch arrived = new CountDownLatch(3);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void rejectsAboveLimitAndBacksOffOnDrops() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 10);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(5), true);
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(meterRegistry.get("client.limiter.rejections").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("client.limiter.drops").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void growsWhileLatencyIsSteadyAndShrinksWhenItRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 2, 50);
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limiter, 10);
+        }
+        int grown = limiter.getLimit();
+        assertThat(grown).isEqualTo(50);
+
+        for (int i = 0; i < 5; i++) {
+            saturate(limiter, 200);
+        }
+        assertThat(limiter.getLimit()).isLessThan(grown / 2);
+        assertThat(meterRegistry.get("client.limiter.limit").gauge().value()).isEqualTo(limiter.getLimit());
+    }
+
+    @Test
+    void idleLimiterDoesNotGrow() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 2, 50);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10), false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    /**
+     * 표본을 직접 넣어 지연 변화에 따른 한도를 정확히 확인한다 (시각, 스레드 타이밍에 의존하지 않음).
+     * 30ms로 한도를 끝까지 키운 뒤 300ms로 느려지면 줄어들고, 느린 지연이 장기 평균이 되면 다시 늘어난다.
+     */
+    @Test
+    void limitFollowsSyntheticLatencySamplesExactly() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 2, 20);
+
+        for (int i = 0; i < 10; i++) {
+            saturate(limiter, 30);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        for (int i = 0; i < 3; i++) {
+            saturate(limiter, 300);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(7);
+
+        for (int i = 0; i < 40; i++) {
+            saturate(limiter, 300);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    /**
+     * 한도만큼의 호출이 stub에 묶여 있는 동안 다음 호출은 원격까지 가지 않고 바로 거절된다.
+     */
+    @Test
+    void callsOverTheLimitFailFastWithoutReachingTheStub() throws Exception {
+        startStub();
+        AdaptiveConcurrencyLimiter limiter = limiter(3, 1, 3);
+        UserServiceClient client = client(limiter);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<?>> held = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                long userId = i + 1;
+                held.add(executor.submit(() -> client.getUserInfo(userId, "Bearer test-token")));
+            }
+            assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+
+            long startedAt = System.nanoTime();
+            assertThatThrownBy(() -> client.getUserInfo(99L, "Bearer test-token"))
+                    .isInstanceOf(RetryableException.class)
+                    .hasCauseInstanceOf(ConcurrencyLimitedClient.ConcurrencyLimitExceededException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(1_000);
+
+            release.countDown();
+            for (Future<?> future : held) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(maxServerConcurrency.get()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(meterRegistry.get("client.limiter.rejections").counter().count()).isEqualTo(1);
+    }
+
+    private void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/v1/users", this::handle);
+        server.start();
+    }
+
+    // 요청은 도착을 알린 뒤 release가 열릴 때까지 붙잡아 둔다
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = serverConcurrency.incrementAndGet();
+        maxServerConcurrency.accumulateAndGet(current, Math::max);
+        arrived.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+            serverConcurrency.decrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            UserServiceDto.UserInfo user = UserServiceDto.UserInfo.builder()
+                    .id(Long.parseLong(path.substring(path.lastIndexOf('/') + 1)))
+                    .username("user")
+                    .build();
+            byte[] body = objectMapper.writeValueAsBytes(
+                    UserServiceDto.ApiResponse.builder().success(true).data(user).build());
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // 운영 설정(UserServiceClientConfig)과 같은 방식으로 전송 계층에 한도를 건다. Spring Cloud 기본값처럼 재시도는 없다
+    private UserServiceClient client(AdaptiveConcurrencyLimiter limiter) {
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .decoder(new SpringDecoder(() -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))))
+                .retryer(Retryer.NEVER_RETRY)
+                .addCapability(new ConcurrencyLimitedClient.LimiterCapability(limiter))
+                .target(UserServiceClient.class, "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter("user-service", initialLimit, minLimit, maxLimit, 1.5, 100, meterRegistry);
+    }
+
+    // 한도까지 채운 뒤 모두 같은 지연으로 끝낸다
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttMillis) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMillis), false);
+        }
+    }
+
+}
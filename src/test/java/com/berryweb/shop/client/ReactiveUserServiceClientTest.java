@@ -0,0 +1,234 @@
+package com.berryweb.shop.client;
+
+import com.berryweb.shop.dto.UserServiceDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReactiveUserServiceClientTest {
+
+    private static final String TOKEN = "Bearer test-token";
+    private static final long UNKNOWN_USER_ID = 404L;
+    private static final long BROKEN_USER_ID = 500L;
+    private static final long OVERLOADED_USER_ID = 503L;
+    private static final long SLOW_USER_ID = 900L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final CountDownLatch arrived = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private ConnectionProvider connectionProvider;
+    private ReactiveUserServiceClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/api/v1/users", this::handle);
+        server.start();
+
+        connectionProvider = ConnectionProvider.builder("test").maxConnections(4).build();
+        client = client(new AdaptiveConcurrencyLimiter("user-service", 20, 4, 64, 1.5, 100, new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        connectionProvider.dispose();
+        server.stop(0);
+    }
+
+    private ReactiveUserServiceClient client(AdaptiveConcurrencyLimiter limiter) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        return new ReactiveUserServiceClient(webClient, Duration.ofSeconds(5), limiter, 2, 2);
+    }
+
+    @Test
+    void looksUpSingleUserAndMapsNotFound() {
+        UserServiceDto.ApiResponse<UserServiceDto.UserInfo> found = client.getUserInfo(7L, TOKEN);
+        assertThat(found.isSuccess()).isTrue();
+        assertThat(found.getData().getUsername()).isEqualTo("user7");
+
+        UserServiceDto.ApiResponse<UserServiceDto.UserInfo> missing = client.getUserInfo(UNKNOWN_USER_ID, TOKEN);
+        assertThat(missing.isSuccess()).isFalse();
+        assertThat(missing.getErrorCode()).isEqualTo(UserServiceClient.NOT_FOUND_CODE);
+    }
+
+    @Test
+    void callsOverTheSharedLimitFailFastWithoutReachingTheServer() throws Exception {
+        SimpleMeterRegistry limiterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("user-service", 1, 1, 1, 1.5, 100,
+                limiterRegistry);
+        ReactiveUserServiceClient limitedClient = client(limiter);
+
+        CompletableFuture<UserServiceDto.ApiResponse<UserServiceDto.UserInfo>> held =
+                limitedClient.findUser(SLOW_USER_ID, TOKEN).toFuture();
+        assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> limitedClient.getUserInfo(1L, TOKEN))
+                .hasCauseInstanceOf(ConcurrencyLimitedClient.ConcurrencyLimitExceededException.class);
+        assertThat(requests).noneMatch(uri -> uri.equals("/api/v1/users/1"));
+
+        release.countDown();
+        assertThat(held.get(5, TimeUnit.SECONDS).getData().getId()).isEqualTo(SLOW_USER_ID);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiterRegistry.get("client.limiter.rejections").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void overloadResponsesAreCountedAsDrops() {
+        SimpleMeterRegistry limiterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("user-service", 10, 1, 10, 1.5, 100,
+                limiterRegistry);
+        ReactiveUserServiceClient limitedClient = client(limiter);
+
+        assertThat(limitedClient.getUserInfo(UNKNOWN_USER_ID, TOKEN).getErrorCode())
+                .isEqualTo(UserServiceClient.NOT_FOUND_CODE);
+        assertThatThrownBy(() -> limitedClient.getUserInfo(OVERLOADED_USER_ID, TOKEN))
+                .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+
+        // 404는 정상 응답으로, 503만 drop으로 반영해 한도를 줄인다
+        assertThat(limiterRegistry.get("client.limiter.drops").counter().count()).isEqualTo(1);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void blockingBatchCallPropagatesServerErrors() {
+        assertThat(client.getUsersInfo(List.of(1L, 2L), TOKEN).getData()).hasSize(2);
+        assertThatThrownBy(() -> client.getUsersInfo(List.of(1L, BROKEN_USER_ID), TOKEN))
+                .isInstanceOf(WebClientResponseException.InternalServerError.class);
+    }
+
+    @Test
+    void findUsersSplitsIntoBatchesAndReportsFailedBatchesWithoutFailingTheStream() {
+        List<ReactiveUserServiceClient.UserBatch> batches = client.findUsers(List.of(1L, 2L, 2L, 3L, BROKEN_USER_ID, 5L), TOKEN)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(batches).extracting(ReactiveUserServiceClient.UserBatch::getUserIds)
+                .containsExactlyInAnyOrder(List.of(1L, 2L), List.of(3L, BROKEN_USER_ID), List.of(5L));
+        assertThat(batches).filteredOn(batch -> batch.getError() != null)
+                .singleElement()
+                .satisfies(batch -> assertThat(batch.getError()).isInstanceOf(WebClientResponseException.InternalServerError.class));
+        assertThat(batches).filteredOn(batch -> batch.getError() == null)
+                .flatExtracting(batch -> batch.getResponse().getData())
+                .extracting(UserServiceDto.UserInfo::getId)
+                .containsExactlyInAnyOrder(1L, 2L, 5L);
+        assertThat(requests).filteredOn(uri -> uri.contains("/batch")).hasSize(3);
+    }
+
+    @Test
+    void findUsersTakesALimiterSlotPerBatch() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("user-service", 1, 1, 1, 1.5, 100,
+                new SimpleMeterRegistry());
+        ReactiveUserServiceClient limitedClient = client(limiter);
+
+        CompletableFuture<UserServiceDto.ApiResponse<UserServiceDto.UserInfo>> held =
+                limitedClient.findUser(SLOW_USER_ID, TOKEN).toFuture();
+        assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<ReactiveUserServiceClient.UserBatch> batches = limitedClient.findUsers(List.of(1L, 2L, 3L), TOKEN)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        assertThat(batches).hasSize(2).allSatisfy(batch -> assertThat(batch.getError())
+                .isInstanceOf(ConcurrencyLimitedClient.ConcurrencyLimitExceededException.class));
+        assertThat(requests).noneMatch(uri -> uri.contains("/batch"));
+
+        release.countDown();
+        held.get(5, TimeUnit.SECONDS);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String uri = exchange.getRequestURI().toString();
+        String path = exchange.getRequestURI().getPath();
+        requests.add(uri);
+
+        Object data;
+        if (path.endsWith("/batch")) {
+            List<Long> ids = idsOf(uri);
+            if (ids.contains(BROKEN_USER_ID)) {
+                respond(exchange, 500, new byte[0]);
+                return;
+            }
+            data = ids.stream().map(ReactiveUserServiceClientTest::user).toList();
+        } else {
+            long id = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+            if (id == UNKNOWN_USER_ID || id == OVERLOADED_USER_ID) {
+                respond(exchange, id == UNKNOWN_USER_ID ? 404 : 503, new byte[0]);
+                return;
+            }
+            if (id == SLOW_USER_ID) {
+                arrived.countDown();
+                awaitRelease();
+            }
+            data = user(id);
+        }
+        respond(exchange, 200, objectMapper.writeValueAsBytes(
+                UserServiceDto.ApiResponse.builder().success(true).data(data).build()));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    private static List<Long> idsOf(String uri) {
+        String query = uri.substring(uri.indexOf('?') + 1);
+        return Arrays.stream(query.split("&"))
+                .filter(param -> param.startsWith("ids="))
+                .flatMap(param -> Arrays.stream(param.substring(4).split("%2C|,")))
+                .map(Long::parseLong)
+                .toList();
+    }
+
+    private static UserServiceDto.UserInfo user(Long id) {
+        return UserServiceDto.UserInfo.builder()
+                .id(id)
+                .username("user" + id)
+                .role(UserServiceDto.UserInfo.UserRole.USER)
+                .isActive(true)
+                .build();
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.berryweb.shop.common;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScheduledJobLockTest {
+
+    private static final String KEY = "shop:job-lock:sample-job";
+    private static final Duration LEASE = Duration.ofHours(1);
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final ScheduledJobLock jobLock = new ScheduledJobLock(redisTemplate);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void runsOnlyWhenTheLockIsAcquiredAndKeepsItForTheLease() {
+        when(valueOperations.setIfAbsent(eq(KEY), anyString(), eq(LEASE))).thenReturn(true, false);
+
+        assertThat(jobLock.runExclusively("sample-job", LEASE, runs::incrementAndGet)).isTrue();
+        // 같은 주기에 다른 인스턴스가 시도하면 건너뛴다
+        assertThat(jobLock.runExclusively("sample-job", LEASE, runs::incrementAndGet)).isFalse();
+
+        assertThat(runs).hasValue(1);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+    }
+
+    @Test
+    void failedJobReleasesItsLockAndRedisErrorsSkipTheRun() {
+        when(valueOperations.setIfAbsent(eq(KEY), anyString(), eq(LEASE)))
+                .thenReturn(true)
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        assertThatThrownBy(() -> jobLock.runExclusively("sample-job", LEASE, () -> {
+            throw new IllegalStateException("job failed");
+        })).isInstanceOf(IllegalStateException.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), anyString());
+
+        assertThat(jobLock.runExclusively("sample-job", LEASE, runs::incrementAndGet)).isFalse();
+        assertThat(runs).hasValue(0);
+    }
+
+}
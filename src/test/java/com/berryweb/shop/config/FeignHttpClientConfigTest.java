@@ -0,0 +1,158 @@
+package com.berryweb.shop.config;
+
+import com.berryweb.shop.client.MethodTimeoutCapability;
+import com.berryweb.shop.client.UserServiceClient;
+import com.berryweb.shop.dto.UserServiceDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeignHttpClientConfigTest {
+
+    private static final String TOKEN = "Bearer test-token";
+    private static final long SLOW_USER_ID = 99L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            // 운영 환경처럼 @Value에 "30s" 형식의 Duration을 쓸 수 있게 한다
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(PropertiesConfig.class, FeignHttpClientConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues(
+                    "spring.cloud.openfeign.httpclient.max-connections=10",
+                    "spring.cloud.openfeign.httpclient.max-connections-per-route=5");
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/api/v1/users", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void reusesPooledConnectionsAndExposesPoolMetrics() {
+        contextRunner.run(context -> {
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            context.getBean(MeterBinder.class).bindTo(meterRegistry);
+            UserServiceClient client = client(context.getBean(Client.class), Map.of());
+
+            for (int i = 0; i < 20; i++) {
+                assertThat(client.getUserInfo((long) i, TOKEN).getData().getId()).isEqualTo(i);
+            }
+
+            // 순차 호출은 keep-alive 연결 하나로 처리된다
+            assertThat(clientPorts).hasSize(1);
+            assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "feign")
+                    .gauge().value()).isEqualTo(10);
+            assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default").gauge().value())
+                    .isEqualTo(5);
+            assertThat(meterRegistry.get("http.client.pool.acquire").tag("pool", "feign").tag("result", "acquired")
+                    .timer().count()).isEqualTo(20);
+        });
+    }
+
+    @Test
+    void appliesReadTimeoutPerMethod() {
+        contextRunner.run(context -> {
+            UserServiceClient client = client(context.getBean(Client.class),
+                    Map.of("getUserInfo", Duration.ofMillis(100)));
+
+            assertThatThrownBy(() -> client.getUserInfo(SLOW_USER_ID, TOKEN)).isInstanceOf(RetryableException.class);
+            // 설정이 없는 메서드는 기본 read timeout(2s)을 쓴다
+            assertThat(client.getUsersInfo(List.of(SLOW_USER_ID), TOKEN).getData()).hasSize(1);
+        });
+    }
+
+    private UserServiceClient client(Client transport, Map<String, Duration> readTimeouts) {
+        return Feign.builder()
+                .client(transport)
+                .options(new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true))
+                .addCapability(new MethodTimeoutCapability(readTimeouts))
+                .contract(new SpringMvcContract())
+                .decoder(new SpringDecoder(() -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(UserServiceClient.class, "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        String uri = exchange.getRequestURI().toString();
+
+        Object data;
+        if (uri.contains("/batch")) {
+            sleepIfSlow(uri.contains("ids=" + SLOW_USER_ID));
+            data = List.of(user(SLOW_USER_ID));
+        } else {
+            long id = Long.parseLong(uri.substring(uri.lastIndexOf('/') + 1));
+            sleepIfSlow(id == SLOW_USER_ID);
+            data = user(id);
+        }
+
+        byte[] body = objectMapper.writeValueAsBytes(UserServiceDto.ApiResponse.builder().success(true).data(data).build());
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static void sleepIfSlow(boolean slow) {
+        if (!slow) {
+            return;
+        }
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static UserServiceDto.UserInfo user(long id) {
+        return UserServiceDto.UserInfo.builder().id(id).username("user" + id).build();
+    }
+
+    @EnableConfigurationProperties(FeignHttpClientProperties.class)
+    static class PropertiesConfig {
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.berryweb.shop.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BusinessHoursTest {
+
+    @Test
+    void parsesDayRangesSplitShiftsAndClosedDays() {
+        BusinessHours hours = BusinessHours.parse("MON-FRI 09:00-12:00 13:00-18:00; 토 10:00-14:00\n일 휴무");
+
+        assertThat(hours.isOpenAt(DayOfWeek.MONDAY, LocalTime.of(9, 0))).isTrue();
+        assertThat(hours.isOpenAt(DayOfWeek.FRIDAY, LocalTime.of(11, 59))).isTrue();
+        assertThat(hours.isOpenAt(DayOfWeek.WEDNESDAY, LocalTime.of(12, 30))).isFalse();
+        assertThat(hours.isOpenAt(DayOfWeek.TUESDAY, LocalTime.of(18, 0))).isFalse();
+        assertThat(hours.isOpenAt(DayOfWeek.SATURDAY, LocalTime.of(13, 45))).isTrue();
+        assertThat(hours.isOpenAt(DayOfWeek.SUNDAY, LocalTime.of(12, 0))).isFalse();
+        assertThat(hours.openSlots().count()).isEqualTo(5 * 32 + 16);
+    }
+
+    @Test
+    void overnightHoursSpillIntoNextDayIncludingSundayToMonday() {
+        BusinessHours hours = BusinessHours.parse("SUN 18:00-02:00");
+
+        assertThat(hours.isOpenAt(DayOfWeek.SUNDAY, LocalTime.of(23, 45))).isTrue();
+        assertThat(hours.isOpenAt(DayOfWeek.MONDAY, LocalTime.of(1, 59))).isTrue();
+        assertThat(hours.isOpenAt(DayOfWeek.MONDAY, LocalTime.of(2, 0))).isFalse();
+        assertThat(hours.isOpenAt(DayOfWeek.SUNDAY, LocalTime.of(17, 59))).isFalse();
+
+        assertThat(BusinessHours.parse("DAILY 00:00-24:00").openSlots().count()).isEqualTo(BusinessHours.SLOTS_PER_WEEK);
+    }
+
+    @Test
+    void rejectsMalformedHours() {
+        assertThatThrownBy(() -> BusinessHours.parse("평일 9시~6시")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BusinessHours.parse("MON 09:10-18:00")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BusinessHours.parse("MON 09:00-25:00")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BusinessHours.parse("MON 09:00-09:00")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(BusinessHours.parseOrNull("연중무휴, 전화 문의")).isNull();
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.berryweb.shop.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HangulNGramTokenizerTest {
+
+    private final HangulNGramTokenizer tokenizer = new HangulNGramTokenizer(true);
+
+    @Test
+    void substringOfCompoundNounIsIndexed() {
+        List<String> terms = List.of(tokenizer.tokenize("유기농딸기잼 선물세트"));
+
+        assertThat(tokenizer.queryTerms("딸기잼")).allMatch(terms::contains);
+        assertThat(tokenizer.queryTerms("기농딸기")).allMatch(terms::contains);
+        assertThat(tokenizer.queryTerms("세트")).allMatch(terms::contains);
+    }
+
+    @Test
+    void longQueryIsSplitIntoTrigrams() {
+        assertThat(tokenizer.queryTerms("유기농딸기")).containsExactlyInAnyOrder("유기농", "기농딸", "농딸기");
+    }
+
+    @Test
+    void chosungQueryMatchesInitialConsonants() {
+        List<String> terms = List.of(tokenizer.tokenize("운동화"));
+
+        assertThat(HangulNGramTokenizer.toChosung("운동화")).isEqualTo("ㅇㄷㅎ");
+        assertThat(tokenizer.queryTerms("ㅇㄷㅎ")).allMatch(terms::contains);
+        assertThat(tokenizer.queryTerms("ㄷㅎ")).allMatch(terms::contains);
+    }
+
+    @Test
+    void chosungKeysCanBeDisabled() {
+        HangulNGramTokenizer plain = new HangulNGramTokenizer(false);
+
+        assertThat(plain.tokenize("운동화")).noneMatch(term -> term.charAt(0) == HangulNGramTokenizer.CHOSUNG_PREFIX);
+    }
+
+    @Test
+    void latinWordsAreCaseInsensitive() {
+        List<String> terms = List.of(tokenizer.tokenize("BerryWeb Jam"));
+
+        assertThat(tokenizer.queryTerms("berry")).allMatch(terms::contains);
+        assertThat(tokenizer.queryTerms("JAM")).allMatch(terms::contains);
+    }
+
+    @Test
+    void matcherChecksTheWholeQueryAgainstNormalizedText() {
+        String text = tokenizer.normalize("BerryWeb 유기농 딸기잼", null, "운동화");
+
+        assertThat(tokenizer.matcher("잼")).isNull();
+        assertThat(tokenizer.matcher("BERRYWEB")).accepts(text);
+        assertThat(tokenizer.matcher("유기농 딸기")).accepts(text);
+        assertThat(tokenizer.matcher("유기농딸기")).rejects(text);
+        // 필드 경계를 넘어서는 일치하지 않는다
+        assertThat(tokenizer.matcher("딸기잼 운동화")).rejects(text);
+        assertThat(tokenizer.matcher("ㅇㄷㅎ")).isNull();
+        assertThat(tokenizer.matcher("ㄱㄴ ㄷㄹ")).rejects(text);
+        assertThat(tokenizer.matcher("ㅇㄱㄴ ㄸㄱ")).accepts(text);
+    }
+
+}
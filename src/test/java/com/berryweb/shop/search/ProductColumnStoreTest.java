@@ -0,0 +1,96 @@
+package com.berryweb.shop.search;
+
+import com.berryweb.shop.dto.ProductDto;
+import com.berryweb.shop.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductColumnStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private final ProductColumnStore store = new ProductColumnStore();
+
+    @BeforeEach
+    void setUp() {
+        store.index(product(1L, 10L, "12000", null, "4.50", 3));
+        store.index(product(2L, 10L, "30000", "9900", "3.20", 2));
+        store.index(product(3L, 10L, "25000", null, "4.90", 1));
+        store.index(product(4L, 10L, "5000", null, "4.50", 0));
+        store.index(product(5L, 20L, "1000", null, "5.00", 5));
+        store.markReady();
+    }
+
+    @Test
+    void sortsByPriceRatingAndRecency() {
+        assertThat(query(Sort.by("price"), 0, 10).getIds()).containsExactly(4L, 2L, 1L, 3L);
+        assertThat(query(Sort.by(Sort.Direction.DESC, "price"), 0, 10).getIds()).containsExactly(3L, 1L, 2L, 4L);
+        assertThat(query(Sort.by(Sort.Direction.DESC, "ratingAverage"), 0, 10).getIds()).containsExactly(3L, 4L, 1L, 2L);
+        assertThat(query(Sort.unsorted(), 0, 10).getIds()).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(query(Sort.by("name"), 0, 10).getIds()).containsExactly(4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void appliesRangeFiltersAndPaging() {
+        ProductDto.ListCondition condition = ProductDto.ListCondition.builder()
+                .minPrice(new BigDecimal("9000"))
+                .maxPrice(new BigDecimal("25000"))
+                .minRating(new BigDecimal("3.0"))
+                .build();
+
+        SearchHits hits = store.query(10L, condition, Sort.by("price"), 1, 1);
+
+        assertThat(hits.getTotal()).isEqualTo(3L);
+        assertThat(hits.getIds()).containsExactly(1L);
+    }
+
+    @Test
+    void movesAndRemovesProducts() {
+        store.index(product(1L, 20L, "12000", null, "4.50", 3));
+        store.index(ProductDocument.builder()
+                .id(4L)
+                .shopId(10L)
+                .price(new BigDecimal("5000"))
+                .status(Product.ProductStatus.INACTIVE)
+                .build());
+
+        assertThat(query(Sort.by("price"), 0, 10).getIds()).containsExactly(2L, 3L);
+        assertThat(store.query(20L, null, Sort.by("price"), 0, 10).getIds()).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void ratingUpdateReordersRatingSortOnly() {
+        assertThat(query(Sort.by(Sort.Direction.DESC, "ratingAverage"), 0, 10).getIds()).containsExactly(3L, 4L, 1L, 2L);
+        assertThat(query(Sort.by("price"), 0, 10).getIds()).containsExactly(4L, 2L, 1L, 3L);
+
+        store.updateRating(2L, new BigDecimal("5.00"), 3);
+
+        assertThat(query(Sort.by(Sort.Direction.DESC, "ratingAverage"), 0, 10).getIds()).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(query(Sort.by("price"), 0, 10).getIds()).containsExactly(4L, 2L, 1L, 3L);
+    }
+
+    private SearchHits query(Sort sort, long offset, int limit) {
+        return store.query(10L, null, sort, offset, limit);
+    }
+
+    private static ProductDocument product(Long id, Long shopId, String price, String salePrice, String rating, int daysAgo) {
+        return ProductDocument.builder()
+                .id(id)
+                .shopId(shopId)
+                .name("상품 " + id)
+                .price(new BigDecimal(price))
+                .salePrice(salePrice != null ? new BigDecimal(salePrice) : null)
+                .ratingAverage(new BigDecimal(rating))
+                .ratingCount(0)
+                .status(Product.ProductStatus.ACTIVE)
+                .createdAt(NOW.minusDays(daysAgo))
+                .build();
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.berryweb.shop.search;
+
+import com.berryweb.shop.dto.ProductDto;
+import com.berryweb.shop.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex(new HangulNGramTokenizer(true));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "priceBandBounds", new long[]{10000, 30000});
+        ReflectionTestUtils.setField(index, "maxDescriptionLength", 20);
+
+        index.index(product(1L, 10L, 100L, "유기농 딸기잼", 8000, "4.50", true));
+        index.index(product(2L, 10L, 100L, "수제 딸기잼", 25000, "3.20", false));
+        index.index(product(3L, 10L, 200L, "블루베리잼", 35000, "4.90", false));
+        index.index(product(4L, 20L, 100L, "딸기 우유", 2000, "2.00", true));
+        index.markReady();
+    }
+
+    @Test
+    void combinesKeywordAndFacetFilters() {
+        FacetedHits hits = index.searchFaceted(ProductDto.SearchCondition.builder()
+                .keyword("딸기")
+                .shopId(10L)
+                .minRating(4)
+                .build(), 0, 10);
+
+        assertThat(hits.getIds()).containsExactly(1L);
+        assertThat(hits.getTotal()).isEqualTo(1L);
+    }
+
+    @Test
+    void searchWithoutFacetCountsAppliesTheSameFilters() {
+        ProductDto.SearchCondition condition = ProductDto.SearchCondition.builder()
+                .keyword("딸기")
+                .priceBand(List.of("0-10000", "10000-30000"))
+                .build();
+
+        SearchHits hits = index.search(condition, 0, 10);
+        FacetedHits faceted = index.searchFaceted(condition, 0, 10);
+
+        assertThat(hits.getIds()).containsExactly(4L, 2L, 1L).isEqualTo(faceted.getIds());
+        assertThat(hits.getTotal()).isEqualTo(faceted.getTotal());
+    }
+
+    @Test
+    void facetCountsIgnoreTheirOwnFilter() {
+        FacetedHits hits = index.searchFaceted(ProductDto.SearchCondition.builder()
+                .keyword("딸기")
+                .shopId(10L)
+                .build(), 0, 10);
+
+        Map<String, Map<String, Long>> counts = hits.getFacetCounts();
+        assertThat(hits.getIds()).containsExactly(2L, 1L);
+        assertThat(counts.get(ProductSearchIndex.FACET_SHOP)).containsEntry("10", 2L).containsEntry("20", 1L);
+        assertThat(counts.get(ProductSearchIndex.FACET_PRICE_BAND)).containsEntry("0-10000", 1L).containsEntry("10000-30000", 1L);
+        assertThat(counts.get(ProductSearchIndex.FACET_RATING)).containsEntry("4", 1L).containsEntry("3", 2L);
+        assertThat(counts.get(ProductSearchIndex.FACET_FEATURED)).containsEntry("true", 1L).containsEntry("false", 1L);
+    }
+
+    @Test
+    void inactiveProductsLeaveAllFacets() {
+        index.index(ProductDocument.builder()
+                .id(1L)
+                .shopId(10L)
+                .name("유기농 딸기잼")
+                .status(Product.ProductStatus.INACTIVE)
+                .build());
+
+        FacetedHits hits = index.searchFaceted(ProductDto.SearchCondition.builder()
+                .priceBand(List.of("0-10000"))
+                .build(), 0, 10);
+
+        assertThat(hits.getIds()).containsExactly(4L);
+        assertThat(hits.getFacetCounts().get(ProductSearchIndex.FACET_CATEGORY)).containsEntry("100", 1L);
+    }
+
+    @Test
+    void ratingUpdateMovesOnlyTheRatingFacet() {
+        index.updateRating(2L, new BigDecimal("4.20"), 5);
+        // 인덱스에 없는 상품은 무시
+        index.updateRating(99L, new BigDecimal("5.00"), 1);
+
+        FacetedHits hits = index.searchFaceted(ProductDto.SearchCondition.builder()
+                .keyword("딸기")
+                .minRating(4)
+                .build(), 0, 10);
+
+        assertThat(hits.getIds()).containsExactly(2L, 1L);
+        assertThat(hits.getFacetCounts().get(ProductSearchIndex.FACET_RATING)).containsEntry("4", 2L).containsEntry("2", 3L);
+        assertThat(hits.getFacetCounts().get(ProductSearchIndex.FACET_PRICE_BAND)).containsEntry("10000-30000", 1L);
+    }
+
+    @Test
+    void longAndMultiWordKeywordsMatchOnlyContiguousText() {
+        // 3-gram "유기농", "기농딸", "농딸기"가 모두 있지만 "유기농딸기"가 이어진 곳은 없다
+        index.index(product(5L, 20L, 100L, "유기농딸 농딸기 세트", 9000, "3.00", false));
+        index.index(product(6L, 20L, 100L, "잼 딸기 선물", 9000, "3.00", false));
+
+        assertThat(index.search(keyword("유기농딸기"), 0, 10).getIds()).isEmpty();
+        assertThat(index.search(keyword("유기농 딸기잼"), 0, 10).getIds()).containsExactly(1L);
+        assertThat(index.search(keyword("딸기 잼"), 0, 10).getIds()).isEmpty();
+
+        FacetedHits hits = index.searchFaceted(keyword("딸기잼"), 0, 10);
+        assertThat(hits.getIds()).containsExactly(2L, 1L);
+        assertThat(hits.getTotal()).isEqualTo(2L);
+        assertThat(hits.getFacetCounts().get(ProductSearchIndex.FACET_SHOP)).containsOnlyKeys("10");
+    }
+
+    @Test
+    void indexesOnlyTheHeadOfLongDescriptions() {
+        index.index(product(5L, 20L, 100L, "선물세트", 9000, "3.00", false).toBuilder()
+                .description("앞부분에는 사과잼이 들어갑니다. 뒷부분에만 청포도잼 이야기가 있습니다.")
+                .build());
+
+        assertThat(index.search(keyword("사과잼"), 0, 10).getIds()).containsExactly(5L);
+        assertThat(index.search(keyword("청포도잼"), 0, 10).getIds()).isEmpty();
+    }
+
+    private static ProductDto.SearchCondition keyword(String keyword) {
+        return ProductDto.SearchCondition.builder().keyword(keyword).build();
+    }
+
+    private static ProductDocument product(Long id, Long shopId, Long categoryId, String name,
+                                           long price, String rating, boolean featured) {
+        return ProductDocument.builder()
+                .id(id)
+                .shopId(shopId)
+                .categoryId(categoryId)
+                .name(name)
+                .price(BigDecimal.valueOf(price))
+                .ratingAverage(new BigDecimal(rating))
+                .featured(featured)
+                .status(Product.ProductStatus.ACTIVE)
+                .build();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.berryweb.shop.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShopOpenHoursIndexTest {
+
+    // 2026-10-12는 월요일
+    private static final LocalDateTime MONDAY_NOON = LocalDateTime.of(2026, 10, 12, 12, 0);
+
+    private final ShopOpenHoursIndex index = new ShopOpenHoursIndex(ZoneId.of("Asia/Seoul"));
+
+    @BeforeEach
+    void setUp() {
+        index.index(document(1L, true, "MON-FRI 09:00-18:00"));
+        index.index(document(2L, true, "MON 11:00-13:00"));
+        index.index(document(3L, false, "DAILY 00:00-24:00"));
+        index.index(document(4L, true, "TUE-SUN 00:00-24:00"));
+        index.index(document(5L, true, null));
+        index.index(document(6L, true, "연중무휴, 전화 문의"));
+        index.index(document(7L, true, "DAILY 00:00-24:00"));
+    }
+
+    @Test
+    void openAtPagesShopsOpenInTheSlotByIdDescending() {
+        SearchHits hits = index.openAt(MONDAY_NOON, 0, 2);
+        assertThat(hits.getTotal()).isEqualTo(3);
+        assertThat(hits.getIds()).containsExactly(7L, 2L);
+        assertThat(index.openAt(MONDAY_NOON, 2, 2).getIds()).containsExactly(1L);
+        assertThat(index.openAt(MONDAY_NOON, 3, 2).getIds()).isEmpty();
+
+        // 슬롯 경계: 13:00부터는 2번이 닫는다
+        assertThat(index.openAt(MONDAY_NOON.withHour(13), 0, 10).getIds()).containsExactly(7L, 1L);
+        assertThat(index.openAt(MONDAY_NOON.plusDays(1), 0, 10).getIds()).containsExactly(7L, 4L, 1L);
+    }
+
+    @Test
+    void isOpenAtSkipsInactiveAndUnparsedHours() {
+        assertThat(index.isOpenAt(1L, MONDAY_NOON)).isTrue();
+        assertThat(index.isOpenAt(1L, MONDAY_NOON.withHour(18))).isFalse();
+        assertThat(index.isOpenAt(3L, MONDAY_NOON)).isFalse();
+        assertThat(index.isOpenAt(4L, MONDAY_NOON)).isFalse();
+        assertThat(index.isOpenAt(5L, MONDAY_NOON)).isFalse();
+        assertThat(index.isOpenAt(6L, MONDAY_NOON)).isFalse();
+    }
+
+    @Test
+    void reindexingMovesShopsBetweenSlotsAndDeactivationRemovesThem() {
+        // 영업시간이 바뀌면 이전 슬롯에서 빠진다
+        index.index(document(2L, true, "MON 14:00-15:00"));
+        assertThat(index.openAt(MONDAY_NOON, 0, 10).getIds()).containsExactly(7L, 1L);
+        assertThat(index.isOpenAt(2L, MONDAY_NOON.withHour(14))).isTrue();
+
+        index.index(document(7L, false, "DAILY 00:00-24:00"));
+        index.index(document(1L, true, null));
+        assertThat(index.openAt(MONDAY_NOON, 0, 10).getTotal()).isZero();
+        assertThat(index.openAt(MONDAY_NOON.withHour(14), 0, 10).getIds()).containsExactly(2L);
+
+        // 다시 활성화하면 돌아온다
+        index.index(document(3L, true, "DAILY 00:00-24:00"));
+        assertThat(index.openAt(MONDAY_NOON, 0, 10).getIds()).containsExactly(3L);
+    }
+
+    @Test
+    void clearEmptiesEverySlotUntilMarkedReady() {
+        index.markReady();
+        assertThat(index.isReady()).isTrue();
+
+        index.clear();
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.openAt(MONDAY_NOON, 0, 10).getTotal()).isZero();
+        assertThat(index.openAt(MONDAY_NOON.plusDays(1), 0, 10).getTotal()).isZero();
+    }
+
+    private static ShopDocument document(Long id, boolean active, String businessHours) {
+        return ShopDocument.builder()
+                .id(id)
+                .name("상점 " + id)
+                .active(active)
+                .businessHours(BusinessHours.parseOrNull(businessHours))
+                .build();
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.berryweb.shop.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestTrieTest {
+
+    private static final Comparator<SuggestEntry> ORDER = Comparator
+            .comparing(SuggestEntry::getRatingCount, Comparator.reverseOrder())
+            .thenComparing(SuggestEntry::getId);
+
+    private final SuggestTrie trie = new SuggestTrie(3, ORDER);
+
+    @Test
+    void matchesPrefixOfAnyWordRankedByScore() {
+        put(1L, "청송 사과", 5);
+        put(2L, "사과즙", 10);
+        put(3L, "배즙", 100);
+        put(4L, "꿀사과", 200);
+
+        assertThat(ids(trie.suggest("사과", 10))).containsExactly(2L, 1L);
+        assertThat(ids(trie.suggest("청송 사", 10))).containsExactly(1L);
+        assertThat(ids(trie.suggest("  사과!! ", 10))).containsExactly(2L, 1L);
+        assertThat(trie.suggest("", 10)).isEmpty();
+        assertThat(trie.suggest("딸기", 10)).isEmpty();
+    }
+
+    @Test
+    void matchesChosungKeys() {
+        trie.put(entry(1L, "운동화", 0), SuggestTrie.keysOf("운동화", true));
+
+        assertThat(ids(trie.suggest("ㅇㄷ", 10))).containsExactly(1L);
+        assertThat(ids(trie.suggest("운동", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void refillsTopListWhenLeaderIsRemovedOrUpdated() {
+        for (long id = 1; id <= 5; id++) {
+            put(id, "사과 " + id, (int) id);
+        }
+        assertThat(ids(trie.suggest("사", 10))).containsExactly(5L, 4L, 3L);
+
+        trie.remove(5L);
+        assertThat(ids(trie.suggest("사", 10))).containsExactly(4L, 3L, 2L);
+
+        put(1L, "사과 1", 50);
+        assertThat(ids(trie.suggest("사", 10))).containsExactly(1L, 4L, 3L);
+        assertThat(ids(trie.suggest("사", 2))).containsExactly(1L, 4L);
+
+        put(1L, "배 1", 50);
+        assertThat(ids(trie.suggest("사", 10))).containsExactly(4L, 3L, 2L);
+        assertThat(ids(trie.suggest("배", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void updateKeepsRegisteredKeysAndReranks() {
+        put(1L, "사과 1", 1);
+        put(2L, "사과 2", 2);
+
+        trie.update(1L, entry -> entry.toBuilder().ratingCount(10).build());
+        trie.update(99L, entry -> entry.toBuilder().ratingCount(10).build());
+
+        assertThat(ids(trie.suggest("사", 10))).containsExactly(1L, 2L);
+        assertThat(trie.suggest("사과 1", 10)).extracting(SuggestEntry::getRatingCount).containsExactly(10);
+    }
+
+    @Test
+    void matchesBruteForceAfterRandomUpdates() {
+        String[] words = {"사과", "사과즙", "배", "배즙", "사탕", "apple", "app", "청송"};
+        Random random = new Random(42);
+        Map<Long, SuggestEntry> expected = new HashMap<>();
+
+        for (int step = 0; step < 2000; step++) {
+            long id = random.nextInt(50);
+            if (random.nextInt(4) == 0) {
+                trie.remove(id);
+                expected.remove(id);
+            } else {
+                String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                SuggestEntry entry = entry(id, name, random.nextInt(20));
+                trie.put(entry, SuggestTrie.keysOf(name, false));
+                expected.put(id, entry);
+            }
+        }
+
+        for (String query : List.of("사", "사과", "배", "a", "app", "청송 사", "즙")) {
+            List<Long> bruteForce = expected.values().stream()
+                    .filter(entry -> SuggestTrie.keysOf(entry.getName(), false).stream().anyMatch(key -> key.startsWith(query)))
+                    .sorted(ORDER)
+                    .limit(3)
+                    .map(SuggestEntry::getId)
+                    .toList();
+            assertThat(ids(trie.suggest(query, 3))).as(query).isEqualTo(bruteForce);
+        }
+    }
+
+    private void put(Long id, String name, int ratingCount) {
+        trie.put(entry(id, name, ratingCount), SuggestTrie.keysOf(name, false));
+    }
+
+    private static SuggestEntry entry(Long id, String name, int ratingCount) {
+        return SuggestEntry.builder()
+                .id(id)
+                .name(name)
+                .ratingCount(ratingCount)
+                .build();
+    }
+
+    private static List<Long> ids(List<SuggestEntry> entries) {
+        return new ArrayList<>(entries.stream().map(SuggestEntry::getId).toList());
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.dto.UserServiceDto;
+import com.berryweb.shop.exception.CustomException;
+import com.berryweb.shop.security.JwtAuthenticationFilter;
+import com.berryweb.shop.security.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * JWT role 클레임이 권한으로 옮겨지고, 쓰기 권한 확인이 클레임만으로 끝나는지 확인한다.
+ * 클레임이 없는 이전 토큰만 user-service 조회로 대체된다.
+ */
+class AuthorizationHelperTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final long ADMIN_ID = 2L;
+    private static final long USER_ID = 3L;
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider();
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider);
+    private final UserServiceHelper userServiceHelper = mock(UserServiceHelper.class);
+    private final AuthorizationHelper authorizationHelper = new AuthorizationHelper(userServiceHelper);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "test-secret-key-for-authorization-helper-test-0123456789");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void roleClaimBecomesAuthorityAndIsCheckedLocally() throws Exception {
+        String token = authenticate(tokenProvider.createToken(ADMIN_ID, "ADMIN"));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getPrincipal()).isEqualTo(ADMIN_ID);
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(AuthorizationHelper.ADMIN_AUTHORITY);
+
+        authorizationHelper.checkOwnerOrAdmin(OWNER_ID, ADMIN_ID, token);
+        verify(userServiceHelper, never()).getUserInfo(anyLong(), anyString());
+    }
+
+    @Test
+    void nonAdminRoleClaimIsDeniedWithoutRemoteCall() throws Exception {
+        String token = authenticate(tokenProvider.createToken(USER_ID, "user"));
+
+        assertThatThrownBy(() -> authorizationHelper.checkOwnerOrAdmin(OWNER_ID, USER_ID, token))
+                .isInstanceOf(CustomException.class);
+        verify(userServiceHelper, never()).getUserInfo(anyLong(), anyString());
+    }
+
+    @Test
+    void legacyTokenFallsBackToUserServiceOnlyForNonOwners() throws Exception {
+        String token = authenticate(tokenProvider.createToken(ADMIN_ID));
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities()).isEmpty();
+        when(userServiceHelper.getUserInfo(ADMIN_ID, token)).thenReturn(UserServiceDto.UserInfo.builder()
+                .id(ADMIN_ID)
+                .role(UserServiceDto.UserInfo.UserRole.ADMIN)
+                .build());
+
+        authorizationHelper.checkOwnerOrAdmin(OWNER_ID, ADMIN_ID, token);
+        verify(userServiceHelper).getUserInfo(ADMIN_ID, token);
+
+        // 소유자 본인은 토큰 종류와 상관없이 조회하지 않는다
+        authorizationHelper.checkOwnerOrAdmin(ADMIN_ID, ADMIN_ID, token);
+        verify(userServiceHelper).getUserInfo(anyLong(), anyString());
+    }
+
+    private String authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return "Bearer " + token;
+    }
+
+}
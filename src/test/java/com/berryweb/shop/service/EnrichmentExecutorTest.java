@@ -0,0 +1,89 @@
+package com.berryweb.shop.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnrichmentExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EnrichmentExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void runsBatchesInParallelAndKeepsOrder() {
+        executor = new EnrichmentExecutor(Duration.ofSeconds(5), 8, 8, 5, meterRegistry);
+        List<Integer> items = IntStream.range(0, 20).boxed().toList();
+
+        long startedAt = System.nanoTime();
+        List<String> results = executor.forEachBatch(items, batch -> {
+            sleep(200);
+            return batch.stream().map(i -> "row" + i).toList();
+        });
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertThat(results).hasSize(20).startsWith("row0", "row1").endsWith("row19");
+        // 4개 묶음이 순차였다면 800ms 이상
+        assertThat(elapsedMillis).isLessThan(600);
+        assertThat(outcome("completed")).isEqualTo(4);
+    }
+
+    @Test
+    void dropsBatchesThatMissTheDeadline() {
+        executor = new EnrichmentExecutor(Duration.ofMillis(300), 8, 8, 1, meterRegistry);
+
+        long startedAt = System.nanoTime();
+        List<Integer> results = executor.forEachBatch(List.of(1, 2, 3), batch -> {
+            if (batch.get(0) == 2) {
+                sleep(5_000);
+            }
+            return batch;
+        });
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertThat(results).containsExactly(1, 3);
+        assertThat(elapsedMillis).isLessThan(1_500);
+        assertThat(outcome("timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void capsConcurrentLookups() {
+        executor = new EnrichmentExecutor(Duration.ofSeconds(5), 2, 8, 1, meterRegistry);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<Integer> results = executor.forEachBatch(IntStream.range(0, 8).boxed().toList(), batch -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+            return batch;
+        });
+
+        assertThat(results).hasSize(8);
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("enrichment.batches").tag("outcome", outcome).counter().count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
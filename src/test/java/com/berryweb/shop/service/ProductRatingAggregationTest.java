@@ -0,0 +1,164 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.repository.ProductRepository;
+import com.berryweb.shop.search.ProductRatingChangedEvent;
+import com.berryweb.shop.support.JpaTestFixture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(ProductRatingRebuilder.class)
+@RecordApplicationEvents
+class ProductRatingAggregationTest extends JpaTestFixture {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductRatingRebuilder rebuilder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void createUpdateAndDeleteAdjustSumCountHistogramAndAverage() {
+        Product product = product();
+        entityManager.flush();
+
+        productRepository.applyRatingChange(product.getId(), 5, 0);
+        productRepository.applyRatingChange(product.getId(), 4, 0);
+        productRepository.applyRatingChange(product.getId(), 5, 0);
+        // 4점 -> 2점 수정
+        productRepository.applyRatingChange(product.getId(), 2, 4);
+        Product rated = reload(product);
+
+        assertThat(rated.getRatingSum()).isEqualTo(12L);
+        assertThat(rated.getRatingCount()).isEqualTo(3);
+        assertThat(rated.getRatingAverage()).isEqualByComparingTo("4.00");
+        assertThat(histogram(rated)).containsExactly(0, 1, 0, 0, 2);
+
+        productRepository.applyRatingChange(product.getId(), 0, 5);
+        productRepository.applyRatingChange(product.getId(), 0, 2);
+        rated = reload(product);
+        assertThat(rated.getRatingAverage()).isEqualByComparingTo("5.00");
+        assertThat(histogram(rated)).containsExactly(0, 0, 0, 0, 1);
+
+        productRepository.applyRatingChange(product.getId(), 0, 5);
+        rated = reload(product);
+        assertThat(rated.getRatingCount()).isZero();
+        assertThat(rated.getRatingSum()).isZero();
+        assertThat(rated.getRatingAverage()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void rebuildRecomputesFromActiveReviewsOnly() {
+        Product product = product();
+        Product unrated = product();
+        review(product, 5, true);
+        review(product, 3, true);
+        review(product, 3, true);
+        review(product, 1, false);
+        entityManager.flush();
+        // 집계가 어긋난 상태
+        productRepository.applyRatingChange(unrated.getId(), 4, 0);
+
+        assertThat(rebuilder.rebuild()).isEqualTo(2);
+        Product rated = reload(product);
+
+        assertThat(rated.getRatingSum()).isEqualTo(11L);
+        assertThat(rated.getRatingCount()).isEqualTo(3);
+        assertThat(rated.getRatingAverage()).isEqualByComparingTo("3.67");
+        assertThat(histogram(rated)).containsExactly(0, 0, 2, 0, 1);
+        assertThat(reload(unrated).getRatingCount()).isZero();
+        assertThat(histogram(reload(unrated))).containsOnly(0);
+
+        // 다시 계산한 평균이 인덱스 갱신 이벤트에 실린다
+        Map<Long, ProductRatingChangedEvent> published = events.stream(ProductRatingChangedEvent.class)
+                .collect(Collectors.toMap(ProductRatingChangedEvent::getProductId, Function.identity()));
+        assertThat(published).containsOnlyKeys(product.getId(), unrated.getId());
+        assertThat(published.get(product.getId()).getRatingAverage()).isEqualByComparingTo("3.67");
+        assertThat(published.get(product.getId()).getRatingCount()).isEqualTo(3);
+        assertThat(published.get(unrated.getId()).getRatingAverage()).isEqualByComparingTo("0");
+    }
+
+    /**
+     * 트랜잭션 여러 개가 같은 상품 평점을 동시에 증감해도 잃어버리는 갱신이 없는지 확인한다.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentRatingChangesAreNotLost() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long productId = transaction.execute(status -> product().getId());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int rating = i % 5 + 1;
+                futures.add(executor.submit(() -> transaction.executeWithoutResult(
+                        status -> productRepository.applyRatingChange(productId, rating, 0))));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Product rated = productRepository.findById(productId).orElseThrow();
+        // 커밋된 데이터라 다른 테스트에 남지 않도록 지운다
+        transaction.executeWithoutResult(status -> {
+            Product product = entityManager.find(Product.class, productId);
+            entityManager.remove(product);
+            entityManager.remove(product.getShop());
+        });
+
+        assertThat(rated.getRatingCount()).isEqualTo(200);
+        assertThat(rated.getRatingSum()).isEqualTo(600L);
+        assertThat(rated.getRatingAverage()).isEqualByComparingTo("3.00");
+        assertThat(histogram(rated)).containsOnly(40);
+    }
+
+    private Product reload(Product product) {
+        return reload(Product.class, product.getId());
+    }
+
+    private static List<Integer> histogram(Product product) {
+        return List.of(product.getRating1Count(), product.getRating2Count(), product.getRating3Count(),
+                product.getRating4Count(), product.getRating5Count());
+    }
+
+    private Product product() {
+        return product(shop("평점 상점"));
+    }
+
+    private void review(Product product, int rating, boolean active) {
+        persist(reviewBuilder(product, rating)
+                .userId(rating * 10L)
+                .isActive(active)
+                .build());
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.common.CursorPage;
+import com.berryweb.shop.config.SearchConfig;
+import com.berryweb.shop.dto.ProductDto;
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.entity.ProductImage;
+import com.berryweb.shop.entity.ProductOption;
+import com.berryweb.shop.entity.ProductOptionGroup;
+import com.berryweb.shop.entity.Shop;
+import com.berryweb.shop.search.ProductColumnStore;
+import com.berryweb.shop.search.ProductIndexer;
+import com.berryweb.shop.search.ProductSearchIndex;
+import com.berryweb.shop.support.JpaTestFixture;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({SearchConfig.class, ProductService.class, ProductSearchIndex.class, ProductColumnStore.class,
+        ProductIndexer.class})
+class ProductServiceQueryCountTest extends JpaTestFixture {
+
+    private static final int PRODUCT_COUNT = 60;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductIndexer productIndexer;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private UserServiceHelper userServiceHelper;
+
+    @MockitoBean
+    private AuthorizationHelper authorizationHelper;
+
+    @MockitoBean
+    private FileService fileService;
+
+    private Long shopId;
+    private Long detailProductId;
+
+    @BeforeEach
+    void setUp() {
+        Shop shop = shop("베리 상점");
+        shopId = shop.getId();
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = persist(productBuilder(shop)
+                    .name("상품 " + i)
+                    .description("설명 " + i)
+                    .price(BigDecimal.valueOf(1000L + i))
+                    .isFeatured(true)
+                    .build());
+
+            persist(ProductImage.builder()
+                    .product(product)
+                    .originalFilename("image" + i + ".png")
+                    .storedFilename("stored" + i + ".png")
+                    .filePath("/uploads/stored" + i + ".png")
+                    .fileSize(1024L)
+                    .isMain(true)
+                    .createdBy(1L)
+                    .build());
+        }
+
+        Product detailProduct = entityManager.createQuery("SELECT p FROM Product p ORDER BY p.id", Product.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        detailProductId = detailProduct.getId();
+        for (int g = 0; g < 3; g++) {
+            ProductOptionGroup group = persist(ProductOptionGroup.builder()
+                    .product(detailProduct)
+                    .name("옵션 " + g)
+                    .sortOrder(2 - g)
+                    .build());
+            for (int o = 0; o < 3; o++) {
+                persist(ProductOption.builder()
+                        .optionGroup(group)
+                        .name("값 " + o)
+                        .sortOrder(2 - o)
+                        .isActive(o != 1)
+                        .build());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        productIndexer.rebuild();
+    }
+
+    @Test
+    void getProductsByShopUsesConstantQueryCount() {
+        assertConstantQueryCount(size -> productService.getProductsByShop(shopId, null, PageRequest.of(0, size), "").getNumberOfElements());
+    }
+
+    @Test
+    void getProductsByShopSortedByPriceUsesConstantQueryCount() {
+        assertConstantQueryCount(size -> productService.getProductsByShop(shopId, null,
+                PageRequest.of(1, size, Sort.by(Sort.Direction.DESC, "price")), "").getNumberOfElements());
+
+        List<ProductDto.ProductSummary> page = productService.getProductsByShop(shopId, null,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "price")), "").getContent();
+        assertThat(page).extracting(ProductDto.ProductSummary::getPrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.valueOf(1059L), BigDecimal.valueOf(1058L), BigDecimal.valueOf(1057L));
+    }
+
+    @Test
+    void searchProductsUsesConstantQueryCount() {
+        assertConstantQueryCount(size -> productService.searchProducts(
+                ProductDto.SearchCondition.builder().keyword("상품").build(), PageRequest.of(0, size), "")
+                .getNumberOfElements());
+    }
+
+    @Test
+    void getFeaturedProductsUsesConstantQueryCount() {
+        assertConstantQueryCount(size -> productService.getFeaturedProducts(PageRequest.of(0, size), "").getNumberOfElements());
+    }
+
+    @Test
+    void cursorPagingWalksAllProductsWithConstantQueryCount() {
+        List<Long> seen = new ArrayList<>();
+        List<Long> queryCounts = new ArrayList<>();
+        String cursor = "";
+
+        while (cursor != null) {
+            String after = cursor;
+            List<CursorPage<ProductDto.ProductSummary>> holder = new ArrayList<>();
+            queryCounts.add(countQueries(() -> {
+                holder.add(productService.getProductsByShop(shopId, after, 25, ""));
+                return holder.get(0).getSize();
+            }));
+
+            CursorPage<ProductDto.ProductSummary> page = holder.get(0);
+            page.getContent().forEach(product -> seen.add(product.getId()));
+            cursor = page.getNextCursor();
+        }
+
+        assertThat(seen).hasSize(PRODUCT_COUNT).doesNotHaveDuplicates();
+        assertThat(seen).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(queryCounts).hasSize(3).containsOnly(queryCounts.get(0));
+    }
+
+    @Test
+    void listingsReadSummaryColumnsWithoutLoadingProductEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        productService.getProductsByShop(shopId, null, PageRequest.of(0, 20), "");
+        productService.getProductsByShop(shopId, "", 20, "");
+        productService.getFeaturedProducts(PageRequest.of(0, 20), "");
+        productService.searchProducts(ProductDto.SearchCondition.builder().keyword("상품").build(),
+                PageRequest.of(0, 20), "");
+
+        // 목록은 요약 컬럼만 조회하므로 description 등을 담은 Product 엔티티가 만들어지지 않는다
+        assertThat(statistics.getEntityStatistics(Product.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void getProductByIdLoadsWholeTreeInTwoQueries() {
+        List<ProductDto.ProductInfo> holder = new ArrayList<>();
+        long queries = countQueries(() -> {
+            holder.add(productService.getProductById(detailProductId, ""));
+            return 1;
+        });
+
+        ProductDto.ProductInfo product = holder.get(0);
+        assertThat(queries).isLessThanOrEqualTo(2);
+        assertThat(product.getShopName()).isEqualTo("베리 상점");
+        assertThat(product.getImages()).hasSize(1);
+        assertThat(product.getOptionGroups()).extracting(ProductDto.ProductOptionGroupInfo::getName)
+                .containsExactly("옵션 2", "옵션 1", "옵션 0");
+        assertThat(product.getOptionGroups()).allSatisfy(group ->
+                assertThat(group.getOptions()).extracting(ProductDto.ProductOptionInfo::getName)
+                        .containsExactly("값 2", "값 0"));
+    }
+
+    private void assertConstantQueryCount(PageLoader loader) {
+        long smallPage = countQueries(() -> loader.load(5));
+        long largePage = countQueries(() -> loader.load(50));
+
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    private long countQueries(IntSupplier action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(action.getAsInt()).isPositive();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @FunctionalInterface
+    private interface PageLoader {
+        int load(int size);
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.entity.Review;
+import com.berryweb.shop.repository.ReviewRepository;
+import com.berryweb.shop.support.JpaTestFixture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@Import(ReviewHelpfulCounter.class)
+class ReviewHelpfulCounterTest extends JpaTestFixture {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ReviewHelpfulCounter counter;
+
+    @Test
+    void bufferedVotesShowInReadsAndFlushAddsOnlyWhatTheDatabaseHasNotSeen() {
+        Review review = review();
+        Review other = review();
+        counter.onHelpfulChanged(new ReviewHelpfulChangedEvent(review.getId(), 1));
+        counter.onHelpfulChanged(new ReviewHelpfulChangedEvent(review.getId(), 1));
+        counter.onHelpfulChanged(new ReviewHelpfulChangedEvent(review.getId(), 1));
+        counter.onHelpfulChanged(new ReviewHelpfulChangedEvent(other.getId(), 1));
+        counter.onHelpfulChanged(new ReviewHelpfulChangedEvent(other.getId(), -1));
+        entityManager.flush();
+
+        // 반영 전에도 조회 값에는 보이고, 서로 상쇄된 증감은 버퍼에 남지 않는다
+        assertThat(reload(review).getHelpfulCount()).isZero();
+        assertThat(counter.currentCount(reload(review))).isEqualTo(3);
+        assertThat(counter.currentCount(reload(other))).isZero();
+
+        assertThat(counter.flush()).isEqualTo(1);
+        assertThat(reload(review).getHelpfulCount()).isEqualTo(3);
+        assertThat(counter.currentCount(reload(review))).isEqualTo(3);
+        assertThat(counter.flush()).isZero();
+
+        // 반영 뒤 들어온 취소만 버퍼에 있으므로 DB 값과 두 번 합쳐지지 않는다
+        counter.onHelpfulChanged(new ReviewHelpfulChangedEvent(review.getId(), -1));
+        assertThat(counter.currentCount(reload(review))).isEqualTo(2);
+        assertThat(counter.flush()).isEqualTo(1);
+        assertThat(reload(review).getHelpfulCount()).isEqualTo(2);
+        assertThat(counter.currentCount(reload(review))).isEqualTo(2);
+    }
+
+    @Test
+    void votesArrivingDuringFlushesAreNeitherLostNorCountedTwice() throws Exception {
+        Review review = review();
+        int threads = 4;
+        int votesPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> voters = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                voters.add(executor.submit(() -> {
+                    for (int vote = 0; vote < votesPerThread; vote++) {
+                        counter.onHelpfulChanged(new ReviewHelpfulChangedEvent(review.getId(), 1));
+                    }
+                }));
+            }
+            while (!voters.stream().allMatch(Future::isDone)) {
+                counter.flush();
+            }
+            for (Future<?> voter : voters) {
+                voter.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(counter.currentCount(reload(review))).isEqualTo(threads * votesPerThread);
+        counter.flush();
+        assertThat(reload(review).getHelpfulCount()).isEqualTo(threads * votesPerThread);
+        assertThat(counter.currentCount(reload(review))).isEqualTo(threads * votesPerThread);
+    }
+
+    @Test
+    void reconcileRecountsVotesLostFromBufferAndEntitySavesKeepTheCount() {
+        Review review = review();
+        Review untouched = review();
+        vote(review, 1L);
+        vote(review, 2L);
+        entityManager.flush();
+
+        // 반영 전에 프로세스가 죽은 상황 - 버퍼 없이 투표 행만 남아 있다
+        assertThat(counter.reconcile()).isEqualTo(1);
+        assertThat(reload(review).getHelpfulCount()).isEqualTo(2);
+        assertThat(reload(untouched).getHelpfulCount()).isZero();
+        assertThat(counter.reconcile()).isZero();
+
+        // 리뷰 수정 저장이 도움됨 수를 덮어쓰지 않는다
+        Review loaded = reload(review);
+        loaded.setContent("수정한 리뷰");
+        entityManager.flush();
+        assertThat(reload(review).getHelpfulCount()).isEqualTo(2);
+    }
+
+    @Test
+    void scheduledReconcileRunsOnOneInstancePerIntervalWhileFlushRunsEverywhere() {
+        counter.scheduledReconcile();
+        verify(jobLock).runExclusively(eq("review-helpful-reconcile"), eq(Duration.ofHours(24)), any(Runnable.class));
+
+        counter.scheduledFlush();
+        verifyNoMoreInteractions(jobLock);
+    }
+
+    private Review reload(Review review) {
+        return reload(Review.class, review.getId());
+    }
+
+    private Review review() {
+        return review(product(shop("리뷰 상점")), 5);
+    }
+
+}
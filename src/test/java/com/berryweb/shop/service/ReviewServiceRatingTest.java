@@ -0,0 +1,132 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.dto.ReviewDto;
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.entity.Review;
+import com.berryweb.shop.entity.Shop;
+import com.berryweb.shop.repository.ProductRepository;
+import com.berryweb.shop.repository.ReviewHelpfulRepository;
+import com.berryweb.shop.repository.ReviewImageRepository;
+import com.berryweb.shop.repository.ReviewRepository;
+import com.berryweb.shop.search.ProductRatingChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 리뷰 작성/수정/삭제가 상품 평점 집계에 (더한 점수, 뺀 점수)를 맞게 넘기고, 바뀐 평균으로 인덱스 갱신 이벤트를 발행하는지 확인한다.
+ */
+class ReviewServiceRatingTest {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final long REVIEW_ID = 10L;
+    private static final long AUTHOR_ID = 100L;
+
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ReviewService reviewService = new ReviewService(reviewRepository, productRepository,
+            mock(ReviewImageRepository.class), mock(ReviewHelpfulRepository.class), mock(UserServiceHelper.class),
+            mock(AuthorizationHelper.class), mock(FileService.class), mock(ReviewHelpfulCounter.class), eventPublisher);
+
+    private final Product product = Product.builder()
+            .id(PRODUCT_ID)
+            .shop(Shop.builder().id(2L).name("평점 상점").build())
+            .name("평점 상품")
+            .price(BigDecimal.valueOf(1000))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ProductRepository.RatingSummary rating = rating("4.50", 2);
+        when(productRepository.findRatingById(PRODUCT_ID)).thenReturn(Optional.of(rating));
+    }
+
+    @Test
+    void createAddsTheNewRatingAndPublishesTheUpdatedAverage() {
+        when(productRepository.findByIdAndStatus(PRODUCT_ID, Product.ProductStatus.ACTIVE)).thenReturn(Optional.of(product));
+
+        reviewService.createReview(ReviewDto.CreateReviewRequest.builder()
+                .productId(PRODUCT_ID)
+                .rating(4)
+                .content("리뷰")
+                .build(), null, null, AUTHOR_ID);
+
+        verify(productRepository).applyRatingChange(PRODUCT_ID, 4, 0);
+        assertPublishedRating("4.50", 2);
+    }
+
+    @Test
+    void updateMovesTheReviewBetweenRatingsOnlyWhenTheRatingChanges() {
+        when(reviewRepository.findActiveByIdForUpdate(REVIEW_ID)).thenReturn(Optional.of(review(5)));
+
+        reviewService.updateReview(REVIEW_ID, update(2), null, AUTHOR_ID);
+        verify(productRepository).applyRatingChange(PRODUCT_ID, 2, 5);
+        assertPublishedRating("4.50", 2);
+
+        // 내용만 바꾸면 집계와 인덱스는 그대로 둔다
+        when(reviewRepository.findActiveByIdForUpdate(REVIEW_ID)).thenReturn(Optional.of(review(3)));
+        reviewService.updateReview(REVIEW_ID, update(3), null, AUTHOR_ID);
+        verify(productRepository, never()).applyRatingChange(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void deleteRemovesTheRating() {
+        when(reviewRepository.findActiveByIdForUpdate(REVIEW_ID)).thenReturn(Optional.of(review(3)));
+
+        reviewService.deleteReview(REVIEW_ID, null, AUTHOR_ID);
+
+        verify(productRepository).applyRatingChange(PRODUCT_ID, 0, 3);
+        assertPublishedRating("4.50", 2);
+    }
+
+    // 검증한 호출과 이벤트는 지워서 다음 검증이 새로 일어난 것만 보게 한다
+    private void assertPublishedRating(String average, int count) {
+        ArgumentCaptor<ProductRatingChangedEvent> event = ArgumentCaptor.forClass(ProductRatingChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getProductId()).isEqualTo(PRODUCT_ID);
+        assertThat(event.getValue().getRatingAverage()).isEqualByComparingTo(average);
+        assertThat(event.getValue().getRatingCount()).isEqualTo(count);
+        clearInvocations(productRepository, eventPublisher);
+    }
+
+    private Review review(int rating) {
+        return Review.builder()
+                .id(REVIEW_ID)
+                .product(product)
+                .userId(AUTHOR_ID)
+                .rating(rating)
+                .content("리뷰")
+                .build();
+    }
+
+    private static ReviewDto.UpdateReviewRequest update(int rating) {
+        return ReviewDto.UpdateReviewRequest.builder()
+                .rating(rating)
+                .content("수정한 리뷰")
+                .build();
+    }
+
+    private static ProductRepository.RatingSummary rating(String average, int count) {
+        ProductRepository.RatingSummary summary = mock(ProductRepository.RatingSummary.class);
+        when(summary.getRatingAverage()).thenReturn(new BigDecimal(average));
+        when(summary.getRatingCount()).thenReturn(count);
+        return summary;
+    }
+
+}
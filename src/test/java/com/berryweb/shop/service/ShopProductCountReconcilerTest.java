@@ -0,0 +1,73 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.entity.Shop;
+import com.berryweb.shop.repository.ShopRepository;
+import com.berryweb.shop.support.JpaTestFixture;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(ShopProductCountReconciler.class)
+class ShopProductCountReconcilerTest extends JpaTestFixture {
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private ShopProductCountReconciler reconciler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void incrementsInPlaceAndEntitySavesDoNotOverwriteTheCount() {
+        Shop shop = shop("증감 상점");
+        entityManager.flush();
+
+        shopRepository.addActiveProductCount(shop.getId(), 1);
+        shopRepository.addActiveProductCount(shop.getId(), 1);
+        shopRepository.addActiveProductCount(shop.getId(), -1);
+
+        // 증감 전에 읽은 엔티티를 수정해 저장해도 카운터는 그대로
+        shop.setName("이름 변경");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(shopRepository.findById(shop.getId()).orElseThrow().getActiveProductCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void reconcileCorrectsOnlyDriftedShopsAndReportsDrift() {
+        Shop drifted = shop("어긋난 상점");
+        Shop accurate = shop("정확한 상점");
+        Shop empty = shop("빈 상점");
+        for (int i = 0; i < 3; i++) {
+            product(drifted, Product.ProductStatus.ACTIVE);
+        }
+        product(drifted, Product.ProductStatus.INACTIVE);
+        product(accurate, Product.ProductStatus.ACTIVE);
+        entityManager.flush();
+        shopRepository.addActiveProductCount(accurate.getId(), 1);
+        shopRepository.addActiveProductCount(empty.getId(), 2);
+
+        assertThat(reconciler.reconcile()).isEqualTo(2);
+        entityManager.clear();
+
+        assertThat(shopRepository.findById(drifted.getId()).orElseThrow().getActiveProductCount()).isEqualTo(3L);
+        assertThat(shopRepository.findById(accurate.getId()).orElseThrow().getActiveProductCount()).isEqualTo(1L);
+        assertThat(shopRepository.findById(empty.getId()).orElseThrow().getActiveProductCount()).isZero();
+        assertThat(meterRegistry.get("shop.product_count.drift.shops").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("shop.product_count.drift").summary().totalAmount()).isEqualTo(5);
+
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    private void product(Shop shop, Product.ProductStatus status) {
+        persist(productBuilder(shop).status(status).build());
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.config.SearchConfig;
+import com.berryweb.shop.dto.ShopDto;
+import com.berryweb.shop.entity.Shop;
+import com.berryweb.shop.exception.CustomException;
+import com.berryweb.shop.exception.ErrorCode;
+import com.berryweb.shop.search.ShopIndexer;
+import com.berryweb.shop.search.ShopOpenHoursIndex;
+import com.berryweb.shop.search.ShopSearchIndex;
+import com.berryweb.shop.support.JpaTestFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+
+@Import({SearchConfig.class, ShopService.class, ShopSearchIndex.class, ShopOpenHoursIndex.class, ShopIndexer.class})
+class ShopServiceOpenShopsTest extends JpaTestFixture {
+
+    // 2026-10-12는 월요일
+    private static final LocalDateTime MONDAY_NOON = LocalDateTime.of(2026, 10, 12, 12, 0);
+    private static final String LEGACY_HOURS = "연중무휴, 전화 문의";
+
+    @Autowired
+    private ShopService shopService;
+
+    @Autowired
+    private ShopIndexer shopIndexer;
+
+    @Autowired
+    private ShopSearchIndex shopSearchIndex;
+
+    @MockitoSpyBean
+    private ShopOpenHoursIndex shopOpenHoursIndex;
+
+    @MockitoBean
+    private UserServiceHelper userServiceHelper;
+
+    @MockitoBean
+    private AuthorizationHelper authorizationHelper;
+
+    private Shop weekday;
+    private Shop lunch;
+    private Shop legacy;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(MONDAY_NOON).when(shopOpenHoursIndex).now();
+
+        weekday = shop("Berry 식당", "MON-FRI 09:00-18:00", true);
+        lunch = shop("berry 점심", "MON 11:00-13:00", true);
+        shop("Berry 휴업", "DAILY 00:00-24:00", false);
+        shop("BERRY 화요일", "TUE 09:00-18:00", true);
+        legacy = shop("레거시 상점", LEGACY_HOURS, true);
+        entityManager.flush();
+    }
+
+    @Test
+    void beforeTheIndexIsReadyParsesHoursOfActiveShopsAndMatchesKeywordIgnoringCase() {
+        shopOpenHoursIndex.clear();
+        shopSearchIndex.clear();
+
+        assertThat(ids(shopService.getOpenShops(null, PageRequest.of(0, 10), null)))
+                .containsExactlyInAnyOrder(weekday.getId(), lunch.getId());
+        assertThat(ids(shopService.getOpenShops("BERRY", PageRequest.of(0, 10), null)))
+                .containsExactlyInAnyOrder(weekday.getId(), lunch.getId());
+
+        Page<ShopDto.ShopInfo> firstPage = shopService.getOpenShops("berry", PageRequest.of(0, 1), null);
+        assertThat(firstPage.getContent()).hasSize(1);
+        assertThat(firstPage.hasNext()).isTrue();
+    }
+
+    @Test
+    void readsTheCurrentSlotFromTheIndexNewestFirst() {
+        shopIndexer.rebuild();
+
+        Page<ShopDto.ShopInfo> firstPage = shopService.getOpenShops(null, PageRequest.of(0, 1), null);
+        assertThat(ids(firstPage)).containsExactly(lunch.getId());
+        assertThat(firstPage.getTotalElements()).isEqualTo(2);
+        assertThat(ids(shopService.getOpenShops(null, PageRequest.of(1, 1), null))).containsExactly(weekday.getId());
+
+        assertThat(ids(shopService.getOpenShops("BERRY", PageRequest.of(0, 10), null)))
+                .containsExactlyInAnyOrder(weekday.getId(), lunch.getId());
+        assertThat(shopService.getOpenShops("레거시", PageRequest.of(0, 10), null).getContent()).isEmpty();
+    }
+
+    @Test
+    void updateKeepsUnchangedLegacyHoursAndValidatesChangedOnes() {
+        shopService.updateShop(legacy.getId(), request(" " + LEGACY_HOURS + " "), null, 1L);
+        entityManager.flush();
+        assertThat(reload(legacy).getBusinessHours()).isEqualTo(LEGACY_HOURS);
+
+        assertThatThrownBy(() -> shopService.updateShop(legacy.getId(), request("평일 9시~6시"), null, 1L))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_BUSINESS_HOURS);
+
+        shopService.updateShop(legacy.getId(), request("DAILY 10:00-20:00"), null, 1L);
+        entityManager.flush();
+        assertThat(reload(legacy).getBusinessHours()).isEqualTo("DAILY 10:00-20:00");
+    }
+
+    private Shop reload(Shop shop) {
+        return reload(Shop.class, shop.getId());
+    }
+
+    private static ShopDto.UpdateShopRequest request(String businessHours) {
+        return ShopDto.UpdateShopRequest.builder()
+                .name("레거시 상점")
+                .businessHours(businessHours)
+                .build();
+    }
+
+    private static List<Long> ids(Page<ShopDto.ShopInfo> page) {
+        return page.getContent().stream().map(ShopDto.ShopInfo::getId).toList();
+    }
+
+    private Shop shop(String name, String businessHours, boolean active) {
+        return persist(shopBuilder(name)
+                .businessHours(businessHours)
+                .isActive(active)
+                .build());
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.cache.TwoTierCacheManager;
+import com.berryweb.shop.cache.TwoTierCacheProperties;
+import com.berryweb.shop.client.AdaptiveConcurrencyLimiter;
+import com.berryweb.shop.client.ReactiveUserServiceClient;
+import com.berryweb.shop.client.UserServiceClient;
+import com.berryweb.shop.dto.UserServiceDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 로컬 stub user-service에 실제 Feign/WebClient 클라이언트로 붙여 원격 호출 횟수를 확인한다.
+ */
+class UserServiceHelperBatchTest {
+
+    private static final String TOKEN = "test-token";
+    private static final long UNKNOWN_USER_ID = 999L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager();
+    private HttpServer server;
+    private TwoTierCacheManager cacheManager;
+    private EnrichmentExecutor enrichmentExecutor;
+    private UserServiceHelper userServiceHelper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/users", this::handle);
+        server.start();
+
+        UserServiceClient client = Feign.builder()
+                .contract(new SpringMvcContract())
+                .decoder(new SpringDecoder(() -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))))
+                .target(UserServiceClient.class, "http://127.0.0.1:" + server.getAddress().getPort());
+
+        cacheManager = new TwoTierCacheManager(remoteCacheManager, new TwoTierCacheProperties(),
+                new SimpleMeterRegistry(), mock(StringRedisTemplate.class));
+        enrichmentExecutor = new EnrichmentExecutor(Duration.ofSeconds(5), 4, 4, 25, new SimpleMeterRegistry());
+        userServiceHelper = new UserServiceHelper(client, cacheManager, enrichmentExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        cacheManager.destroy();
+        enrichmentExecutor.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void resolvesPageOfUsersWithOneBulkCallForCacheMisses() {
+        List<Long> userIds = LongStream.rangeClosed(1, 20).boxed().toList();
+        cacheManager.getCache(UserServiceHelper.USERS_CACHE).put(3L, user(3L));
+        cacheManager.getCache(UserServiceHelper.USERS_CACHE).put(7L, user(7L));
+
+        Map<Long, UserServiceDto.UserInfo> users = userServiceHelper.getUserInfoMap(userIds, TOKEN);
+
+        assertThat(users).hasSize(20);
+        assertThat(users.get(12L).getUsername()).isEqualTo("user12");
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0)).startsWith("/api/v1/users/batch?");
+        assertThat(idsOf(requests.get(0))).hasSize(18).doesNotContain(3L, 7L);
+
+        // 두 번째 페이지 조회는 캐시로 끝난다 (L1 비워도 L2에서 다건 조회)
+        cacheManager.onMessage(new DefaultMessage("channel".getBytes(StandardCharsets.UTF_8),
+                ("other-node\n" + UserServiceHelper.USERS_CACHE).getBytes(StandardCharsets.UTF_8)), null);
+        assertThat(userServiceHelper.getUsersInfo(userIds, TOKEN)).hasSize(20);
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void memoizesWithinRequestAndCachesUnknownUsersBriefly() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        userServiceHelper.getUserInfoMap(List.of(1L, 2L, UNKNOWN_USER_ID), TOKEN);
+        cacheManager.getCache(UserServiceHelper.USERS_CACHE).clear();
+        Map<Long, UserServiceDto.UserInfo> again = userServiceHelper.getUserInfoMap(List.of(2L, 1L), TOKEN);
+
+        assertThat(again).containsOnlyKeys(1L, 2L);
+        assertThat(requests).hasSize(1);
+
+        // 캐시를 비웠으므로 없는 사용자는 한 번 더 요청하고, 그 결과(없음)는 캐시된다
+        userServiceHelper.getUserInfoMap(List.of(1L, UNKNOWN_USER_ID), TOKEN);
+        assertThat(requests).hasSize(2);
+        assertThat(idsOf(requests.get(1))).containsExactly(UNKNOWN_USER_ID);
+
+        RequestContextHolder.resetRequestAttributes();
+        assertThat(userServiceHelper.getUserInfoMap(List.of(UNKNOWN_USER_ID), TOKEN)).isEmpty();
+        assertThat(userServiceHelper.getUserInfo(UNKNOWN_USER_ID, TOKEN)).isNull();
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void webClientLooksUpMissesInFluxBatchesAndCachesUnknownUsers() {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("test").maxConnections(4).build();
+        try {
+            WebClient webClient = WebClient.builder()
+                    .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                    .build();
+            ReactiveUserServiceClient client = new ReactiveUserServiceClient(webClient, Duration.ofSeconds(5),
+                    new AdaptiveConcurrencyLimiter("user-service", 20, 4, 64, 1.5, 100, new SimpleMeterRegistry()), 25, 2);
+            UserServiceHelper reactiveHelper = new UserServiceHelper(client, cacheManager, enrichmentExecutor);
+            List<Long> userIds = LongStream.concat(LongStream.rangeClosed(1, 59), LongStream.of(UNKNOWN_USER_ID))
+                    .boxed()
+                    .toList();
+
+            Map<Long, UserServiceDto.UserInfo> users = reactiveHelper.getUserInfoMap(userIds, TOKEN);
+
+            assertThat(users).hasSize(59).doesNotContainKey(UNKNOWN_USER_ID);
+            assertThat(requests).hasSize(3).allMatch(uri -> uri.startsWith("/api/v1/users/batch?"));
+            assertThat(requests.stream().mapToInt(uri -> idsOf(uri).size())).containsExactlyInAnyOrder(25, 25, 10);
+
+            // 없는 사용자까지 캐시되어 다시 조회하지 않는다
+            assertThat(reactiveHelper.getUsersInfo(userIds, TOKEN)).hasSize(59);
+            assertThat(requests).hasSize(3);
+        } finally {
+            connectionProvider.dispose();
+        }
+    }
+
+    @Test
+    void skipsRemoteCallWithoutToken() {
+        assertThat(userServiceHelper.getUserInfoMap(List.of(1L, 2L), null)).isEmpty();
+        assertThat(requests).isEmpty();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String uri = exchange.getRequestURI().toString();
+        requests.add(uri);
+
+        Object data;
+        if (exchange.getRequestURI().getPath().endsWith("/batch")) {
+            data = idsOf(uri).stream()
+                    .filter(id -> id != UNKNOWN_USER_ID)
+                    .map(UserServiceHelperBatchTest::user)
+                    .toList();
+        } else {
+            String path = exchange.getRequestURI().getPath();
+            data = user(Long.parseLong(path.substring(path.lastIndexOf('/') + 1)));
+        }
+
+        byte[] body = objectMapper.writeValueAsBytes(UserServiceDto.ApiResponse.builder().success(true).data(data).build());
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    // ids=1&ids=2 또는 ids=1,2
+    private static List<Long> idsOf(String uri) {
+        String query = uri.substring(uri.indexOf('?') + 1);
+        return Arrays.stream(query.split("&"))
+                .filter(param -> param.startsWith("ids="))
+                .flatMap(param -> Arrays.stream(param.substring(4).split("%2C|,")))
+                .map(Long::parseLong)
+                .toList();
+    }
+
+    private static UserServiceDto.UserInfo user(Long id) {
+        return UserServiceDto.UserInfo.builder()
+                .id(id)
+                .username("user" + id)
+                .role(UserServiceDto.UserInfo.UserRole.USER)
+                .isActive(true)
+                .build();
+    }
+
+}
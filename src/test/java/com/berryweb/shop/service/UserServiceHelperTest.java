@@ -0,0 +1,146 @@
+package com.berryweb.shop.service;
+
+import com.berryweb.shop.cache.CacheOutcome;
+import com.berryweb.shop.cache.TwoTierCacheManager;
+import com.berryweb.shop.cache.TwoTierCacheProperties;
+import com.berryweb.shop.client.UserServiceClient;
+import com.berryweb.shop.dto.UserServiceDto;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 단건 조회의 결과 종류(정상/대체 값/없음)별 캐시 동작을 확인한다.
+ * user-service 장애와 404는 Feign 클라이언트처럼 예외로 흉내 낸다.
+ */
+class UserServiceHelperTest {
+
+    private static final String TOKEN = "test-token";
+
+    private final UserServiceClient client = mock(UserServiceClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TwoTierCacheProperties properties = new TwoTierCacheProperties();
+    private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager();
+    private TwoTierCacheManager cacheManager;
+    private EnrichmentExecutor enrichmentExecutor;
+    private UserServiceHelper userServiceHelper;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEarlyRefreshBeta(0);
+        cacheManager = new TwoTierCacheManager(remoteCacheManager, properties, meterRegistry,
+                mock(StringRedisTemplate.class));
+        enrichmentExecutor = new EnrichmentExecutor(Duration.ofSeconds(5), 4, 4, 25, new SimpleMeterRegistry());
+        userServiceHelper = new UserServiceHelper(client, cacheManager, enrichmentExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.destroy();
+        enrichmentExecutor.destroy();
+    }
+
+    @Test
+    void failedLookupIsCachedBrieflyAndNotReplayedWithTheCallersToken() {
+        properties.setFallbackTtl(Duration.ofMillis(50));
+        when(client.getUserInfo(anyLong(), anyString()))
+                .thenThrow(new RetryableException(-1, "connect timed out", Request.HttpMethod.GET,
+                        (Long) null, request()))
+                .thenReturn(success(user(1L)));
+
+        assertThat(userServiceHelper.getUserInfo(1L, TOKEN)).isNull();
+        // 실패 결과가 적중하면 그대로 반환한다. 갱신기가 없으므로 요청 토큰으로 백그라운드 재시도를 하지 않는다
+        assertThat(userServiceHelper.getUserInfo(1L, TOKEN)).isNull();
+        verify(client, times(1)).getUserInfo(anyLong(), anyString());
+        assertThat(loads("fallback_refresh")).isZero();
+
+        // 짧은 만료가 지나면(L2는 Redis TTL로 사라진다) 다음 요청이 자기 토큰으로 다시 조회한다
+        remoteCacheManager.getCache(UserServiceHelper.USERS_CACHE).evict(1L);
+        waitUntil(() -> userServiceHelper.getUserInfo(1L, TOKEN) != null);
+        assertThat(userServiceHelper.getUserInfo(1L, TOKEN).getUsername()).isEqualTo("user1");
+        assertThat(outcomes("fallback")).isEqualTo(1);
+        assertThat(outcomes("found")).isEqualTo(1);
+        verify(client, times(2)).getUserInfo(anyLong(), anyString());
+    }
+
+    @Test
+    void missingUserIsCachedAsNotFound() {
+        FeignException notFound = new FeignException.NotFound("not found", request(), null, Map.of());
+        when(client.getUserInfo(anyLong(), anyString()))
+                .thenThrow(notFound);
+
+        assertThat(userServiceHelper.getUserInfo(404L, TOKEN)).isNull();
+        assertThat(userServiceHelper.getUserInfo(404L, TOKEN)).isNull();
+
+        verify(client, times(1)).getUserInfo(anyLong(), anyString());
+        assertThat(outcomes("not_found")).isEqualTo(1);
+    }
+
+    @Test
+    void outcomeTtlIsShortForFallbackAndNotFoundOnly() {
+        properties.setFallbackTtl(Duration.ofSeconds(10));
+        properties.setNotFoundTtl(Duration.ofMinutes(1));
+
+        assertThat(properties.outcomeTtl(UserServiceDto.UserLookup.fallback(user(1L)))).isEqualTo(Duration.ofSeconds(10));
+        assertThat(properties.outcomeTtl(UserServiceDto.UserLookup.notFound())).isEqualTo(Duration.ofMinutes(1));
+        assertThat(properties.outcomeTtl(UserServiceDto.UserLookup.found(user(1L)))).isNull();
+        assertThat(properties.outcomeTtl(user(1L))).isNull();
+    }
+
+    private double loads(String type) {
+        return meterRegistry.get("cache.loads").tag("cache", UserServiceHelper.USERS_CACHE).tag("type", type)
+                .counter().count();
+    }
+
+    private double outcomes(String outcome) {
+        return meterRegistry.get("cache.outcomes").tag("cache", UserServiceHelper.USERS_CACHE).tag("outcome", outcome)
+                .counter().count();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "/api/v1/users/404", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+    }
+
+    private static UserServiceDto.ApiResponse<UserServiceDto.UserInfo> success(UserServiceDto.UserInfo userInfo) {
+        return UserServiceDto.ApiResponse.<UserServiceDto.UserInfo>builder().success(true).data(userInfo).build();
+    }
+
+    private static UserServiceDto.UserInfo user(Long id) {
+        return UserServiceDto.UserInfo.builder()
+                .id(id)
+                .username("user" + id)
+                .role(UserServiceDto.UserInfo.UserRole.USER)
+                .isActive(true)
+                .build();
+    }
+
+}
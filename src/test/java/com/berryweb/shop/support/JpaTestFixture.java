@@ -0,0 +1,108 @@
+package com.berryweb.shop.support;
+
+import com.berryweb.shop.common.ScheduledJobLock;
+import com.berryweb.shop.config.JpaConfig;
+import com.berryweb.shop.entity.Product;
+import com.berryweb.shop.entity.Review;
+import com.berryweb.shop.entity.ReviewHelpful;
+import com.berryweb.shop.entity.Shop;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+
+/**
+ * H2 위에서 도는 JPA 테스트의 공통 설정과 엔티티 생성 도우미.
+ * 스키마는 엔티티로 만들고 운영용 마이그레이션(MariaDB 문법)은 돌리지 않는다.
+ * 하위 클래스는 테스트할 빈만 @Import 한다. 주기 작업 잠금(Redis)은 목으로, 지표는 메모리 레지스트리로 대신한다.
+ * xxxBuilder는 기본값을 채운 빌더를, 같은 이름의 짧은 메서드는 기본값 그대로 저장한 엔티티를 돌려준다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@Import({JpaConfig.class, JpaTestFixture.MetricsConfig.class})
+public abstract class JpaTestFixture {
+
+    protected static final long OWNER_ID = 1L;
+    protected static final long REVIEWER_ID = 100L;
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @MockitoBean
+    protected ScheduledJobLock jobLock;
+
+    protected <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    // 영속성 컨텍스트를 비우고 DB에서 다시 읽는다
+    protected <T> T reload(Class<T> type, Object id) {
+        entityManager.clear();
+        return entityManager.find(type, id);
+    }
+
+    protected Shop.ShopBuilder shopBuilder(String name) {
+        return Shop.builder()
+                .ownerUserId(OWNER_ID)
+                .name(name)
+                .createdBy(OWNER_ID);
+    }
+
+    protected Shop shop(String name) {
+        return persist(shopBuilder(name).build());
+    }
+
+    protected Product.ProductBuilder productBuilder(Shop shop) {
+        return Product.builder()
+                .shop(shop)
+                .name(shop.getName() + " 상품")
+                .price(BigDecimal.valueOf(1000))
+                .createdBy(OWNER_ID);
+    }
+
+    protected Product product(Shop shop) {
+        return persist(productBuilder(shop).build());
+    }
+
+    protected Review.ReviewBuilder reviewBuilder(Product product, int rating) {
+        return Review.builder()
+                .product(product)
+                .userId(REVIEWER_ID)
+                .rating(rating)
+                .content("리뷰")
+                .createdBy(REVIEWER_ID);
+    }
+
+    protected Review review(Product product, int rating) {
+        return persist(reviewBuilder(product, rating).build());
+    }
+
+    protected ReviewHelpful vote(Review review, Long userId) {
+        return persist(ReviewHelpful.builder()
+                .review(review)
+                .userId(userId)
+                .build());
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+    }
+
+}